@@ -62,8 +62,8 @@ public final class Admins implements CommandTrigger {
 
 		TileValue value = player.getWorld().getTile(location.getX(), location.getY());
 
-		if (value.diagWallVal != 0 || value.horizontalWallVal != 0 || value.verticalWallVal != 0
-			|| value.overlay != 0) {
+		if (value.getDiagWallVal() != 0 || value.getHorizontalWallVal() != 0 || value.getVerticalWallVal() != 0
+			|| value.getOverlay() != 0) {
 			return getRandomLocation(player);
 		}
 		return location;
@@ -211,8 +211,8 @@ public final class Admins implements CommandTrigger {
 			return;
 		}
 
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
-		for (GameTickEvent event : events.values()) {
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		for (GameTickEvent event : events) {
 			if (!(event instanceof HolidayDropEvent)) continue;
 
 			player.message(messagePrefix + "There is already a holiday drop running!");
@@ -301,9 +301,9 @@ public final class Admins implements CommandTrigger {
 			items.add(itemId);
 		}
 
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
 		if (!allowMultiple) {
-			for (GameTickEvent event : events.values()) {
+			for (GameTickEvent event : events) {
 				if (!(event instanceof HolidayDropEvent)) continue;
 
 				player.message(messagePrefix + "There is already a holiday drop running!");
@@ -317,8 +317,8 @@ public final class Admins implements CommandTrigger {
 	}
 
 	private void stopHolidayDrop(Player player) {
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
-		for (GameTickEvent event : events.values()) {
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		for (GameTickEvent event : events) {
 			if (!(event instanceof HolidayDropEvent)) continue;
 
 			event.stop();
@@ -452,7 +452,7 @@ public final class Admins implements CommandTrigger {
 		}
 
 		Point itemLocation = new Point(x, y);
-		if ((player.getWorld().getTile(itemLocation).traversalMask & 64) != 0) {
+		if ((player.getWorld().getTiles().getTraversalMask(itemLocation.getX(), itemLocation.getY()) & 64) != 0) {
 			player.message(messagePrefix + "Can not place a ground item here");
 			return;
 		}
@@ -1120,7 +1120,7 @@ public final class Admins implements CommandTrigger {
 					}
 
 					if (player.getWorld().withinWorld(baseX + x, baseY + y)) {
-						if ((player.getWorld().getTile(new Point(baseX + x, baseY + y)).traversalMask & 64) == 0) {
+						if ((player.getWorld().getTiles().getTraversalMask(baseX + x, baseY + y) & 64) == 0) {
 							player.getWorld().registerItem(new GroundItem(player.getWorld(), id, baseX + x, baseY + y, amount, (Player) null));
 						}
 					}
@@ -1217,7 +1217,7 @@ public final class Admins implements CommandTrigger {
 						}
 					}
 					if (player.getWorld().withinWorld(baseX + x, baseY + y)) {
-						if ((player.getWorld().getTile(new Point(baseX + x, baseY + y)).traversalMask & 64) == 0) {
+						if ((player.getWorld().getTiles().getTraversalMask(baseX + x, baseY + y) & 64) == 0) {
 							final Npc n = new Npc(player.getWorld(), id, baseX + x, baseY + y, baseX + x - 20, baseX + x + 20, baseY + y - 20, baseY + y + 20);
 							n.setShouldRespawn(false);
 							player.getWorld().registerNpc(n);
@@ -1442,8 +1442,8 @@ public final class Admins implements CommandTrigger {
 			npcLifeTime = 10;
 		}
 
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
-		for (GameTickEvent event : events.values()) {
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		for (GameTickEvent event : events) {
 			if (!(event instanceof HourlyNpcLootEvent)) continue;
 
 			player.message(messagePrefix + "Hourly NPC Loot Event is already running");
@@ -1455,8 +1455,8 @@ public final class Admins implements CommandTrigger {
 	}
 
 	private void stopNpcEvent(Player player) {
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
-		for (GameTickEvent event : events.values()) {
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		for (GameTickEvent event : events) {
 			if (!(event instanceof HourlyNpcLootEvent)) continue;
 
 			event.stop();
@@ -1466,8 +1466,8 @@ public final class Admins implements CommandTrigger {
 	}
 
 	private void checkNpcEvent(Player player) {
-		HashMap<String, GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
-		for (GameTickEvent event : events.values()) {
+		List<GameTickEvent> events = player.getWorld().getServer().getGameEventHandler().getEvents();
+		for (GameTickEvent event : events) {
 			if (!(event instanceof HourlyNpcLootEvent)) continue;
 
 			HourlyNpcLootEvent lootEvent = (HourlyNpcLootEvent) event;
@@ -3,16 +3,18 @@ package com.openrsc.server;
 import com.openrsc.server.event.rsc.GameTickEvent;
 import com.openrsc.server.event.rsc.ImmediateEvent;
 import com.openrsc.server.model.entity.player.Player;
+import com.openrsc.server.util.LongObjectHashMap;
 import com.openrsc.server.util.NamedThreadFactory;
+import com.openrsc.server.util.TimingWheel;
 import com.openrsc.server.util.rsc.DataConversions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameEventHandler {
 
@@ -21,11 +23,51 @@ public class GameEventHandler {
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
-	private final ConcurrentHashMap<String, GameTickEvent> events = new ConcurrentHashMap<>();
-	private final ConcurrentHashMap<String, GameTickEvent> eventsToAdd = new ConcurrentHashMap<>();
+	private static final Comparator<GameTickEvent> PID_PRIORITY = Comparator.comparingInt(GameTickEvent::getPriority);
 
-	private final ConcurrentHashMap<String, Integer> eventsCounts = new ConcurrentHashMap<String, Integer>();
-	private final ConcurrentHashMap<String, Long> eventsDurations = new ConcurrentHashMap<String, Long>();
+	/**
+	 * Compact ids for event classes, used to build the owner keys of non-unique events.
+	 */
+	private static final ClassValue<Integer> EVENT_CLASS_IDS = new ClassValue<Integer>() {
+		private final AtomicInteger nextId = new AtomicInteger(0);
+
+		@Override
+		protected Integer computeValue(final Class<?> type) {
+			return nextId.getAndIncrement();
+		}
+	};
+
+	/**
+	 * Registered events by event id, and the registered non-unique owner events by owner key. Guarded by events.
+	 */
+	private final LongObjectHashMap<GameTickEvent> events = new LongObjectHashMap<>(8192);
+	private final LongObjectHashMap<GameTickEvent> ownerEvents = new LongObjectHashMap<>(2048);
+
+	/**
+	 * Events added since the last tick. The lists are swapped on each tick so that adding does not allocate. Guarded by pendingLock.
+	 */
+	private final Object pendingLock = new Object();
+	private ArrayList<GameTickEvent> eventsToAdd = new ArrayList<>();
+	private ArrayList<GameTickEvent> eventsAdding = new ArrayList<>();
+	private final LongObjectHashMap<GameTickEvent> ownerEventsToAdd = new LongObjectHashMap<>(1024);
+	private ArrayList<GameTickEvent> eventsToReschedule = new ArrayList<>();
+	private ArrayList<GameTickEvent> eventsRescheduling = new ArrayList<>();
+
+	/**
+	 * Registered events keyed on the tick they are next due, so that a tick only touches the events that run on it.
+	 */
+	private final TimingWheel<GameTickEvent> eventWheel = new TimingWheel<>(GameTickEvent::getDueTick, this::isScheduled, 0);
+	private final ArrayList<GameTickEvent> dueEvents = new ArrayList<>();
+	private volatile long currentTick = 0;
+	private volatile boolean dispatching = false;
+
+	/**
+	 * Per descriptor statistics for the last tick, indexed by descriptor id. Guarded by descriptors.
+	 */
+	private final HashMap<String, Integer> descriptorIds = new HashMap<>();
+	private final ArrayList<String> descriptors = new ArrayList<>();
+	private int[] eventsCounts = new int[256];
+	private long[] eventsDurations = new long[256];
 
 	private ThreadPoolExecutor executor;
 
@@ -54,24 +96,47 @@ public class GameEventHandler {
 			LOGGER.catching(e);
 		}
 
-		events.clear();
-		eventsToAdd.clear();
-		eventsCounts.clear();
-		eventsDurations.clear();
+		for (final GameTickEvent event : getEvents()) {
+			event.setEventHandler(null);
+		}
+		synchronized (events) {
+			events.clear();
+			ownerEvents.clear();
+		}
+		synchronized (pendingLock) {
+			eventsToAdd.clear();
+			ownerEventsToAdd.clear();
+			eventsToReschedule.clear();
+		}
+		eventWheel.clear();
+		synchronized (descriptors) {
+			Arrays.fill(eventsCounts, 0);
+			Arrays.fill(eventsDurations, 0);
+		}
 	}
 
 	public void add(final GameTickEvent event) {
-		final String className = String.valueOf(event.getClass());
-		if (event.isUniqueEvent() || !event.hasOwner()) {
-			final UUID uuid = UUID.randomUUID();
-			eventsToAdd.putIfAbsent(className + uuid, event);
-		} else {
-			eventsToAdd.putIfAbsent(
-				className + event.getOwner().getUUID()
-					+ (event.getOwner().isPlayer() ? "p" : "n"), event);
+		final long ownerKey = event.isUniqueEvent() || !event.hasOwner() ? -1 : ownerKeyOf(event);
+		synchronized (pendingLock) {
+			if (ownerKey != -1) {
+				// Only one pending event of a class per owner. Events of a recycled owner index do not count as duplicates.
+				final GameTickEvent pending = ownerEventsToAdd.get(ownerKey);
+				if (pending != null && pending.getOwner() == event.getOwner()) {
+					return;
+				}
+				ownerEventsToAdd.put(ownerKey, event);
+			}
+			event.setOwnerKey(ownerKey);
+			eventsToAdd.add(event);
 		}
 	}
 
+	private static long ownerKeyOf(final GameTickEvent event) {
+		final long classId = EVENT_CLASS_IDS.get(event.getClass());
+		final long ownerIndex = event.getOwner().getIndex() & 0x7FFFFFFFL;
+		return (classId << 32) | (ownerIndex << 1) | (event.getOwner().isPlayer() ? 1 : 0);
+	}
+
 	public void submit(final Runnable r, final String descriptor) {
 		add(new ImmediateEvent(getServer().getWorld(), descriptor) {
 			@Override
@@ -86,10 +151,64 @@ public class GameEventHandler {
 	}
 
 	public boolean contains(final GameTickEvent event) {
-		if (event.getOwner() != null) {
-			return events.containsKey(String.valueOf(event.getOwner().getID()));
+		return event.getEventHandler() == this;
+	}
+
+	/**
+	 * Called by an event whose countdown was reset or which was stopped.
+	 * Events that are being run in the current tick are picked up once the tick's events have all finished.
+	 */
+	public void reschedule(final GameTickEvent event) {
+		if (event.getEventHandler() != this) {
+			return;
+		}
+
+		if (!event.shouldRemove()) {
+			event.setDueTick(currentTick + Math.max(event.getDelayTicks(), 1));
+		}
+
+		if (!dispatching || event.getLastDispatchTick() != currentTick) {
+			synchronized (pendingLock) {
+				eventsToReschedule.add(event);
+			}
+		}
+	}
+
+	private void register(final GameTickEvent event) {
+		// A pending event counts down from the tick it is registered on, same as when every event was ticked.
+		event.setDueTick(currentTick + Math.max(event.getTicksBeforeRun(), 1));
+		event.setEventHandler(this);
+
+		synchronized (events) {
+			events.put(event.getEventId(), event);
+			if (event.getOwnerKey() != -1) {
+				// A newly added owner event replaces the one already registered for the same owner.
+				final GameTickEvent replaced = ownerEvents.put(event.getOwnerKey(), event);
+				if (replaced != null && replaced != event && replaced.getOwner() == event.getOwner()) {
+					replaced.setEventHandler(null);
+					events.remove(replaced.getEventId(), replaced);
+				}
+			}
+		}
+
+		eventWheel.schedule(event);
+	}
+
+	private void unregister(final GameTickEvent event) {
+		if (event.getEventHandler() != this) {
+			return;
+		}
+		event.setEventHandler(null);
+		synchronized (events) {
+			events.remove(event.getEventId(), event);
+			if (event.getOwnerKey() != -1) {
+				ownerEvents.remove(event.getOwnerKey(), event);
+			}
 		}
-		return false;
+	}
+
+	private boolean isScheduled(final GameTickEvent event) {
+		return event.getEventHandler() == this;
 	}
 
 	private void processEvents() {
@@ -98,37 +217,112 @@ public class GameEventHandler {
 		executor.setMaximumPoolSize(maxThreads);
 		executor.setCorePoolSize(maxThreads / 2);
 
-		if (eventsToAdd.size() > 0) {
-			events.putAll(eventsToAdd);
-			eventsToAdd.clear();
+		final ArrayList<GameTickEvent> adding = eventsAdding;
+		final ArrayList<GameTickEvent> rescheduling = eventsRescheduling;
+		synchronized (pendingLock) {
+			eventsAdding = eventsToAdd;
+			eventsToAdd = adding;
+			eventsRescheduling = eventsToReschedule;
+			eventsToReschedule = rescheduling;
+			if (!ownerEventsToAdd.isEmpty()) {
+				ownerEventsToAdd.clear();
+			}
+		}
+
+		for (final GameTickEvent event : eventsAdding) {
+			register(event);
+		}
+		eventsAdding.clear();
+
+		for (final GameTickEvent event : eventsRescheduling) {
+			if (event.getEventHandler() != this) {
+				continue;
+			}
+			if (event.shouldRemove()) {
+				unregister(event);
+			} else {
+				eventWheel.schedule(event);
+			}
+		}
+		eventsRescheduling.clear();
+
+		final long tick = eventWheel.advance(dueEvents);
+		currentTick = tick;
+
+		// The wheel can still hold events that were rescheduled or removed after they were placed.
+		int dueCount = 0;
+		for (int i = 0; i < dueEvents.size(); i++) {
+			final GameTickEvent event = dueEvents.get(i);
+			if (event.getEventHandler() != this || event.getLastDispatchTick() == tick) {
+				continue;
+			}
+			if (event.shouldRemove()) {
+				unregister(event);
+				continue;
+			}
+			if (event.getDueTick() > tick) {
+				eventWheel.schedule(event);
+				continue;
+			}
+			event.setLastDispatchTick(tick);
+			dueEvents.set(dueCount++, event);
 		}
+		dueEvents.subList(dueCount, dueEvents.size()).clear();
 
 		// Sort events by PID in order to achieve PID priority.
-		final List<GameTickEvent> eventsByPID = new ArrayList<>(events.values());
-		Collections.sort(eventsByPID, Comparator.comparing(GameTickEvent::getPriority));
+		dueEvents.sort(PID_PRIORITY);
 
+		dispatching = true;
 		try {
-			executor.invokeAll(eventsByPID);
+			executor.invokeAll(dueEvents);
 		} catch (final Exception e) {
 			LOGGER.catching(e);
+		} finally {
+			dispatching = false;
 		}
 
-		eventsCounts.clear();
-		eventsDurations.clear();
+		synchronized (descriptors) {
+			Arrays.fill(eventsCounts, 0, descriptors.size(), 0);
+			Arrays.fill(eventsDurations, 0, descriptors.size(), 0);
 
-		events.entrySet().removeIf((eventBox) -> {
-			final GameTickEvent event = eventBox.getValue();
-			eventsCounts.put(event.getDescriptor(),
-				eventsCounts.containsKey(event.getDescriptor()) ?
-					eventsCounts.get(event.getDescriptor()) + 1 :
-					1);
-			eventsDurations.put(event.getDescriptor(),
-				eventsDurations.containsKey(event.getDescriptor()) ?
-					eventsDurations.get(event.getDescriptor()) + event.getLastEventDuration() :
-					event.getLastEventDuration());
-
-			return event.shouldRemove();
-		});
+			for (final GameTickEvent event : dueEvents) {
+				int descriptorId = event.getDescriptorId();
+				if (descriptorId == -1) {
+					descriptorId = descriptorIdOf(event.getDescriptor());
+					event.setDescriptorId(descriptorId);
+				}
+				eventsCounts[descriptorId]++;
+				eventsDurations[descriptorId] += event.getLastEventDuration();
+			}
+		}
+
+		for (final GameTickEvent event : dueEvents) {
+			if (event.shouldRemove()) {
+				unregister(event);
+			} else if (event.getEventHandler() == this) {
+				eventWheel.schedule(event);
+			}
+		}
+		dueEvents.clear();
+	}
+
+	/**
+	 * Registers the descriptor for statistics the first time it is seen. Must hold the descriptors lock.
+	 */
+	private int descriptorIdOf(final String descriptor) {
+		final Integer known = descriptorIds.get(descriptor);
+		if (known != null) {
+			return known;
+		}
+
+		final int descriptorId = descriptors.size();
+		descriptors.add(descriptor);
+		descriptorIds.put(descriptor, descriptorId);
+		if (descriptorId >= eventsCounts.length) {
+			eventsCounts = Arrays.copyOf(eventsCounts, eventsCounts.length * 2);
+			eventsDurations = Arrays.copyOf(eventsDurations, eventsDurations.length * 2);
+		}
+		return descriptorId;
 	}
 
 	public long runGameEvents() {
@@ -148,7 +342,7 @@ public class GameEventHandler {
 		final HashMap<String, Integer> eventsCounts = getEventsCounts();
 		final HashMap<String, Long> eventsDurations = getEventsDurations();
 
-		// Calculate Totals
+		// Calculate Totals, the counts only cover the events that ran in the last tick.
 		for (Map.Entry<String, Integer> eventEntry : eventsCounts.entrySet())
 			countAllEvents += eventEntry.getValue();
 		//for (Map.Entry<String, Long> eventEntry : eventsDurations.entrySet())
@@ -206,6 +400,24 @@ public class GameEventHandler {
 				s.append(incomingTime).append("ms").append(" : ");
 				s.append(incomingCount).append(newLine);
 			}
+			s.append("========================").append(newLine);
+			s.append("=== Outgoing Packets ===").append(newLine);
+			s.append("========================").append(newLine);
+			for (Map.Entry<Integer, Integer> entry : getServer().getOutgoingCountPerPacketOpcode().entrySet()) {
+				final int outgoingPacketId = entry.getKey();
+				final int outgoingCount = entry.getValue();
+				final Long outgoingBytes = getServer().getOutgoingBytesPerPacketOpcode().get(outgoingPacketId);
+				s.append("Packet ID: ").append(outgoingPacketId).append(" : ");
+				s.append(outgoingBytes == null ? 0 : outgoingBytes).append("B").append(" : ");
+				s.append(outgoingCount).append(newLine);
+			}
+			final int flushes = getServer().getOutgoingFlushCount();
+			s.append("Flushes: ").append(flushes);
+			if (flushes > 0) {
+				s.append(", ").append(getServer().getOutgoingFlushPackets() / flushes).append(" packets and ");
+				s.append(getServer().getOutgoingFlushBytes() / flushes).append("B per flush");
+			}
+			s.append(newLine);
 		}
 
 		// Running GC before grabbing memory usage in order to get the actual used and referenced memory amount.
@@ -216,9 +428,14 @@ public class GameEventHandler {
 
 		final String returnString = (
 			"Tick: " + getServer().getConfig().GAME_TICK + "ms, Server: " + getServer().getLastTickDuration() + "ms " + getServer().getLastIncomingPacketsDuration() + "ms " + getServer().getLastEventsDuration() + "ms " + getServer().getLastGameStateDuration() + "ms " + getServer().getLastOutgoingPacketsDuration() + "ms" + newLine +
-				"Game Updater: " + getServer().getGameUpdater().getLastWorldUpdateDuration() + "ms " + getServer().getGameUpdater().getLastProcessPlayersDuration() + "ms " + getServer().getGameUpdater().getLastProcessNpcsDuration() + "ms " + getServer().getGameUpdater().getLastProcessMessageQueuesDuration() + "ms " + getServer().getGameUpdater().getLastUpdateClientsDuration() + "ms " + getServer().getGameUpdater().getLastDoCleanupDuration() + "ms " + getServer().getGameUpdater().getLastExecuteWalkToActionsDuration() + "ms " + newLine +
-				"Events: " + countAllEvents + ", NPCs: " + getServer().getWorld().getNpcs().size() + ", Players: " + getServer().getWorld().getPlayers().size() + ", Shops: " + getServer().getWorld().getShops().size() + newLine +
+				"Game Updater: " + getServer().getGameUpdater().getLastWorldUpdateDuration() + "ms " + getServer().getGameUpdater().getLastProcessPlayersDuration() + "ms " + getServer().getGameUpdater().getLastProcessNpcsDuration() + "ms " + getServer().getGameUpdater().getLastProcessMessageQueuesDuration() + "ms " + getServer().getGameUpdater().getLastUpdateClientsDuration() + "ms (" + getServer().getGameUpdater().getLastBuildViewUpdatesDuration() + "ms view, " + getServer().getGameUpdater().getLastApplyClientUpdatesDuration() + "ms apply) " + getServer().getGameUpdater().getLastDoCleanupDuration() + "ms " + getServer().getGameUpdater().getLastExecuteWalkToActionsDuration() + "ms " + newLine +
+				"Update Blocks: " + getServer().getGameUpdater().getLastUpdateBlockCacheHits() + " shared, " + getServer().getGameUpdater().getLastUpdateBlockCacheMisses() + " encoded" + newLine +
+				"Events: " + getEventCount() + " (" + countAllEvents + " run), NPCs: " + getServer().getWorld().getNpcs().size() + " (" + getServer().getGameUpdater().getLastDormantNpcCount() + " dormant), Players: " + getServer().getWorld().getPlayers().size() + ", Shops: " + getServer().getWorld().getShops().size() + newLine +
 				"Threads: " + Thread.activeCount() + ", Total: " + totalMemory + ", Free: " +  freeMemory + ", Used: " + usedMemory + newLine +
+				getServer().getLoginExecutor().buildQueueReport(newLine) +
+				getServer().getGameLogger().buildQueueReport(newLine) +
+				getServer().getLogoutExporter().buildQueueReport(newLine) +
+				(getServer().getTickClock() != null ? getServer().getTickClock().buildDriftHistogram(newLine) : "") +
 				/*"Player Atk Map: " + getWorld().getPlayersUnderAttack().size() + ", NPC Atk Map: " + getWorld().getNpcsUnderAttack().size() + ", Quests: " + getWorld().getQuests().size() + ", Mini Games: " + getWorld().getMiniGames().size() + newLine +*/
 				s.toString()
 		);
@@ -230,21 +447,29 @@ public class GameEventHandler {
 		return returnString.substring(0, Math.min(returnString.length(), 1999)); // Limit to 2000 characters for Discord.
 	}
 
-	public HashMap<String, GameTickEvent> getEvents() {
-		return new LinkedHashMap<>(events);
+	public List<GameTickEvent> getEvents() {
+		final List<GameTickEvent> registered = new ArrayList<>();
+		synchronized (events) {
+			events.values(registered);
+		}
+		return registered;
+	}
+
+	public int getEventCount() {
+		synchronized (events) {
+			return events.size();
+		}
 	}
 
 	public void remove(final GameTickEvent event) {
-		events.remove(event);
+		unregister(event);
 	}
 
 	public void removePlayersEvents(final Player player) {
 		try {
-			final Iterator<Map.Entry<String, GameTickEvent>> iterator = events.entrySet().iterator();
-			while (iterator.hasNext()) {
-				GameTickEvent event = iterator.next().getValue();
+			for (final GameTickEvent event : getEvents()) {
 				if (event.belongsTo(player)) {
-					iterator.remove();
+					unregister(event);
 				}
 			}
 		} catch (final Exception e) {
@@ -253,11 +478,34 @@ public class GameEventHandler {
 	}
 
 	public HashMap<String, Integer> getEventsCounts() {
-		return new LinkedHashMap<>(eventsCounts);
+		final HashMap<String, Integer> counts = new LinkedHashMap<>();
+		synchronized (descriptors) {
+			for (int i = 0; i < descriptors.size(); i++) {
+				if (eventsCounts[i] > 0) {
+					counts.put(descriptors.get(i), eventsCounts[i]);
+				}
+			}
+		}
+		return counts;
 	}
 
 	public HashMap<String, Long> getEventsDurations() {
-		return new LinkedHashMap<>(eventsDurations);
+		final HashMap<String, Long> durations = new LinkedHashMap<>();
+		synchronized (descriptors) {
+			for (int i = 0; i < descriptors.size(); i++) {
+				if (eventsCounts[i] > 0) {
+					durations.put(descriptors.get(i), eventsDurations[i]);
+				}
+			}
+		}
+		return durations;
+	}
+
+	/**
+	 * @return The tick the handler last processed. Due ticks of scheduled events are relative to this.
+	 */
+	public long getCurrentTick() {
+		return currentTick;
 	}
 
 	public final Server getServer() {
@@ -23,6 +23,10 @@ import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
 
 public final class GameStateUpdater {
 	/**
@@ -30,13 +34,28 @@ public final class GameStateUpdater {
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	/**
+	 * The number of players one fork join task builds view updates for before it stops splitting.
+	 */
+	private static final int CLIENT_UPDATE_BATCH_SIZE = 16;
+
 	private long lastWorldUpdateDuration = 0;
 	private long lastProcessPlayersDuration = 0;
 	private long lastProcessNpcsDuration = 0;
 	private long lastProcessMessageQueuesDuration = 0;
 	private long lastUpdateClientsDuration = 0;
+	private long lastBuildViewUpdatesDuration = 0;
+	private long lastApplyClientUpdatesDuration = 0;
 	private long lastDoCleanupDuration = 0;
 	private long lastExecuteWalkToActionsDuration = 0;
+	private int lastDormantNpcCount = 0;
+
+	/**
+	 * Builds view updates for many players at once, or null when client updates run on the game thread alone.
+	 */
+	private ForkJoinPool clientUpdatePool;
+
+	private final UpdateBlockCache updateBlockCache = new UpdateBlockCache();
 
 	private final Server server;
 	public final Server getServer() {
@@ -48,46 +67,47 @@ public final class GameStateUpdater {
 	}
 
 	public void load() {
-
+		if (getServer().getConfig().PARALLEL_CLIENT_UPDATES) {
+			final String threadName = getServer().getName() + " : ClientUpdater";
+			clientUpdatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+				final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName(threadName + "-" + thread.getPoolIndex());
+				return thread;
+			}, null, false);
+		}
 	}
 
 	public void unload() {
+		if (clientUpdatePool != null) {
+			clientUpdatePool.shutdown();
+			try {
+				if (!clientUpdatePool.awaitTermination(1, TimeUnit.MINUTES)) {
+					LOGGER.error("GameStateUpdater client update pool termination failed");
+				}
+			} catch (final InterruptedException e) {
+				LOGGER.catching(e);
+			}
+			clientUpdatePool = null;
+		}
+
 		lastWorldUpdateDuration = 0;
 		lastProcessPlayersDuration = 0;
 		lastProcessNpcsDuration = 0;
 		lastProcessMessageQueuesDuration = 0;
 		lastUpdateClientsDuration = 0;
+		lastBuildViewUpdatesDuration = 0;
+		lastApplyClientUpdatesDuration = 0;
 		lastDoCleanupDuration = 0;
 		lastExecuteWalkToActionsDuration = 0;
+		lastDormantNpcCount = 0;
 	}
 
 	// private static final int PACKET_UPDATETIMEOUTS = 0;
 	public void sendUpdatePackets(final Player player) {
 		// TODO: Should be private
 		try {
-			if (player.isUsingAuthenticClient()) {
-				if (player.isChangingAppearance()) {
-					sendAppearanceKeepalive(player);
-				} else {
-					updatePlayers(player);
-					updatePlayerAppearances(player);
-					updateNpcs(player);
-					updateNpcAppearances(player);
-					updateGameObjects(player);
-					updateWallObjects(player);
-					updateGroundItems(player);
-					sendClearLocations(player);
-					updateTimeouts(player);
-				}
-			} else {
-				updatePlayers(player);
-				updatePlayerAppearances(player);
-				updateNpcs(player);
-				updateNpcAppearances(player);
-				updateGameObjects(player);
-				updateWallObjects(player);
-				updateGroundItems(player);
-				sendClearLocations(player);
+			sendViewUpdates(player);
+			if (!isKeepingAppearanceAlive(player)) {
 				updateTimeouts(player);
 			}
 		} catch (final Exception e) {
@@ -96,6 +116,31 @@ public final class GameStateUpdater {
 		}
 	}
 
+	/**
+	 * Builds and queues the packets that bring the player's client up to date with what it can see.
+	 *
+	 * This reads the world as it stands after the tick's processing and writes only to the player's own local entity sets
+	 * and outgoing packet queue, so it can run for many players at once.
+	 */
+	private void sendViewUpdates(final Player player) {
+		if (isKeepingAppearanceAlive(player)) {
+			sendAppearanceKeepalive(player);
+			return;
+		}
+		updatePlayers(player);
+		updatePlayerAppearances(player);
+		updateNpcs(player);
+		updateNpcAppearances(player);
+		updateGameObjects(player);
+		updateWallObjects(player);
+		updateGroundItems(player);
+		sendClearLocations(player);
+	}
+
+	private boolean isKeepingAppearanceAlive(final Player player) {
+		return player.isUsingAuthenticClient() && player.isChangingAppearance();
+	}
+
 	/**
 	 * Checks if the player has moved within the last X minutes
 	 */
@@ -160,13 +205,13 @@ public final class GameStateUpdater {
 				}
 			}
 		}
-		for (final Npc newNPC : playerToUpdate.getViewArea().getNpcsInView()) {
+		playerToUpdate.getViewArea().forEachNpcInView(newNPC -> {
 			if (playerToUpdate.getLocalNpcs().contains(newNPC) || newNPC.equals(playerToUpdate) || newNPC.isRemoved() || newNPC.isRespawning()
 				|| newNPC.getID() == NpcId.NED_BOAT.id() && !playerToUpdate.getCache().hasKey("ned_hired")
 				|| !playerToUpdate.withinRange(newNPC, (getServer().getConfig().VIEW_DISTANCE * 8) - 1) || (newNPC.isTeleporting() && !newNPC.inCombat())) {
-				continue;
+				return;
 			} else if (playerToUpdate.getLocalNpcs().size() >= 255) {
-				break;
+				return;
 			}
 			final byte[] offsets = DataConversions.getMobPositionOffsets(newNPC.getLocation(), playerToUpdate.getLocation());
 			packet.writeBits(newNPC.getIndex(), 12);
@@ -181,7 +226,7 @@ public final class GameStateUpdater {
 			packet.writeBits(newNPC.getID(), 10);
 
 			playerToUpdate.getLocalNpcs().add(newNPC);
-		}
+		});
 		packet.finishBitAccess();
 		playerToUpdate.write(packet.toPacket());
 	}
@@ -225,12 +270,15 @@ public final class GameStateUpdater {
 				}
 			}
 
-			for (final Player otherPlayer : playerToUpdate.getViewArea().getPlayersInView()) {
+			playerToUpdate.getViewArea().forEachPlayerInView(otherPlayer -> {
+				if (playerToUpdate.getLocalPlayers().size() >= 255) {
+					return;
+				}
 				if (playerToUpdate.getLocalPlayers().contains(otherPlayer) || otherPlayer.equals(playerToUpdate)
 					|| !otherPlayer.withinRange(playerToUpdate) || !otherPlayer.loggedIn()
 					|| otherPlayer.isRemoved() || otherPlayer.isInvisibleTo(playerToUpdate)
 					|| (otherPlayer.isTeleporting() && !otherPlayer.inCombat())) {
-					continue;
+					return;
 				}
 				final byte[] offsets = DataConversions.getMobPositionOffsets(otherPlayer.getLocation(),
 					playerToUpdate.getLocation());
@@ -244,10 +292,7 @@ public final class GameStateUpdater {
 				}
 				positionBuilder.writeBits(otherPlayer.getSprite(), 4);
 				playerToUpdate.getLocalPlayers().add(otherPlayer);
-				if (playerToUpdate.getLocalPlayers().size() >= 255) {
-					break;
-				}
-			}
+			});
 		}
 		positionBuilder.finishBitAccess();
 		playerToUpdate.write(positionBuilder.toPacket());
@@ -481,75 +526,11 @@ public final class GameStateUpdater {
 				// Update Type 6: Quest Chat Message
 				ChatMessage cm;
 				while ((cm = chatMessagesNeedingDisplayed.poll()) != null) {
-					Player sender = (Player) cm.getSender();
-					boolean tutorialPlayer = sender.getLocation().onTutorialIsland() && !sender.hasElevatedPriveledges();
-					boolean muted = sender.isMuted();
-
-					// Determine Update Type
-					int updateType;
-					if (cm.getRecipient() == null) {
-						if (tutorialPlayer || muted) {
-							updateType = 7; // Not authentic! There is no update type 7.
-						} else {
-							updateType = 1; // Public Chat
-						}
-					} else {
-						if (cm.getRecipient() instanceof Player) {
-							if (tutorialPlayer || muted) {
-								updateType = 7; // Not authentic! There is no update type 7.
-							} else {
-								updateType = 6; // Quest Chat
-							}
-						} else {
-							updateType = 6; // Quest Chat
-						}
-					}
-
-					if (player.isUsingAuthenticClient()) {
-						String message = cm.getMessageString();
-						if (updateType == 7) {
-							if (player.hasElevatedPriveledges()) {
-								// Just prepend "Muted" to message, could be faked but doesn't matter.
-								message = "(Muted) " + message;
-								if (cm.getRecipient() == null) {
-									updateType = 1;
-								} else {
-									updateType = 6;
-								}
-							}
-						}
-						if (updateType != 7) {
-							appearancePacket.writeShort(cm.getSender().getIndex());
-							appearancePacket.writeByte(updateType);
-							if (updateType != 6) {
-								appearancePacket.writeByte(sender.getIconAuthentic());
-							}
-							appearancePacket.writeRSCString(message);
-						} else {
-							LOGGER.error("extraneous chat update packet will crash the authentic client...!");
-						}
-
-					} else {
-						// Non Authentic OpenRSC client
-						appearancePacket.writeShort(cm.getSender().getIndex());
-						appearancePacket.writeByte(updateType);
-
-						if (updateType == 1 || updateType == 7) {
-							if (cm.getSender() != null && cm.getSender() instanceof Player)
-								appearancePacket.writeInt(sender.getIcon());
-						}
-
-						if (updateType == 7) {
-							appearancePacket.writeByte(sender.isMuted() ? 1 : 0);
-							appearancePacket.writeByte(sender.getLocation().onTutorialIsland() ? 1 : 0);
-						}
-
-						if (updateType != 7 || player.isAdmin()) {
-							appearancePacket.writeString(cm.getMessageString());
-						} else {
-							appearancePacket.writeString("");
-						}
-					}
+					final ChatMessage chatMessage = cm;
+					final boolean authentic = player.isUsingAuthenticClient();
+					final boolean privileged = authentic ? player.hasElevatedPriveledges() : player.isAdmin();
+					updateBlockCache.writeChat(appearancePacket, (Player) chatMessage.getSender(), authentic, privileged,
+						packet -> writeChatBlock(packet, chatMessage, authentic, privileged));
 				}
 
 				// Update Type 2: Damage Update
@@ -582,133 +563,10 @@ public final class GameStateUpdater {
 				// Update Type 5: Player appearance and identity
 				Player playerNeedingAppearanceUpdate;
 				while ((playerNeedingAppearanceUpdate = playersNeedingAppearanceUpdate.poll()) != null) {
-					PlayerAppearance appearance = playerNeedingAppearanceUpdate.getSettings().getAppearance();
-
-					appearancePacket.writeShort((short) playerNeedingAppearanceUpdate.getIndex());
-					appearancePacket.writeByte((byte) 5);
-					if (player.isUsingAuthenticClient()) {
-                        // This is unused by the authentic 233+ clients, but is meant to be "Appearance ID", which changes when the player's appearance changes
-                        // TODO: look into this more
-						appearancePacket.writeShort(0);
-					}
-					if (player.isUsingAuthenticClient()) {
-						appearancePacket.writeZeroQuotedString(playerNeedingAppearanceUpdate.getUsername());
-						appearancePacket.writeZeroQuotedString(playerNeedingAppearanceUpdate.getUsername()); // Pretty sure this is unnecessary & always redundant authentically.
-					} else {
-						appearancePacket.writeString(playerNeedingAppearanceUpdate.getUsername());
-					}
-
-
-                    // Handle Invisibility & Invulnerability in the authentic client
-					if (player.isUsingAuthenticClient() &&
-                        (playerNeedingAppearanceUpdate.stateIsInvisible() ||
-                            playerNeedingAppearanceUpdate.stateIsInvulnerable())) {
-                        int[] wornItems = playerNeedingAppearanceUpdate.getWornItems();
-
-                        // All possible boots to choose from
-                        final int regularBoots = 12;
-                        final int redGnomeBoots = 204;
-                        final int greenGnomeBoots = 205;
-                        final int blueGnomeBoots = 206;
-                        final int yellowGnomeBoots = 207;
-                        final int skyBlueGnomeBoots = 208;
-                        final int desertBoots = 212;
-                        final int shadowWarriorBoots = 227;
-                        int bootColour = shadowWarriorBoots; // default
-                        if (wornItems[9] != 0) {
-                            // if player is already wearing boots, we can let them choose their colour. :-)
-                            bootColour = wornItems[9];
-                        }
-
-                        final int runeShieldSprite = 103;
-                        final int dragonShieldSprite = 225;
-                        int shieldSprite = 0; // default to invisible
-                        if (playerNeedingAppearanceUpdate.stateIsInvulnerable()) {
-                            if (wornItems[3] == dragonShieldSprite) {
-                                shieldSprite = runeShieldSprite;
-                            } else {
-                                shieldSprite = dragonShieldSprite;
-                            }
-                        }
-
-                        // these two gloves are the only ones that exist.
-                        final int lightGloves = 47;
-                        final int darkGloves = 156;
-                        int gloveColour = lightGloves; // default
-                        if (wornItems[8] != 0) {
-                            // if player is already wearing gloves, we can let them choose their colour. :-)
-                            gloveColour = wornItems[8];
-                        }
-
-                        // if player is just invulnerable & not invisible, give them a dark-robed appearance
-                        int headSprite = 0; // default to invisible
-                        int hatSprite = 0;
-                        int bodySprite = 0;
-                        int legSprite = 0;
-                        int pantsSprite = 0;
-                        int shirtSprite = 0;
-                        int amuletSprite = 0;
-                        if (!playerNeedingAppearanceUpdate.stateIsInvisible()) {
-                            headSprite = wornItems[0];
-                            if (wornItems[5] == 0) {
-                                hatSprite = 19; // black helm
-                                headSprite = 0;
-                            } else {
-                                hatSprite = wornItems[5];
-                            }
-
-                            // dark robes
-                            bodySprite = 183;
-                            legSprite = 184;
-                            pantsSprite = 3;
-                            shirtSprite = 5;
-                            amuletSprite = 172; // amulet of lucien
-                        }
-
-                        appearancePacket.writeByte((byte) 11); // Equipment count
-                        appearancePacket.writeByte((byte) headSprite);
-                        appearancePacket.writeByte((byte) shirtSprite);
-                        appearancePacket.writeByte((byte) pantsSprite);
-                        appearancePacket.writeByte((byte) shieldSprite);  // Shield is used to denote if invulnerable while invisible
-                        appearancePacket.writeByte((byte) wornItems[4]);  // Weapon can stay
-                        appearancePacket.writeByte((byte) hatSprite);
-                        appearancePacket.writeByte((byte) bodySprite);
-                        appearancePacket.writeByte((byte) legSprite);
-                        appearancePacket.writeByte((byte) gloveColour);
-                        appearancePacket.writeByte((byte) bootColour);
-                        appearancePacket.writeByte((byte) amuletSprite);
-                        // No Cape
-                    } else {
-                        appearancePacket.writeByte((byte) playerNeedingAppearanceUpdate.getWornItems().length);
-                        for (int i : playerNeedingAppearanceUpdate.getWornItems()) {
-                            if (player.isUsingAuthenticClient()) {
-                                appearancePacket.writeByte(i & 0xFF);
-                            } else {
-                                appearancePacket.writeShort(i);
-                            }
-                        }
-                    }
-
-                    appearancePacket.writeByte(appearance.getHairColour());
-                    appearancePacket.writeByte(appearance.getTopColour());
-                    appearancePacket.writeByte(appearance.getTrouserColour());
-                    appearancePacket.writeByte(appearance.getSkinColour());
-                    appearancePacket.writeByte((byte) playerNeedingAppearanceUpdate.getCombatLevel());
-                    appearancePacket.writeByte((byte) playerNeedingAppearanceUpdate.getSkullType());
-
-					if (!player.isUsingAuthenticClient()) {
-						if (playerNeedingAppearanceUpdate.getClan() != null) {
-							appearancePacket.writeByte(1);
-							appearancePacket.writeString(playerNeedingAppearanceUpdate.getClan().getClanTag());
-						} else {
-							appearancePacket.writeByte(0);
-						}
-
-						appearancePacket.writeByte(playerNeedingAppearanceUpdate.stateIsInvisible() ? 1 : 0);
-						appearancePacket.writeByte(playerNeedingAppearanceUpdate.stateIsInvulnerable() ? 1 : 0);
-						appearancePacket.writeByte(playerNeedingAppearanceUpdate.getGroupID());
-						appearancePacket.writeInt(playerNeedingAppearanceUpdate.getIcon());
-					}
+					final Player subject = playerNeedingAppearanceUpdate;
+					final boolean authentic = player.isUsingAuthenticClient();
+					updateBlockCache.writeAppearance(appearancePacket, subject, authentic,
+						packet -> writeAppearanceBlock(packet, subject, authentic));
 				}
 
 				if (!player.isUsingAuthenticClient()) {
@@ -727,6 +585,218 @@ public final class GameStateUpdater {
 		}
 	}
 
+	/**
+	 * Writes update type 1, 6 or 7 for a player's chat message. The block only depends on the observer's client
+	 * and whether the observer is shown hidden chat, so it is shared between observers.
+	 *
+	 * @param privileged For the authentic client, whether the observer has elevated privileges, otherwise whether the observer is an admin.
+	 */
+	private void writeChatBlock(final PacketBuilder packet, final ChatMessage cm, final boolean authentic, final boolean privileged) {
+		Player sender = (Player) cm.getSender();
+		boolean tutorialPlayer = sender.getLocation().onTutorialIsland() && !sender.hasElevatedPriveledges();
+		boolean muted = sender.isMuted();
+
+		// Determine Update Type
+		int updateType;
+		if (cm.getRecipient() == null) {
+			if (tutorialPlayer || muted) {
+				updateType = 7; // Not authentic! There is no update type 7.
+			} else {
+				updateType = 1; // Public Chat
+			}
+		} else {
+			if (cm.getRecipient() instanceof Player) {
+				if (tutorialPlayer || muted) {
+					updateType = 7; // Not authentic! There is no update type 7.
+				} else {
+					updateType = 6; // Quest Chat
+				}
+			} else {
+				updateType = 6; // Quest Chat
+			}
+		}
+
+		if (authentic) {
+			String message = cm.getMessageString();
+			if (updateType == 7) {
+				if (privileged) {
+					// Just prepend "Muted" to message, could be faked but doesn't matter.
+					message = "(Muted) " + message;
+					if (cm.getRecipient() == null) {
+						updateType = 1;
+					} else {
+						updateType = 6;
+					}
+				}
+			}
+			if (updateType != 7) {
+				packet.writeShort(cm.getSender().getIndex());
+				packet.writeByte(updateType);
+				if (updateType != 6) {
+					packet.writeByte(sender.getIconAuthentic());
+				}
+				packet.writeRSCString(message);
+			} else {
+				LOGGER.error("extraneous chat update packet will crash the authentic client...!");
+			}
+
+		} else {
+			// Non Authentic OpenRSC client
+			packet.writeShort(cm.getSender().getIndex());
+			packet.writeByte(updateType);
+
+			if (updateType == 1 || updateType == 7) {
+				if (cm.getSender() != null && cm.getSender() instanceof Player)
+					packet.writeInt(sender.getIcon());
+			}
+
+			if (updateType == 7) {
+				packet.writeByte(sender.isMuted() ? 1 : 0);
+				packet.writeByte(sender.getLocation().onTutorialIsland() ? 1 : 0);
+			}
+
+			if (updateType != 7 || privileged) {
+				packet.writeString(cm.getMessageString());
+			} else {
+				packet.writeString("");
+			}
+		}
+	}
+
+	/**
+	 * Writes update type 5, the appearance and identity of a player. The block only depends on the observer's client,
+	 * so it is shared between observers.
+	 */
+	private void writeAppearanceBlock(final PacketBuilder packet, final Player subject, final boolean authentic) {
+		PlayerAppearance appearance = subject.getSettings().getAppearance();
+
+		packet.writeShort((short) subject.getIndex());
+		packet.writeByte((byte) 5);
+		if (authentic) {
+            // This is unused by the authentic 233+ clients, but is meant to be "Appearance ID", which changes when the player's appearance changes
+            // TODO: look into this more
+			packet.writeShort(0);
+		}
+		if (authentic) {
+			packet.writeZeroQuotedString(subject.getUsername());
+			packet.writeZeroQuotedString(subject.getUsername()); // Pretty sure this is unnecessary & always redundant authentically.
+		} else {
+			packet.writeString(subject.getUsername());
+		}
+
+
+        // Handle Invisibility & Invulnerability in the authentic client
+		if (authentic &&
+            (subject.stateIsInvisible() ||
+                subject.stateIsInvulnerable())) {
+            int[] wornItems = subject.getWornItems();
+
+            // All possible boots to choose from
+            final int regularBoots = 12;
+            final int redGnomeBoots = 204;
+            final int greenGnomeBoots = 205;
+            final int blueGnomeBoots = 206;
+            final int yellowGnomeBoots = 207;
+            final int skyBlueGnomeBoots = 208;
+            final int desertBoots = 212;
+            final int shadowWarriorBoots = 227;
+            int bootColour = shadowWarriorBoots; // default
+            if (wornItems[9] != 0) {
+                // if player is already wearing boots, we can let them choose their colour. :-)
+                bootColour = wornItems[9];
+            }
+
+            final int runeShieldSprite = 103;
+            final int dragonShieldSprite = 225;
+            int shieldSprite = 0; // default to invisible
+            if (subject.stateIsInvulnerable()) {
+                if (wornItems[3] == dragonShieldSprite) {
+                    shieldSprite = runeShieldSprite;
+                } else {
+                    shieldSprite = dragonShieldSprite;
+                }
+            }
+
+            // these two gloves are the only ones that exist.
+            final int lightGloves = 47;
+            final int darkGloves = 156;
+            int gloveColour = lightGloves; // default
+            if (wornItems[8] != 0) {
+                // if player is already wearing gloves, we can let them choose their colour. :-)
+                gloveColour = wornItems[8];
+            }
+
+            // if player is just invulnerable & not invisible, give them a dark-robed appearance
+            int headSprite = 0; // default to invisible
+            int hatSprite = 0;
+            int bodySprite = 0;
+            int legSprite = 0;
+            int pantsSprite = 0;
+            int shirtSprite = 0;
+            int amuletSprite = 0;
+            if (!subject.stateIsInvisible()) {
+                headSprite = wornItems[0];
+                if (wornItems[5] == 0) {
+                    hatSprite = 19; // black helm
+                    headSprite = 0;
+                } else {
+                    hatSprite = wornItems[5];
+                }
+
+                // dark robes
+                bodySprite = 183;
+                legSprite = 184;
+                pantsSprite = 3;
+                shirtSprite = 5;
+                amuletSprite = 172; // amulet of lucien
+            }
+
+            packet.writeByte((byte) 11); // Equipment count
+            packet.writeByte((byte) headSprite);
+            packet.writeByte((byte) shirtSprite);
+            packet.writeByte((byte) pantsSprite);
+            packet.writeByte((byte) shieldSprite);  // Shield is used to denote if invulnerable while invisible
+            packet.writeByte((byte) wornItems[4]);  // Weapon can stay
+            packet.writeByte((byte) hatSprite);
+            packet.writeByte((byte) bodySprite);
+            packet.writeByte((byte) legSprite);
+            packet.writeByte((byte) gloveColour);
+            packet.writeByte((byte) bootColour);
+            packet.writeByte((byte) amuletSprite);
+            // No Cape
+        } else {
+            packet.writeByte((byte) subject.getWornItems().length);
+            for (int i : subject.getWornItems()) {
+                if (authentic) {
+                    packet.writeByte(i & 0xFF);
+                } else {
+                    packet.writeShort(i);
+                }
+            }
+        }
+
+        packet.writeByte(appearance.getHairColour());
+        packet.writeByte(appearance.getTopColour());
+        packet.writeByte(appearance.getTrouserColour());
+        packet.writeByte(appearance.getSkinColour());
+        packet.writeByte((byte) subject.getCombatLevel());
+        packet.writeByte((byte) subject.getSkullType());
+
+		if (!authentic) {
+			if (subject.getClan() != null) {
+				packet.writeByte(1);
+				packet.writeString(subject.getClan().getClanTag());
+			} else {
+				packet.writeByte(0);
+			}
+
+			packet.writeByte(subject.stateIsInvisible() ? 1 : 0);
+			packet.writeByte(subject.stateIsInvulnerable() ? 1 : 0);
+			packet.writeByte(subject.getGroupID());
+			packet.writeInt(subject.getIcon());
+		}
+	}
+
 	protected void updateGameObjects(final Player playerToUpdate) {
 		boolean changed = false;
 		final PacketBuilder packet = new PacketBuilder();
@@ -784,11 +854,12 @@ public final class GameStateUpdater {
 		}
 
 		// Add scenery
-		for (final GameObject newObject : playerToUpdate.getViewArea().getGameObjectsInView()) {
+		final int knownGameObjects = playerToUpdate.getLocalGameObjects().size();
+		playerToUpdate.getViewArea().forEachGameObjectInView(newObject -> {
 			if (!playerToUpdate.withinGridRange(newObject) || newObject.isRemoved()
 				|| newObject.isInvisibleTo(playerToUpdate) || newObject.getType() != 0
 				|| playerToUpdate.getLocalGameObjects().contains(newObject)) {
-				continue;
+				return;
 			}
 
 			packet.writeShort(newObject.getID());
@@ -800,6 +871,8 @@ public final class GameStateUpdater {
 				packet.writeByte(newObject.getDirection());
 			}
 			playerToUpdate.getLocalGameObjects().add(newObject);
+		});
+		if (playerToUpdate.getLocalGameObjects().size() != knownGameObjects) {
 			changed = true;
 		}
 		if (changed)
@@ -843,11 +916,12 @@ public final class GameStateUpdater {
 			}
 		}
 
-		for (final GroundItem groundItem : playerToUpdate.getViewArea().getItemsInView()) {
+		final int knownGroundItems = playerToUpdate.getLocalGroundItems().size();
+		playerToUpdate.getViewArea().forEachItemInView(groundItem -> {
 			if (!playerToUpdate.withinGridRange(groundItem) || groundItem.isRemoved()
 				|| groundItem.isInvisibleTo(playerToUpdate)
 				|| playerToUpdate.getLocalGroundItems().contains(groundItem)) {
-				continue;
+				return;
 			}
 			packet.writeShort(groundItem.getID());
 			final int offsetX = groundItem.getX() - playerToUpdate.getX();
@@ -860,6 +934,8 @@ public final class GameStateUpdater {
 				}
 			}
 			playerToUpdate.getLocalGroundItems().add(groundItem);
+		});
+		if (playerToUpdate.getLocalGroundItems().size() != knownGroundItems) {
 			changed = true;
 		}
 		if (changed) {
@@ -928,11 +1004,12 @@ public final class GameStateUpdater {
 		}
 
 		// add all new boundaries to be added
-		for (final GameObject newObject : playerToUpdate.getViewArea().getGameObjectsInView()) {
+		final int knownWallObjects = playerToUpdate.getLocalWallObjects().size();
+		playerToUpdate.getViewArea().forEachGameObjectInView(newObject -> {
 			if (!playerToUpdate.withinGridRange(newObject) || newObject.isRemoved()
 				|| newObject.isInvisibleTo(playerToUpdate) || newObject.getType() != 1
 				|| playerToUpdate.getLocalWallObjects().contains(newObject)) {
-				continue;
+				return;
 			}
 
 			final int offsetX = newObject.getX() - playerToUpdate.getX();
@@ -942,6 +1019,8 @@ public final class GameStateUpdater {
 			packet.writeByte(offsetY);
 			packet.writeByte(newObject.getDirection());
 			playerToUpdate.getLocalWallObjects().add(newObject);
+		});
+		if (playerToUpdate.getLocalWallObjects().size() != knownWallObjects) {
 			changed = true;
 		}
 		if (changed) {
@@ -990,16 +1069,86 @@ public final class GameStateUpdater {
 		return updateWorldEnd - updateWorldStart;
 	}
 
+	/**
+	 * Sends each player's client updates in two stages.
+	 * First the view updates are built for every player, on the client update pool when it is enabled.
+	 * Then the parts that can affect other players, such as saving, time-outs and unregistering, run on the game thread in player order.
+	 * Both stages run the same way with or without the pool, so the packets sent do not depend on the mode.
+	 */
 	protected final long updateClients() {
 		final long updateClientsStart	= System.currentTimeMillis();
-		for (final Player player : getServer().getWorld().getPlayers()) {
-			sendUpdatePackets(player);
+		final Player[] players = getServer().getWorld().getPlayers().toArray(new Player[0]);
+		final Exception[] failures = new Exception[players.length];
+
+		updateBlockCache.begin();
+		try {
+			if (clientUpdatePool != null) {
+				clientUpdatePool.invoke(new BuildViewUpdates(players, failures, 0, players.length));
+			} else {
+				buildViewUpdates(players, failures, 0, players.length);
+			}
+		} finally {
+			updateBlockCache.end();
+		}
+		final long buildViewUpdatesEnd	= System.currentTimeMillis();
+
+		for (int i = 0; i < players.length; i++) {
+			final Player player = players[i];
+			if (failures[i] != null) {
+				LOGGER.catching(failures[i]);
+				player.unregister(true, "Exception while updating player " + player.getUsername());
+			} else if (!isKeepingAppearanceAlive(player)) {
+				try {
+					updateTimeouts(player);
+				} catch (final Exception e) {
+					LOGGER.catching(e);
+					player.unregister(true, "Exception while updating player " + player.getUsername());
+				}
+			}
 			player.process();
 		}
 		final long updateClientsEnd		= System.currentTimeMillis();
+		lastBuildViewUpdatesDuration = buildViewUpdatesEnd - updateClientsStart;
+		lastApplyClientUpdatesDuration = updateClientsEnd - buildViewUpdatesEnd;
 		return updateClientsEnd - updateClientsStart;
 	}
 
+	private void buildViewUpdates(final Player[] players, final Exception[] failures, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			try {
+				sendViewUpdates(players[i]);
+			} catch (final Exception e) {
+				failures[i] = e;
+			}
+		}
+	}
+
+	private final class BuildViewUpdates extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Player[] players;
+		private final Exception[] failures;
+		private final int from;
+		private final int to;
+
+		private BuildViewUpdates(final Player[] players, final Exception[] failures, final int from, final int to) {
+			this.players = players;
+			this.failures = failures;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CLIENT_UPDATE_BATCH_SIZE) {
+				buildViewUpdates(players, failures, from, to);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new BuildViewUpdates(players, failures, from, middle), new BuildViewUpdates(players, failures, middle, to));
+		}
+	}
+
 	protected final long doCleanup() {// it can do the teleport at this time.
 		final long doCleanupStart	= System.currentTimeMillis();
 
@@ -1045,6 +1194,8 @@ public final class GameStateUpdater {
 
 	protected final long processNpcs() {
 		final long processNpcsStart	= System.currentTimeMillis();
+		getServer().getWorld().getRegionManager().markObservedRegions(getServer().getWorld().getPlayers());
+		int dormantNpcs = 0;
 		for (final Npc n : getServer().getWorld().getNpcs()) {
 			try {
 				if (n.isUnregistering()) {
@@ -1052,6 +1203,11 @@ public final class GameStateUpdater {
 					continue;
 				}
 
+				if (n.isDormant()) {
+					dormantNpcs++;
+					continue;
+				}
+
 				// Only do the walking tick here if the NPC's walking tick matches the game tick
 				if(!getServer().getConfig().WANT_CUSTOM_WALK_SPEED) {
 					n.updatePosition();
@@ -1061,6 +1217,10 @@ public final class GameStateUpdater {
 				LOGGER.catching(e);
 			}
 		}
+		lastDormantNpcCount = dormantNpcs;
+		if (getServer().getConfig().CHECK_NPC_OCCUPANCY) {
+			getServer().getWorld().getNpcOccupancy().checkConsistency();
+		}
 		final long processNpcsEnd = System.currentTimeMillis();
 		return processNpcsEnd - processNpcsStart;
 	}
@@ -1164,6 +1324,26 @@ public final class GameStateUpdater {
 		return lastUpdateClientsDuration;
 	}
 
+	public long getLastBuildViewUpdatesDuration() {
+		return lastBuildViewUpdatesDuration;
+	}
+
+	public long getLastApplyClientUpdatesDuration() {
+		return lastApplyClientUpdatesDuration;
+	}
+
+	public int getLastDormantNpcCount() {
+		return lastDormantNpcCount;
+	}
+
+	public long getLastUpdateBlockCacheHits() {
+		return updateBlockCache.getLastHits();
+	}
+
+	public long getLastUpdateBlockCacheMisses() {
+		return updateBlockCache.getLastMisses();
+	}
+
 	public long getLastDoCleanupDuration() {
 		return lastDoCleanupDuration;
 	}
@@ -0,0 +1,182 @@
+package com.openrsc.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the game tick from System.nanoTime deadlines instead of polling the wall clock.
+ *
+ * The clock parks until shortly before each deadline and then spins for the remainder so that ticks start on time.
+ * When custom walking speed is enabled the walking sub-ticks get deadlines of their own.
+ */
+public class GameTickClock implements Runnable {
+	/**
+	 * The asynchronous logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	/**
+	 * Upper bounds (exclusive, in microseconds) of the drift histogram buckets. The last bucket catches everything else.
+	 */
+	private static final long[] DRIFT_BUCKET_BOUNDS = {50, 100, 250, 500, 1000, 2000, 5000, 10000, 20000};
+
+	private final Server server;
+
+	private final long tickNanos;
+	private final long walkNanos;
+	private final long spinNanos;
+
+	private final long[] driftBuckets = new long[DRIFT_BUCKET_BOUNDS.length + 1];
+	private long maxDriftNanos = 0;
+	private long totalDriftNanos = 0;
+	private long ticksMeasured = 0;
+
+	/**
+	 * A clock is created for each server start and runs until it is stopped.
+	 */
+	private volatile boolean running = true;
+	private volatile Thread thread;
+
+	private long originNanos;
+	private long originMillis;
+	private long nextWalkDeadline;
+	private volatile long movementTimestamp;
+
+	public GameTickClock(final Server server) {
+		this.server = server;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(server.getConfig().GAME_TICK);
+		this.walkNanos = server.getConfig().WANT_CUSTOM_WALK_SPEED ? TimeUnit.MILLISECONDS.toNanos(server.getConfig().WALKING_TICK) : 0;
+		this.spinNanos = TimeUnit.MICROSECONDS.toNanos(server.getConfig().TICK_CLOCK_SPIN_MICROS);
+	}
+
+	@Override
+	public void run() {
+		thread = Thread.currentThread();
+		originNanos = System.nanoTime();
+		originMillis = getServer().getServerStartedTime();
+		movementTimestamp = originMillis;
+		nextWalkDeadline = originNanos + walkNanos;
+
+		while (running) {
+			try {
+				final long tickDeadline = originNanos + (getServer().getCurrentTick() + 1) * tickNanos;
+				final boolean walkFirst = walkNanos > 0 && nextWalkDeadline < tickDeadline;
+				final long deadline = walkFirst ? nextWalkDeadline : tickDeadline;
+
+				if (!sleepUntil(deadline)) {
+					break;
+				}
+
+				movementTimestamp = originMillis + TimeUnit.NANOSECONDS.toMillis(deadline - originNanos);
+
+				if (walkFirst) {
+					getServer().runWalkSubTick();
+
+					// Missed walking deadlines are dropped rather than run back to back.
+					nextWalkDeadline += walkNanos;
+					final long now = System.nanoTime();
+					if (nextWalkDeadline <= now) {
+						nextWalkDeadline += ((now - nextWalkDeadline) / walkNanos + 1) * walkNanos;
+					}
+				} else {
+					final long drift = System.nanoTime() - deadline;
+					recordDrift(drift);
+					getServer().runTick(TimeUnit.NANOSECONDS.toMillis(drift));
+
+					// The tick already moved every mob, so a walking deadline at or before it has been served.
+					while (walkNanos > 0 && nextWalkDeadline <= Math.max(tickDeadline, System.nanoTime())) {
+						nextWalkDeadline += walkNanos;
+					}
+				}
+			} catch (final Throwable t) {
+				LOGGER.catching(t);
+			}
+		}
+
+		thread = null;
+	}
+
+	public void stop() {
+		running = false;
+		final Thread clockThread = thread;
+		if (clockThread != null) {
+			LockSupport.unpark(clockThread);
+		}
+	}
+
+	/**
+	 * Parks until {@code spinNanos} before the deadline, then busy waits until it is reached.
+	 *
+	 * @return false if the clock was stopped while waiting
+	 */
+	private boolean sleepUntil(final long deadline) {
+		long remaining;
+		while (running && (remaining = deadline - System.nanoTime()) > spinNanos) {
+			LockSupport.parkNanos(remaining - spinNanos);
+		}
+		while (running && System.nanoTime() - deadline < 0) {
+			// Spin for the last few hundred microseconds, parking is not precise enough here.
+		}
+		return running;
+	}
+
+	private synchronized void recordDrift(final long driftNanos) {
+		final long driftMicros = TimeUnit.NANOSECONDS.toMicros(Math.max(driftNanos, 0));
+		int bucket = 0;
+		while (bucket < DRIFT_BUCKET_BOUNDS.length && driftMicros >= DRIFT_BUCKET_BOUNDS[bucket]) {
+			bucket++;
+		}
+		driftBuckets[bucket]++;
+		maxDriftNanos = Math.max(maxDriftNanos, driftNanos);
+		totalDriftNanos += Math.max(driftNanos, 0);
+		ticksMeasured++;
+	}
+
+	public synchronized void resetDriftHistogram() {
+		for (int i = 0; i < driftBuckets.length; i++) {
+			driftBuckets[i] = 0;
+		}
+		maxDriftNanos = 0;
+		totalDriftNanos = 0;
+		ticksMeasured = 0;
+	}
+
+	public synchronized long[] getDriftBuckets() {
+		return driftBuckets.clone();
+	}
+
+	public synchronized String buildDriftHistogram(final String newLine) {
+		final StringBuilder s = new StringBuilder();
+		s.append("Tick Drift: ").append(ticksMeasured).append(" ticks, avg ")
+			.append(ticksMeasured == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalDriftNanos / ticksMeasured)).append("us, max ")
+			.append(TimeUnit.NANOSECONDS.toMicros(maxDriftNanos)).append("us").append(newLine);
+		for (int i = 0; i < driftBuckets.length; i++) {
+			if (i < DRIFT_BUCKET_BOUNDS.length) {
+				s.append("<").append(DRIFT_BUCKET_BOUNDS[i]);
+			} else {
+				s.append(">=").append(DRIFT_BUCKET_BOUNDS[i - 1]);
+			}
+			s.append("us: ").append(driftBuckets[i]);
+			s.append(i + 1 < driftBuckets.length ? ", " : newLine);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * @return The deadline, in wall clock milliseconds, of the tick or walking sub-tick currently being processed.
+	 */
+	public long getMovementTimestamp() {
+		return movementTimestamp;
+	}
+
+	public final boolean isRunning() {
+		return running;
+	}
+
+	public final Server getServer() {
+		return server;
+	}
+}
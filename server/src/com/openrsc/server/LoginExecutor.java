@@ -1,25 +1,73 @@
 package com.openrsc.server;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.openrsc.server.login.BankPinChangeRequest;
+import com.openrsc.server.login.BankPinVerifyRequest;
+import com.openrsc.server.login.CharacterCreateRequest;
 import com.openrsc.server.login.LoginExecutorProcess;
+import com.openrsc.server.login.LoginRequest;
+import com.openrsc.server.login.PasswordChangeRequest;
+import com.openrsc.server.login.PlayerRemoveRequest;
+import com.openrsc.server.login.PlayerSaveRequest;
+import com.openrsc.server.login.RecoveryAttemptRequest;
+import com.openrsc.server.login.RecoveryChangeRequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
-public class LoginExecutor implements Runnable {
+/**
+ * Runs login requests and player saves off the game thread.
+ *
+ * Authentication work (logins, registrations, password, recovery and bank pin changes) runs on login_threads workers,
+ * which take turns between client addresses so one address flooding logins cannot hold up everyone else. An address's
+ * requests run one at a time in the order they arrived, as they did on the old single login thread, and requests for
+ * the same username from different addresses never run at the same time either.
+ *
+ * Saves and removals run on persistence_threads single threaded lanes picked by player, so a player's saves are
+ * written in order and the removal after a logout save runs after it. Until that removal the player is still in the
+ * world, so their next login is refused and can never load data older than their last save.
+ */
+public class LoginExecutor {
 	/**
 	 * The asynchronous logger.
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
-	private ScheduledExecutorService scheduledExecutor;
+	private static final int USERNAME_LOCK_STRIPES = 64;
 
-	private final Queue<LoginExecutorProcess> requests;
+	private static final long PERSISTENCE_RETRY_MILLIS = 500;
+
+	private static final long MAX_PERSISTENCE_RETRY_MILLIS = 30000;
+
+	private final FairRequestQueue requests;
+
+	private final Object[] usernameLocks;
+
+	private final QueueMetrics authenticationMetrics;
+
+	private final QueueMetrics persistenceMetrics;
+
+	private ExecutorService authenticationWorkers;
+
+	/**
+	 * Single threaded lanes that write player saves. A player's saves always go to the same lane, so they are written
+	 * in order, while different players are saved in parallel.
+	 */
+	private ExecutorService[] persistenceLanes;
+
+	private final int workerCount;
+
+	private final int laneCount;
 
 	private volatile Boolean running;
 
@@ -31,54 +79,221 @@ public class LoginExecutor implements Runnable {
 	public LoginExecutor(final Server server) {
 		this.server = server;
 		this.running = false;
-		this.requests = new ConcurrentLinkedQueue<>();
+		this.requests = new FairRequestQueue();
+		this.usernameLocks = new Object[USERNAME_LOCK_STRIPES];
+		for (int i = 0; i < USERNAME_LOCK_STRIPES; i++) {
+			usernameLocks[i] = new Object();
+		}
+		this.authenticationMetrics = new QueueMetrics();
+		this.persistenceMetrics = new QueueMetrics();
+		this.workerCount = getServer().getConfig().LOGIN_THREADS > 0 ? getServer().getConfig().LOGIN_THREADS : Runtime.getRuntime().availableProcessors();
+		this.laneCount = Math.max(1, getServer().getConfig().PERSISTENCE_THREADS);
+	}
+
+	/**
+	 * @return The number of threads that each bind a pooled database connection while they run.
+	 */
+	public int getDatabaseThreadCount() {
+		return workerCount + laneCount;
 	}
 
 	public void add(final LoginExecutorProcess request) {
-		requests.add(request);
+		final long queuedAt = System.nanoTime();
+		final ExecutorService[] lanes = persistenceLanes;
+		if (request instanceof PlayerSaveRequest || request instanceof PlayerRemoveRequest) {
+			if (lanes == null) {
+				LOGGER.error("Dropped " + request.getClass().getSimpleName() + " while the login executor is stopped");
+				return;
+			}
+			// The removal that follows a logout save is only queued once the save succeeded, so it stays ordered after it.
+			final int playerId = request instanceof PlayerSaveRequest
+				? ((PlayerSaveRequest) request).getPlayer().getDatabaseID()
+				: ((PlayerRemoveRequest) request).getPlayer().getDatabaseID();
+			persistenceMetrics.queued();
+			lanes[Math.floorMod(playerId, lanes.length)].execute(() -> processPersistence(request, queuedAt));
+			return;
+		}
+		authenticationMetrics.queued();
+		final String address = addressOf(request);
+		requests.add(address, new QueuedRequest(request, address, queuedAt));
+	}
+
+	private void processPersistence(final LoginExecutorProcess request, final long queuedAt) {
+		persistenceMetrics.started(queuedAt);
+		bindPersistenceConnection(request);
+		try {
+			request.process();
+		} catch (final Throwable e) {
+			LOGGER.catching(e);
+		} finally {
+			getServer().getDatabase().unbindThreadConnection();
+		}
+	}
+
+	/**
+	 * Saves are never dropped, so the lane keeps trying to bind a connection until it gets one. Waiting on the lane
+	 * keeps the player's later saves and removal behind this one.
+	 */
+	private void bindPersistenceConnection(final LoginExecutorProcess request) {
+		boolean interrupted = false;
+		long backoffMillis = PERSISTENCE_RETRY_MILLIS;
+		while (!getServer().getDatabase().bindThreadConnection()) {
+			// bind gives up straight away while interrupted, so the interrupt is held back until a connection is bound.
+			interrupted |= Thread.interrupted();
+			LOGGER.error("No database connection for " + request.getClass().getSimpleName() + ", retrying in " + backoffMillis + "ms");
+			try {
+				Thread.sleep(backoffMillis);
+			} catch (final InterruptedException e) {
+				interrupted = true;
+			}
+			backoffMillis = Math.min(backoffMillis * 2, MAX_PERSISTENCE_RETRY_MILLIS);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	@Override
-	public void run() {
-		synchronized(running) {
+	/**
+	 * Takes authentication requests as they arrive until the worker is interrupted.
+	 */
+	private void processAuthentication() {
+		while (!Thread.currentThread().isInterrupted()) {
+			final QueuedRequest queued;
+			try {
+				queued = requests.take();
+			} catch (final InterruptedException e) {
+				return;
+			}
+			authenticationMetrics.started(queued.queuedAt);
 			try {
-				// Save requests should be run BEFORE logout requests or else we get duplication glitch because a user can login before they've saved, but after they've logged out.
-				// See Player.logout, save requests are added first before removal so we are good.
-				LoginExecutorProcess request;
-				while ((request = requests.poll()) != null) {
+				process(queued.request);
+			} finally {
+				requests.finished(queued.address);
+			}
+		}
+	}
+
+	private void process(final LoginExecutorProcess request) {
+		if (!getServer().getDatabase().bindThreadConnection()) {
+			LOGGER.error("Dropped " + request.getClass().getSimpleName() + " as no database connection could be bound");
+			return;
+		}
+		try {
+			final String username = usernameOf(request);
+			if (username == null) {
+				request.process();
+			} else {
+				synchronized (usernameLocks[Math.floorMod(username.toLowerCase().hashCode(), USERNAME_LOCK_STRIPES)]) {
 					request.process();
 				}
-			} catch (final Throwable e) {
-				LOGGER.catching(e);
 			}
+		} catch (final Throwable e) {
+			LOGGER.catching(e);
+		} finally {
+			getServer().getDatabase().unbindThreadConnection();
+		}
+	}
+
+	private static String usernameOf(final LoginExecutorProcess request) {
+		if (request instanceof LoginRequest) {
+			return ((LoginRequest) request).getUsername();
+		}
+		if (request instanceof CharacterCreateRequest) {
+			return ((CharacterCreateRequest) request).getUsername();
+		}
+		if (request instanceof RecoveryAttemptRequest) {
+			return ((RecoveryAttemptRequest) request).getUsername();
+		}
+		if (request instanceof PasswordChangeRequest) {
+			return ((PasswordChangeRequest) request).getPlayer().getUsername();
+		}
+		if (request instanceof RecoveryChangeRequest) {
+			return ((RecoveryChangeRequest) request).getPlayer().getUsername();
+		}
+		if (request instanceof BankPinChangeRequest) {
+			return ((BankPinChangeRequest) request).getPlayer().getUsername();
+		}
+		if (request instanceof BankPinVerifyRequest) {
+			return ((BankPinVerifyRequest) request).getPlayer().getUsername();
+		}
+		return null;
+	}
+
+	/**
+	 * @return The client's host without the port channels include in their remote address.
+	 */
+	private static String addressOf(final LoginExecutorProcess request) {
+		final String address = request.getIpAddress();
+		if (address == null) {
+			return "";
+		}
+		if (address.startsWith("/")) {
+			final int portIndex = address.lastIndexOf(':');
+			return portIndex > 0 ? address.substring(1, portIndex) : address.substring(1);
 		}
+		return address;
 	}
 
 	public void start() {
 		synchronized (running) {
-			scheduledExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(getServer().getName()+" : LoginThread").build());
-			scheduledExecutor.scheduleAtFixedRate(this, 0, 50, TimeUnit.MILLISECONDS);
+			authenticationWorkers = Executors.newFixedThreadPool(workerCount, threadFactory(getServer().getName() + " : LoginThread-%d"));
+			for (int i = 0; i < workerCount; i++) {
+				authenticationWorkers.execute(this::processAuthentication);
+			}
+			final ExecutorService[] lanes = new ExecutorService[laneCount];
+			for (int i = 0; i < laneCount; i++) {
+				lanes[i] = Executors.newSingleThreadExecutor(threadFactory(getServer().getName() + " : PersistenceThread-" + i));
+			}
+			persistenceLanes = lanes;
 			running = true;
 		}
 	}
 
+	private static ThreadFactory threadFactory(final String nameFormat) {
+		return new ThreadFactoryBuilder().setNameFormat(nameFormat).build();
+	}
+
 	public void stop() {
 		synchronized (running) {
-			scheduledExecutor.shutdown();
+			authenticationWorkers.shutdownNow();
 			try {
-				final boolean terminationResult = scheduledExecutor.awaitTermination(1, TimeUnit.MINUTES);
+				final boolean terminationResult = authenticationWorkers.awaitTermination(1, TimeUnit.MINUTES);
 				if (!terminationResult) {
 					LOGGER.error("LoginExecutor thread termination failed");
 				}
 			} catch (final InterruptedException e) {
 				LOGGER.catching(e);
 			}
+			stopPersistenceLanes();
 			clearRequests();
-			scheduledExecutor = null;
+			authenticationWorkers = null;
 			running = false;
 		}
 	}
 
+	/**
+	 * Lets the lanes finish the saves already queued on them.
+	 */
+	private void stopPersistenceLanes() {
+		final ExecutorService[] lanes = persistenceLanes;
+		if (lanes == null) {
+			return;
+		}
+		persistenceLanes = null;
+		for (final ExecutorService lane : lanes) {
+			lane.shutdown();
+		}
+		try {
+			for (final ExecutorService lane : lanes) {
+				if (!lane.awaitTermination(1, TimeUnit.MINUTES)) {
+					LOGGER.error("Persistence thread termination failed");
+				}
+			}
+		} catch (final InterruptedException e) {
+			LOGGER.catching(e);
+		}
+	}
+
 	private void clearRequests() {
 		synchronized (running) {
 			requests.clear();
@@ -88,4 +303,122 @@ public class LoginExecutor implements Runnable {
 	public final boolean isRunning() {
 		return running;
 	}
+
+	/**
+	 * @return The number of authentication requests waiting for a worker.
+	 */
+	public int getAuthenticationQueueDepth() {
+		return authenticationMetrics.getDepth();
+	}
+
+	/**
+	 * @return The number of saves and removals waiting on the persistence lanes.
+	 */
+	public int getPersistenceQueueDepth() {
+		return persistenceMetrics.getDepth();
+	}
+
+	/**
+	 * Describes the queue depths and how long requests waited since the last report, then starts a new report.
+	 */
+	public String buildQueueReport(final String newLine) {
+		return "Login Queue: " + authenticationMetrics.report() + newLine
+			+ "Save Queue: " + persistenceMetrics.report() + newLine;
+	}
+
+	private static final class QueuedRequest {
+		private final LoginExecutorProcess request;
+		private final String address;
+		private final long queuedAt;
+
+		private QueuedRequest(final LoginExecutorProcess request, final String address, final long queuedAt) {
+			this.request = request;
+			this.address = address;
+			this.queuedAt = queuedAt;
+		}
+	}
+
+	/**
+	 * Pending requests grouped by client address and handed out round robin between addresses.
+	 * Each address's requests are handed out in the order they were added, and an address is only handed a request
+	 * again once its previous one has finished. An address keeps its entry while its request runs, even when nothing
+	 * else is pending for it, so requests added meanwhile wait for finished.
+	 */
+	private static final class FairRequestQueue {
+		private final Map<String, ArrayDeque<QueuedRequest>> pendingByAddress = new HashMap<>();
+		private final ArrayDeque<String> readyAddresses = new ArrayDeque<>();
+
+		private synchronized void add(final String address, final QueuedRequest request) {
+			ArrayDeque<QueuedRequest> pending = pendingByAddress.get(address);
+			if (pending == null) {
+				pending = new ArrayDeque<>();
+				pendingByAddress.put(address, pending);
+				readyAddresses.add(address);
+			}
+			pending.add(request);
+			notify();
+		}
+
+		private synchronized QueuedRequest take() throws InterruptedException {
+			while (readyAddresses.isEmpty()) {
+				wait();
+			}
+			final String address = readyAddresses.poll();
+			final ArrayDeque<QueuedRequest> pending = pendingByAddress.get(address);
+			return pending.poll();
+		}
+
+		/**
+		 * Makes the address's next request available once the one taken for it has run.
+		 */
+		private synchronized void finished(final String address) {
+			final ArrayDeque<QueuedRequest> pending = pendingByAddress.get(address);
+			if (pending == null) {
+				return;
+			}
+			if (pending.isEmpty()) {
+				pendingByAddress.remove(address);
+			} else {
+				readyAddresses.add(address);
+				notify();
+			}
+		}
+
+		private synchronized void clear() {
+			pendingByAddress.clear();
+			readyAddresses.clear();
+		}
+	}
+
+	private static final class QueueMetrics {
+		private final AtomicInteger depth = new AtomicInteger();
+		private final LongAdder started = new LongAdder();
+		private final LongAdder totalWaitNanos = new LongAdder();
+		private final AtomicLong maxWaitNanos = new AtomicLong();
+
+		private void queued() {
+			depth.incrementAndGet();
+		}
+
+		private void started(final long queuedAt) {
+			final long waited = System.nanoTime() - queuedAt;
+			depth.decrementAndGet();
+			started.increment();
+			totalWaitNanos.add(waited);
+			maxWaitNanos.accumulateAndGet(waited, Math::max);
+		}
+
+		private int getDepth() {
+			return depth.get();
+		}
+
+		private String report() {
+			final long count = started.sumThenReset();
+			final long totalWait = totalWaitNanos.sumThenReset();
+			final long maxWait = maxWaitNanos.getAndSet(0);
+			return depth.get() + " pending, " + count + " run, "
+				+ (count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWait / count)) + "ms avg wait, "
+				+ TimeUnit.NANOSECONDS.toMillis(maxWait) + "ms max wait";
+		}
+	}
 }
@@ -0,0 +1,263 @@
+package com.openrsc.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.openrsc.server.avatargenerator.AvatarGenerator;
+import com.openrsc.server.model.PlayerAppearance;
+import com.openrsc.server.model.entity.player.Player;
+import com.openrsc.server.net.PcapLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Draws avatars and writes packet captures of players who logged out on its own thread, so a mass logout does not
+ * hold up the game thread.
+ *
+ * A player's avatar is drawn once however often they log out while it waits, using their latest appearance, and is
+ * not drawn again while their colours and worn items match the last one drawn. Each packet capture is written, as
+ * every capture is a different session. When export_queue_size exports are waiting, new avatars are dropped and
+ * counted, while new captures are written out on the calling thread.
+ */
+public final class LogoutExporter {
+	/**
+	 * The asynchronous logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final Server server;
+
+	private final LinkedHashMap<Integer, AvatarRender> pendingAvatars = new LinkedHashMap<>();
+	private final ArrayDeque<CaptureExport> pendingCaptures = new ArrayDeque<>();
+
+	/**
+	 * The colours and worn items of the last avatar drawn for each player.
+	 */
+	private final Map<Integer, int[]> drawnAvatars = new ConcurrentHashMap<>();
+
+	private final LongAdder avatarsDrawn = new LongAdder();
+	private final LongAdder avatarsUnchanged = new LongAdder();
+	private final LongAdder capturesWritten = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder totalRenderNanos = new LongAdder();
+	private final AtomicLong maxRenderNanos = new AtomicLong();
+
+	private ExecutorService exportThread;
+	private boolean stopping;
+
+	public LogoutExporter(final Server server) {
+		this.server = server;
+	}
+
+	public final Server getServer() {
+		return server;
+	}
+
+	public synchronized void start() {
+		stopping = false;
+		exportThread = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(getServer().getName() + " : LogoutExportThread").build());
+		exportThread.execute(this::process);
+	}
+
+	/**
+	 * Writes what is still waiting, then stops the export thread.
+	 */
+	public void stop() {
+		final ExecutorService thread;
+		synchronized (this) {
+			if (exportThread == null) {
+				return;
+			}
+			thread = exportThread;
+			stopping = true;
+			notifyAll();
+		}
+		thread.shutdown();
+		try {
+			if (!thread.awaitTermination(1, TimeUnit.MINUTES)) {
+				LOGGER.error("LogoutExporter thread termination failed");
+			}
+		} catch (final InterruptedException e) {
+			LOGGER.catching(e);
+		}
+		synchronized (this) {
+			exportThread = null;
+		}
+	}
+
+	/**
+	 * Queues an avatar of the player as they look now. Called on the game thread.
+	 */
+	public void queueAvatar(final Player player) {
+		final PlayerAppearance appearance = player.getSettings().getAppearance();
+		final AvatarRender render = new AvatarRender(player.getDatabaseID(),
+			new PlayerAppearance(appearance.getHairColour(), appearance.getTopColour(), appearance.getTrouserColour(),
+				appearance.getSkinColour(), appearance.getHead(), appearance.getBody()),
+			player.getWornItems().clone());
+		synchronized (this) {
+			if (exportThread != null && !stopping) {
+				if (!pendingAvatars.containsKey(render.playerId) && isFull()) {
+					dropped.increment();
+					return;
+				}
+				pendingAvatars.put(render.playerId, render);
+				notifyAll();
+				return;
+			}
+		}
+		// Without the export thread the avatar is drawn straight away, as before.
+		draw(render);
+	}
+
+	/**
+	 * Queues the player's session capture to be written out, or writes it out straight away if the queue is full.
+	 */
+	public void queueCapture(final Player player, final PcapLogger capture) {
+		final CaptureExport export = new CaptureExport(player, capture);
+		synchronized (this) {
+			if (exportThread != null && !stopping) {
+				if (!isFull()) {
+					pendingCaptures.add(export);
+					notifyAll();
+					return;
+				}
+			}
+		}
+		// Captures are never dropped, as only writing them out flushes the end of the session and closes the file.
+		// When the queue is full it is written here instead, which is cheap as only its last buffered records are left.
+		write(export);
+	}
+
+	private boolean isFull() {
+		return pendingAvatars.size() + pendingCaptures.size() >= Math.max(1, getServer().getConfig().EXPORT_QUEUE_SIZE);
+	}
+
+	private void process() {
+		while (true) {
+			final Object export;
+			synchronized (this) {
+				while (pendingCaptures.isEmpty() && pendingAvatars.isEmpty() && !stopping) {
+					try {
+						wait();
+					} catch (final InterruptedException e) {
+						return;
+					}
+				}
+				if (!pendingCaptures.isEmpty()) {
+					export = pendingCaptures.poll();
+				} else if (!pendingAvatars.isEmpty()) {
+					final Iterator<AvatarRender> oldest = pendingAvatars.values().iterator();
+					export = oldest.next();
+					oldest.remove();
+				} else {
+					return;
+				}
+			}
+			try {
+				if (export instanceof CaptureExport) {
+					write((CaptureExport) export);
+				} else {
+					draw((AvatarRender) export);
+				}
+			} catch (final Throwable e) {
+				LOGGER.catching(e);
+			}
+		}
+	}
+
+	private void draw(final AvatarRender render) {
+		final AvatarGenerator generator = getServer().getWorld().getAvatarGenerator();
+		if (generator == null) {
+			return;
+		}
+		final int[] look = render.look();
+		if (Arrays.equals(drawnAvatars.get(render.playerId), look)) {
+			avatarsUnchanged.increment();
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			generator.generateAvatar(render.playerId, render.appearance, render.wornItems);
+		} catch (final Exception e) {
+			LOGGER.catching(e);
+			return;
+		}
+		final long took = System.nanoTime() - start;
+		drawnAvatars.put(render.playerId, look);
+		avatarsDrawn.increment();
+		totalRenderNanos.add(took);
+		maxRenderNanos.accumulateAndGet(took, Math::max);
+	}
+
+	private void write(final CaptureExport export) {
+		export.capture.exportPCAP(export.player);
+		capturesWritten.increment();
+		LOGGER.info("Wrote out pcap for " + export.player.getUsername() + " at " + export.capture.fname);
+	}
+
+	/**
+	 * @return The number of exports waiting to be written.
+	 */
+	public synchronized int getQueueDepth() {
+		return pendingAvatars.size() + pendingCaptures.size();
+	}
+
+	/**
+	 * Describes the queue depth and the exports written since the last report, then starts a new report.
+	 */
+	public String buildQueueReport(final String newLine) {
+		final long drawn = avatarsDrawn.sumThenReset();
+		final long renderNanos = totalRenderNanos.sumThenReset();
+		return "Logout Exports: " + getQueueDepth() + " pending, "
+			+ drawn + " avatars drawn ("
+			+ (drawn == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(renderNanos / drawn)) + "ms avg, "
+			+ TimeUnit.NANOSECONDS.toMillis(maxRenderNanos.getAndSet(0)) + "ms max), "
+			+ avatarsUnchanged.sumThenReset() + " unchanged, "
+			+ capturesWritten.sumThenReset() + " pcaps written, "
+			+ dropped.sumThenReset() + " dropped" + newLine;
+	}
+
+	private static final class AvatarRender {
+		private final int playerId;
+		private final PlayerAppearance appearance;
+		private final int[] wornItems;
+
+		private AvatarRender(final int playerId, final PlayerAppearance appearance, final int[] wornItems) {
+			this.playerId = playerId;
+			this.appearance = appearance;
+			this.wornItems = wornItems;
+		}
+
+		/**
+		 * @return Everything the avatar is drawn from.
+		 */
+		private int[] look() {
+			final int[] look = Arrays.copyOf(wornItems, wornItems.length + 4);
+			look[wornItems.length] = appearance.getHairColour();
+			look[wornItems.length + 1] = appearance.getTopColour();
+			look[wornItems.length + 2] = appearance.getTrouserColour();
+			look[wornItems.length + 3] = appearance.getSkinColour();
+			return look;
+		}
+	}
+
+	private static final class CaptureExport {
+		private final Player player;
+		private final PcapLogger capture;
+
+		private CaptureExport(final Player player, final PcapLogger capture) {
+			this.player = player;
+			this.capture = capture;
+		}
+	}
+}
@@ -26,6 +26,7 @@ import io.netty.channel.*;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.ResourceLeakDetector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -36,6 +37,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.logging.log4j.util.Unbox.box;
 
@@ -52,8 +54,10 @@ public class Server implements Runnable {
 	private final GameEventHandler gameEventHandler;
 	private final DiscordService discordService;
 	private final LoginExecutor loginExecutor;
+	private final LogoutExporter logoutExporter;
 	private final ServerConfiguration config;
 	private ScheduledExecutorService scheduledExecutor;
+	private volatile GameTickClock tickClock;
 	private final PluginHandler pluginHandler;
 	private final CombatScriptLoader combatScriptLoader;
 	private final EntityHandler entityHandler;
@@ -72,6 +76,16 @@ public class Server implements Runnable {
 	private EventLoopGroup bossGroup;
 
 	private volatile Boolean running = false;
+
+	/**
+	 * Held while the {@link GameTickClock} runs a tick or walking sub tick.
+	 */
+	private final Object tickLock = new Object();
+
+	/**
+	 * The thread ticks run on while the server is running.
+	 */
+	private volatile Thread gameThread;
 	private boolean restarting = false;
 	private boolean shuttingDown = false;
 
@@ -87,9 +101,16 @@ public class Server implements Runnable {
 	private final HashMap<Integer, Integer> incomingCountPerPacketOpcode = new HashMap<>();
 	private final HashMap<Integer, Long> outgoingTimePerPacketOpcode = new HashMap<>();
 	private final HashMap<Integer, Integer> outgoingCountPerPacketOpcode = new HashMap<>();
+	private final HashMap<Integer, Long> outgoingBytesPerPacketOpcode = new HashMap<>();
+	private int outgoingFlushCount = 0;
+	private int outgoingFlushPackets = 0;
+	private long outgoingFlushBytes = 0;
 	private int privateMessagesSent = 0;
 
-	private volatile int maxItemId;
+	/**
+	 * The highest item ID handed out, starting from the highest one saved.
+	 */
+	private final AtomicInteger maxItemId = new AtomicInteger();
 
 	static {
 		try {
@@ -201,14 +222,13 @@ public class Server implements Runnable {
 		final boolean wantDiscordMonitoringUpdates = getConfig().WANT_DISCORD_MONITORING_UPDATES;
 		discordService = wantDiscordBot || wantDiscordAuctionUpdates || wantDiscordMonitoringUpdates ? new DiscordService(this) : null;
 		loginExecutor = new LoginExecutor(this);
+		logoutExporter = new LogoutExporter(this);
 		world = new World(this);
 		gameEventHandler = new GameEventHandler(this);
 		gameUpdater = new GameStateUpdater(this);
 		gameLogger = new MySqlGameLogger(this, (MySqlGameDatabase)database);
 		entityHandler = new EntityHandler(this);
 		achievementSystem = new AchievementSystem(this);
-
-		maxItemId = 0;
 	}
 
 	public void checkShutdown() {
@@ -230,7 +250,10 @@ public class Server implements Runnable {
 				}
 
 				scheduledExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(getName() + " : GameThread").build());
-				scheduledExecutor.scheduleAtFixedRate(this, 0, 10, TimeUnit.MILLISECONDS);
+				scheduledExecutor.execute(() -> gameThread = Thread.currentThread());
+				if (!getConfig().WANT_PRECISE_TICK_CLOCK) {
+					scheduledExecutor.scheduleAtFixedRate(this, 0, 10, TimeUnit.MILLISECONDS);
+				}
 
 				// Do not allow two servers to be started with the same name
 				// We will bypass that if we are restarting because we never removed this server from the list.
@@ -291,6 +314,10 @@ public class Server implements Runnable {
 				getLoginExecutor().start();
 				LOGGER.info("LoginExecutor Completed");
 
+				LOGGER.info("Loading LogoutExporter...");
+				getLogoutExporter().start();
+				LOGGER.info("LogoutExporter Completed");
+
 				if (getDiscordService() != null) {
 					LOGGER.info("Loading DiscordService...");
 					getDiscordService().start();
@@ -307,9 +334,10 @@ public class Server implements Runnable {
 
                 Crypto.init();
 
-				maxItemId = getDatabase().getMaxItemID();
-				LOGGER.info("Set max item ID to : " + maxItemId);
+				maxItemId.set(getDatabase().getMaxItemID());
+				LOGGER.info("Set max item ID to : " + maxItemId.get());
 
+				ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.valueOf(getConfig().NETWORK_LEAK_DETECTION.toUpperCase()));
 				bossGroup = new NioEventLoopGroup(0, new NamedThreadFactory(getName() + " : IOBossThread"));
 				workerGroup = new NioEventLoopGroup(0, new NamedThreadFactory(getName() + " : IOWorkerThread"));
 				final ServerBootstrap bootstrap = new ServerBootstrap();
@@ -348,6 +376,12 @@ public class Server implements Runnable {
 
 				lastTickTimestamp = serverStartedTime = System.currentTimeMillis();
 				running = true;
+
+				// The precise clock owns the game thread for as long as the server runs, so it is only started once the world is online.
+				if (getConfig().WANT_PRECISE_TICK_CLOCK) {
+					tickClock = new GameTickClock(this);
+					scheduledExecutor.execute(tickClock);
+				}
 			} catch (final Throwable t) {
 				LOGGER.catching(t);
 				System.exit(1);
@@ -362,12 +396,17 @@ public class Server implements Runnable {
 					return;
 				}
 
+				if (tickClock != null) {
+					tickClock.stop();
+				}
 				scheduledExecutor.shutdown();
 				final boolean terminationResult = scheduledExecutor.awaitTermination(1, TimeUnit.MINUTES);
 				if (!terminationResult) {
 					throw new Exception("Server thread termination failed");
 				}
+				gameThread = null;
 				getLoginExecutor().stop();
+				getLogoutExporter().stop();
 				if (getDiscordService() != null) {
 					getDiscordService().stop();
 				}
@@ -390,8 +429,9 @@ public class Server implements Runnable {
 				bossGroup = null;
 				workerGroup = null;
 				scheduledExecutor = null;
+				tickClock = null;
 
-				maxItemId = 0;
+				maxItemId.set(0);
 				serverStartedTime = 0;
 				lastIncomingPacketsDuration = 0;
 				lastGameStateDuration = 0;
@@ -404,6 +444,10 @@ public class Server implements Runnable {
 				incomingCountPerPacketOpcode.clear();
 				outgoingTimePerPacketOpcode.clear();
 				outgoingCountPerPacketOpcode.clear();
+				outgoingBytesPerPacketOpcode.clear();
+				outgoingFlushCount = 0;
+				outgoingFlushPackets = 0;
+				outgoingFlushBytes = 0;
 
 				// Don't remove this server from the active servers list if we are just restarting.
 				if (!isRestarting()) {
@@ -433,41 +477,10 @@ public class Server implements Runnable {
 				if (getTimeLate() >= getConfig().GAME_TICK) {
 					this.timeLate -= getConfig().GAME_TICK;
 
-					// Doing the set in two stages here such that the whole tick has access to the same values for profiling information.
-					this.lastTickDuration = bench(() -> {
-						try {
-							this.lastIncomingPacketsDuration = processIncomingPackets();
-							this.lastEventsDuration = getGameEventHandler().runGameEvents();
-							this.lastGameStateDuration = getGameUpdater().doUpdates();
-							this.lastOutgoingPacketsDuration = processOutgoingPackets();
-						} catch (final Throwable t) {
-							LOGGER.catching(t);
-						}
-					});
-
-					monitorTickPerformance();
-
-					// Set us to be in the next tick.
-					this.lastTickTimestamp += getConfig().GAME_TICK;
-
-					// Clear out the outgoing and incoming packet processing time frames
-					incomingTimePerPacketOpcode.clear();
-					incomingCountPerPacketOpcode.clear();
-					outgoingTimePerPacketOpcode.clear();
-					outgoingCountPerPacketOpcode.clear();
-
-					//LOGGER.info("Tick " + getCurrentTick() + " processed.");
+					processTick();
 				} else {
 					if (getConfig().WANT_CUSTOM_WALK_SPEED) {
-						for (final Player p : getWorld().getPlayers()) {
-							p.updatePosition();
-						}
-
-						for (final Npc n : getWorld().getNpcs()) {
-							n.updatePosition();
-						}
-
-						getGameUpdater().executeWalkToActions();
+						processWalkSubTick();
 					}
 				}
 			} catch (final Throwable t) {
@@ -476,6 +489,81 @@ public class Server implements Runnable {
 		}
 	}
 
+	/**
+	 * Called by the {@link GameTickClock} once the deadline of the next tick has been reached.
+	 *
+	 * @param timeLate How many milliseconds after its deadline the tick is starting.
+	 */
+	void runTick(final long timeLate) {
+		synchronized (tickLock) {
+			try {
+				this.timeLate = timeLate;
+				processTick();
+			} catch (final Throwable t) {
+				LOGGER.catching(t);
+			}
+		}
+	}
+
+	/**
+	 * Called by the {@link GameTickClock} on each walking deadline between two ticks.
+	 */
+	void runWalkSubTick() {
+		synchronized (tickLock) {
+			try {
+				processWalkSubTick();
+			} catch (final Throwable t) {
+				LOGGER.catching(t);
+			}
+		}
+	}
+
+	private void processTick() {
+		// Doing the set in two stages here such that the whole tick has access to the same values for profiling information.
+		this.lastTickDuration = bench(() -> {
+			try {
+				this.lastIncomingPacketsDuration = processIncomingPackets();
+				this.lastEventsDuration = getGameEventHandler().runGameEvents();
+				this.lastGameStateDuration = getGameUpdater().doUpdates();
+				this.lastOutgoingPacketsDuration = processOutgoingPackets();
+			} catch (final Throwable t) {
+				LOGGER.catching(t);
+			}
+		});
+
+		monitorTickPerformance();
+
+		// Set us to be in the next tick.
+		this.lastTickTimestamp += getConfig().GAME_TICK;
+
+		// Clear out the outgoing and incoming packet processing time frames
+		incomingTimePerPacketOpcode.clear();
+		incomingCountPerPacketOpcode.clear();
+		outgoingTimePerPacketOpcode.clear();
+		outgoingCountPerPacketOpcode.clear();
+		outgoingBytesPerPacketOpcode.clear();
+		outgoingFlushCount = 0;
+		outgoingFlushPackets = 0;
+		outgoingFlushBytes = 0;
+
+		//LOGGER.info("Tick " + getCurrentTick() + " processed.");
+	}
+
+	private void processWalkSubTick() {
+		for (final Player p : getWorld().getPlayers()) {
+			p.updatePosition();
+		}
+
+		getWorld().getRegionManager().markObservedRegions(getWorld().getPlayers());
+		for (final Npc n : getWorld().getNpcs()) {
+			if (!n.isDormant()) {
+				n.updatePosition();
+			}
+		}
+
+		getGameUpdater().executeWalkToActions();
+	}
+
 	private long processIncomingPackets() {
 		return bench(() -> {
 			for (final Player player : getWorld().getPlayers()) {
@@ -608,6 +696,10 @@ public class Server implements Runnable {
 		return loginExecutor;
 	}
 
+	public final LogoutExporter getLogoutExporter() {
+		return logoutExporter;
+	}
+
 	public final RSCPacketFilter getPacketFilter() {
 		return packetFilter;
 	}
@@ -628,6 +720,18 @@ public class Server implements Runnable {
 		return serverStartedTime;
 	}
 
+	/**
+	 * @return The time walking is measured against. With the precise tick clock this is the deadline being processed, so that steps are not lost to clock jitter.
+	 */
+	public final long getMovementTimestamp() {
+		final GameTickClock clock = tickClock;
+		return clock != null ? clock.getMovementTimestamp() : System.currentTimeMillis();
+	}
+
+	public final GameTickClock getTickClock() {
+		return tickClock;
+	}
+
 	public final long getCurrentTick() {
 		return (lastTickTimestamp - getServerStartedTime()) / getConfig().GAME_TICK;
 	}
@@ -644,6 +748,14 @@ public class Server implements Runnable {
 		return running;
 	}
 
+	/**
+	 * @return Whether ticks are running on a thread other than the calling one, so game state must be read between ticks.
+	 */
+	public final boolean isOffGameThread() {
+		final Thread thread = gameThread;
+		return thread != null && thread != Thread.currentThread();
+	}
+
 	public final Constants getConstants() {
 		return constants;
 	}
@@ -704,6 +816,22 @@ public class Server implements Runnable {
 		return outgoingCountPerPacketOpcode;
 	}
 
+	public HashMap<Integer, Long> getOutgoingBytesPerPacketOpcode() {
+		return outgoingBytesPerPacketOpcode;
+	}
+
+	public int getOutgoingFlushCount() {
+		return outgoingFlushCount;
+	}
+
+	public int getOutgoingFlushPackets() {
+		return outgoingFlushPackets;
+	}
+
+	public long getOutgoingFlushBytes() {
+		return outgoingFlushBytes;
+	}
+
 	public void addIncomingPacketDuration(final int packetOpcode, final long additionalTime) {
 		if (!incomingTimePerPacketOpcode.containsKey(packetOpcode)) {
 			incomingTimePerPacketOpcode.put(packetOpcode, 0L);
@@ -732,12 +860,28 @@ public class Server implements Runnable {
 		outgoingCountPerPacketOpcode.put(packetOpcode, outgoingCountPerPacketOpcode.get(packetOpcode) + 1);
 	}
 
-	public synchronized int getMaxItemID() {
-		return maxItemId;
+	public void addOutgoingPacketBytes(final int packetOpcode, final long bytes) {
+		if (!outgoingBytesPerPacketOpcode.containsKey(packetOpcode)) {
+			outgoingBytesPerPacketOpcode.put(packetOpcode, 0L);
+		}
+		outgoingBytesPerPacketOpcode.put(packetOpcode, outgoingBytesPerPacketOpcode.get(packetOpcode) + bytes);
+	}
+
+	/**
+	 * Records one per-player flush of the packets written during a tick.
+	 */
+	public void recordOutgoingFlush(final int packets, final long bytes) {
+		outgoingFlushCount++;
+		outgoingFlushPackets += packets;
+		outgoingFlushBytes += bytes;
+	}
+
+	public int getMaxItemID() {
+		return maxItemId.get();
 	}
 
-	public synchronized int incrementMaxItemID() {
-		return ++maxItemId;
+	public int incrementMaxItemID() {
+		return maxItemId.incrementAndGet();
 	}
 
 	public synchronized int incrementPrivateMessagesSent() {
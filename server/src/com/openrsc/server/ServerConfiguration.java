@@ -25,6 +25,8 @@ public class ServerConfiguration {
 
 	public int GAME_TICK = 640;
 	public int WALKING_TICK = 640;
+	public boolean WANT_PRECISE_TICK_CLOCK;
+	public int TICK_CLOCK_SPIN_MICROS;
 
 	public String SERVER_NAME;
 	public String SERVER_NAME_WELCOME;
@@ -39,6 +41,10 @@ public class ServerConfiguration {
 	int SERVER_PORT;
 	int IDLE_TIMER;
 	int AUTO_SAVE;
+	public int FULL_SAVE_INTERVAL;
+	public int SNAPSHOT_CAPACITY;
+	public int SNAPSHOT_MAX_AGE_MINUTES;
+	public boolean SNAPSHOT_ARCHIVE;
 	private String SERVER_LOCATION;
 	private String HMAC_PRIVATE_KEY;
 	public int AGGRO_RANGE;
@@ -48,6 +54,10 @@ public class ServerConfiguration {
 	public String DB_USER;
 	public String DB_PASS;
 	public String DB_TABLE_PREFIX;
+	public int DB_POOL_SIZE;
+	public int PERSISTENCE_THREADS;
+	public int LOGIN_THREADS;
+	public int GAME_LOG_QUEUE_SIZE;
 	public int PLAYER_LEVEL_LIMIT;
 	public double COMBAT_EXP_RATE;
 	public double SKILLING_EXP_RATE;
@@ -65,12 +75,17 @@ public class ServerConfiguration {
 	public int NETWORK_FLOOD_IP_BAN_MINUTES;
 	private int SUSPICIOUS_PLAYER_IP_BAN_MINUTES;
 	public boolean WANT_PCAP_LOGGING;
+	public int PCAP_MAX_FILE_MB;
+	public String NETWORK_LEAK_DETECTION;
+	public String PLUGIN_EXECUTOR;
+	public boolean PARALLEL_CLIENT_UPDATES;
 
 	// Location of the server conf files.
 	public String CONFIG_DIR = "conf" + File.separator + "server";
 
 	private long START_TIME;
 	public boolean AVATAR_GENERATOR; // Not sent to client
+	public int EXPORT_QUEUE_SIZE;
 	public boolean IS_DOUBLE_EXP;
 	public boolean DISPLAY_LOGO_SPRITE;
 	public boolean SPAWN_AUCTION_NPCS;
@@ -160,8 +175,11 @@ public class ServerConfiguration {
 	public boolean WANT_NEW_RARE_DROP_TABLES;
 	public boolean WANT_LEFTCLICK_WEBS;
 	public boolean WANT_CUSTOM_WALK_SPEED;
+	public boolean WANT_DORMANT_NPCS;
 	public int MAX_TICKS_UNTIL_FULL_WALKING_SPEED;
 	public boolean WANT_IMPROVED_PATHFINDING;
+	public boolean CHECK_NPC_OCCUPANCY;
+	public boolean CHECK_PATH_CACHE;
 	//strict check on level requirements for "glitched" validations on rsc
 	public boolean STRICT_CHECK_ALL;
 	public boolean STRICT_PDART_CHECK;
@@ -259,6 +277,10 @@ public class ServerConfiguration {
 		DB_USER = tryReadString("db_user").orElse("root");
 		DB_PASS = tryReadString("db_pass").orElse("root");
 		DB_TABLE_PREFIX = tryReadString("db_table_prefix").orElse("");
+		DB_POOL_SIZE = tryReadInt("db_pool_size").orElse(0);
+		PERSISTENCE_THREADS = tryReadInt("persistence_threads").orElse(4);
+		LOGIN_THREADS = tryReadInt("login_threads").orElse(0);
+		GAME_LOG_QUEUE_SIZE = tryReadInt("game_log_queue_size").orElse(10000);
 
 		// Discord settings
 		DISCORD_AUCTION_WEBHOOK_URL = tryReadString("discord_auction_webhook_url").orElse("null");
@@ -277,8 +299,15 @@ public class ServerConfiguration {
 		GAME_TICK = tryReadInt("game_tick").orElse(640);
 		WALKING_TICK = tryReadInt("walking_tick").orElse(640);
 		WANT_CUSTOM_WALK_SPEED = tryReadBool("want_custom_walking_speed").orElse(false);
+		WANT_PRECISE_TICK_CLOCK = tryReadBool("want_precise_tick_clock").orElse(false);
+		TICK_CLOCK_SPIN_MICROS = tryReadInt("tick_clock_spin_micros").orElse(300);
+		WANT_DORMANT_NPCS = tryReadBool("want_dormant_npcs").orElse(true);
 		IDLE_TIMER = tryReadInt("idle_timer").orElse(300000); // 5 minutes
 		AUTO_SAVE = tryReadInt("auto_save").orElse(30000); // 30 seconds
+		FULL_SAVE_INTERVAL = tryReadInt("full_save_interval").orElse(10);
+		SNAPSHOT_CAPACITY = tryReadInt("snapshot_capacity").orElse(10000);
+		SNAPSHOT_MAX_AGE_MINUTES = tryReadInt("snapshot_max_age_minutes").orElse(10);
+		SNAPSHOT_ARCHIVE = tryReadBool("snapshot_archive").orElse(false);
 		CLIENT_VERSION = tryReadInt("client_version").orElse(6);
 		SERVER_PORT = tryReadInt("server_port").orElse(43594);
 		MAX_CONNECTIONS_PER_IP = tryReadInt("max_connections_per_ip").orElse(10);
@@ -292,8 +321,13 @@ public class ServerConfiguration {
 		MAX_PLAYERS = tryReadInt("max_players").orElse(100);
 		MAX_PLAYERS_PER_IP = tryReadInt("max_players_per_ip").orElse(10);
 		AVATAR_GENERATOR = tryReadBool("avatar_generator").orElse(false);
+		EXPORT_QUEUE_SIZE = tryReadInt("export_queue_size").orElse(1000);
 		MEMBER_WORLD = tryReadBool("member_world").orElse(true);
 		WANT_PCAP_LOGGING = tryReadBool("want_pcap_logging").orElse(true);
+		PCAP_MAX_FILE_MB = tryReadInt("pcap_max_file_mb").orElse(64);
+		NETWORK_LEAK_DETECTION = tryReadString("network_leak_detection").orElse("simple");
+		PLUGIN_EXECUTOR = tryReadString("plugin_executor").orElse("platform");
+		PARALLEL_CLIENT_UPDATES = tryReadBool("parallel_client_updates").orElse(false);
 		WORLD_NUMBER = tryReadInt("world_number").orElse(1);
 		PLAYER_LEVEL_LIMIT = tryReadInt("player_level_limit").orElse(99);
 		COMBAT_EXP_RATE = tryReadDouble("combat_exp_rate").orElse(1.0);
@@ -394,6 +428,8 @@ public class ServerConfiguration {
 		WANT_NEW_RARE_DROP_TABLES = tryReadBool("want_new_rare_drop_tables").orElse(false);
 		WANT_LEFTCLICK_WEBS = tryReadBool("want_leftclick_webs").orElse(false);
 		WANT_IMPROVED_PATHFINDING = tryReadBool("want_improved_pathfinding").orElse(false);
+		CHECK_NPC_OCCUPANCY = tryReadBool("check_npc_occupancy").orElse(false);
+		CHECK_PATH_CACHE = tryReadBool("check_path_cache").orElse(false);
 		CAN_USE_CRACKER_ON_SELF = tryReadBool("can_use_cracker_on_self").orElse(false);
 		FIX_OVERHEAD_CHAT = tryReadBool("fix_overhead_chat").orElse(false);
 		WANT_CUSTOM_LEATHER = tryReadBool("want_custom_leather").orElse(false);
@@ -0,0 +1,93 @@
+package com.openrsc.server;
+
+import com.openrsc.server.model.entity.player.Player;
+import com.openrsc.server.net.PacketBuilder;
+import io.netty.buffer.ByteBufUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Player update blocks that read the same for every observer using the same client, encoded once and copied into each observer's packet.
+ *
+ * Blocks are only kept while GameStateUpdater builds view updates, when the players they describe cannot change.
+ * Outside of that, blocks are encoded straight into the packet.
+ */
+final class UpdateBlockCache {
+	private static final int APPEARANCE = 0;
+	private static final int CHAT = 1;
+
+	private final ConcurrentHashMap<Long, byte[]> blocks = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private volatile boolean active = false;
+	private long lastHits = 0;
+	private long lastMisses = 0;
+
+	void begin() {
+		blocks.clear();
+		hits.reset();
+		misses.reset();
+		active = true;
+	}
+
+	void end() {
+		active = false;
+		blocks.clear();
+		lastHits = hits.sum();
+		lastMisses = misses.sum();
+	}
+
+	/**
+	 * Writes the appearance and identity block of a player.
+	 */
+	void writeAppearance(final PacketBuilder packet, final Player subject, final boolean authentic, final Consumer<PacketBuilder> encoder) {
+		write(packet, APPEARANCE, subject.getIndex(), authentic ? 1 : 0, encoder);
+	}
+
+	/**
+	 * Writes the chat block of a player's chat message.
+	 *
+	 * @param privileged Whether the observer is shown chat that is hidden from other players.
+	 */
+	void writeChat(final PacketBuilder packet, final Player sender, final boolean authentic, final boolean privileged, final Consumer<PacketBuilder> encoder) {
+		write(packet, CHAT, sender.getIndex(), (authentic ? 1 : 0) | (privileged ? 2 : 0), encoder);
+	}
+
+	private void write(final PacketBuilder packet, final int kind, final int index, final int variant, final Consumer<PacketBuilder> encoder) {
+		if (!active) {
+			encoder.accept(packet);
+			return;
+		}
+		final long key = ((long) index << 8) | (kind << 4) | variant;
+		byte[] block = blocks.get(key);
+		if (block == null) {
+			final PacketBuilder builder = new PacketBuilder();
+			encoder.accept(builder);
+			block = ByteBufUtil.getBytes(builder.toPacket().getBuffer());
+			final byte[] existing = blocks.putIfAbsent(key, block);
+			if (existing != null) {
+				block = existing;
+			}
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		packet.write(block);
+	}
+
+	/**
+	 * @return The number of blocks copied from the cache during the last client update.
+	 */
+	long getLastHits() {
+		return lastHits;
+	}
+
+	/**
+	 * @return The number of blocks encoded during the last client update.
+	 */
+	long getLastMisses() {
+		return lastMisses;
+	}
+}
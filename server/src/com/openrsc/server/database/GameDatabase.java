@@ -34,6 +34,11 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	/**
+	 * How often a save that lost a deadlock or lock wait is tried before giving up.
+	 */
+	private static final int SAVE_ATTEMPTS = 3;
+
 	public final Server server;
 	private volatile Boolean open;
 
@@ -42,12 +47,23 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 		open = false;
 	}
 
-	public abstract Set<Integer> getItemIDList();
-
 	protected abstract void openInternal();
 
 	protected abstract void closeInternal();
 
+	/**
+	 * Gives the calling thread a database connection of its own until unbindThreadConnection is called, for threads
+	 * that use the database heavily. Does nothing for databases without a connection pool.
+	 *
+	 * @return false if no connection could be bound, in which case the thread must not use the database.
+	 */
+	public boolean bindThreadConnection() {
+		return true;
+	}
+
+	public void unbindThreadConnection() {
+	}
+
 	protected abstract void startTransaction() throws GameDatabaseException;
 
 	protected abstract void commitTransaction() throws GameDatabaseException;
@@ -74,8 +90,6 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 
 	protected abstract FloorItem[] queryGroundItems() throws GameDatabaseException;
 
-	protected abstract Integer[] queryInUseItemIds() throws GameDatabaseException;
-
 	protected abstract void queryAddDropLog(ItemDrop drop) throws GameDatabaseException;
 
 	protected abstract PlayerLoginData queryPlayerLoginData(String username) throws GameDatabaseException;
@@ -366,39 +380,76 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 	}
 
 	public boolean savePlayer(final Player player) throws GameDatabaseException {
-		try {
-			startTransaction();
-
-			if (!playerExists(player.getDatabaseID())) {
-				LOGGER.error("ERROR SAVING : PLAYER DOES NOT EXIST : " + player.getUsername());
-				return false;
-			}
-
-			savePlayerBankPresets(player);
-			savePlayerInventory(player);
-			savePlayerEquipment(player);
-			querySavePlayerBank(player);
-			//savePlayerAchievements(player);
-			savePlayerQuests(player);
-			savePlayerCastTime(player);
-			savePlayerCache(player);
-			savePlayerNpcKills(player);
-			savePlayerData(player);
-			savePlayerSkills(player);
-			savePlayerSocial(player);
+		return savePlayer(player, false);
+	}
 
-			commitTransaction();
+	public boolean savePlayer(final Player player, final boolean fullSave) throws GameDatabaseException {
+		return savePlayer(createPlayerSave(player), fullSave);
+	}
 
-			return true;
-		} catch (final Exception ex) {
+	/**
+	 * Saves a player, only rewriting the sections that changed since the player's last successful save.
+	 * A section that changed is still rewritten whole, so one withdrawn item rewrites the whole bank.
+	 *
+	 * @param fullSave Rewrite every section, as done on logout.
+	 */
+	public boolean savePlayer(final PlayerSave save, final boolean fullSave) throws GameDatabaseException {
+		final SaveTracker saveTracker = save.saveTracker;
+		saveTracker.begin(fullSave, getServer().getConfig().FULL_SAVE_INTERVAL);
+		// Saves run in parallel and can deadlock on itemstatuses, in which case the whole transaction is run again.
+		for (int attempt = 1; ; attempt++) {
 			try {
-				rollbackTransaction();
+				return savePlayerTransaction(save);
+			} catch (final Exception ex) {
+				saveTracker.rollback();
+				try {
+					rollbackTransaction();
+				} catch (final Exception e) {
+				}
+				if (ex instanceof GameDatabaseException && ((GameDatabaseException) ex).isRetryable() && attempt < SAVE_ATTEMPTS) {
+					LOGGER.warn("Retrying save of " + save.username + " after " + ex.getMessage());
+					try {
+						Thread.sleep(50L * attempt);
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+					continue;
+				}
 				LOGGER.error(ex.getMessage());
-			} catch (final Exception e) {
+				LOGGER.catching(ex);
+				return false;
 			}
-			LOGGER.catching(ex);
+		}
+	}
+
+	private boolean savePlayerTransaction(final PlayerSave save) throws GameDatabaseException {
+		final SaveTracker saveTracker = save.saveTracker;
+		startTransaction();
+
+		if (!playerExists(save.playerId)) {
+			LOGGER.error("ERROR SAVING : PLAYER DOES NOT EXIST : " + save.username);
+			saveTracker.rollback();
+			rollbackTransaction();
 			return false;
 		}
+
+		savePlayerBankPresets(save);
+		savePlayerInventory(save);
+		savePlayerEquipment(save);
+		savePlayerBank(save);
+		//savePlayerAchievements(player);
+		savePlayerQuests(save);
+		savePlayerCache(save);
+		savePlayerNpcKills(save);
+		savePlayerData(save);
+		savePlayerSkills(save);
+		savePlayerSocial(save);
+
+		commitTransaction();
+		saveTracker.commit();
+
+		return true;
 	}
 
 	public boolean playerExists(final int playerId) throws GameDatabaseException {
@@ -489,10 +540,6 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 		return queryGroundItems();
 	}
 
-	public Integer[] getInUseItemIds() throws GameDatabaseException {
-		return queryInUseItemIds();
-	}
-
 	public int itemCreate(final Item item) throws GameDatabaseException {
 		return queryItemCreate(item);
 	}
@@ -949,33 +996,126 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 		player.setLastRecoveryChangeRequest(dateSet);
 	}
 
-	private void savePlayerData(final Player player) throws GameDatabaseException {
-		querySavePlayerData(player);
+	/**
+	 * Copies everything savePlayer writes out of the player. Call this on the game thread, between changes to the player.
+	 */
+	public PlayerSave createPlayerSave(final Player player) throws GameDatabaseException {
+		player.getCache().store("last_spell_cast", player.getCastTimer());
+
+		final PlayerSave save = new PlayerSave();
+		save.playerId = player.getDatabaseID();
+		save.username = player.getUsername();
+		save.saveTracker = player.getSaveTracker();
+		save.data = createPlayerData(player);
+		save.inventory = createPlayerInventory(player);
+		if (getServer().getConfig().WANT_EQUIPMENT_TAB) {
+			save.equipment = createPlayerEquipped(player);
+		}
+		save.bank = createPlayerBank(player);
+		if (getServer().getConfig().WANT_BANK_PRESETS) {
+			save.bankPresets = createPlayerBankPresets(player);
+		}
+		save.friends = createPlayerFriends(player);
+		save.ignores = createPlayerIgnored(player);
+		save.quests = createPlayerQuests(player);
+		save.cache = createPlayerCache(player);
+		if (player.getKillCacheUpdated()) {
+			save.npcKills = createPlayerNpcKills(player);
+			player.setKillCacheUpdated(false);
+		}
+		save.skills = createPlayerSkills(player);
+		save.experience = createPlayerExperience(player);
+		return save;
+	}
+
+	private void savePlayerData(final PlayerSave save) throws GameDatabaseException {
+		querySavePlayerData(save.playerId, save.data);
 	}
 
-	private void savePlayerInventory(final Player player) throws GameDatabaseException {
-		querySavePlayerInventory(player);
+	private void savePlayerInventory(final PlayerSave save) throws GameDatabaseException {
+		final PlayerInventory[] inventory = save.inventory;
+		final int[] snapshot = new int[inventory.length * 6];
+		for (int i = 0; i < inventory.length; i++) {
+			snapshot[i * 6] = inventory[i].itemId;
+			snapshot[i * 6 + 1] = inventory[i].catalogID;
+			snapshot[i * 6 + 2] = inventory[i].amount;
+			snapshot[i * 6 + 3] = inventory[i].noted ? 1 : 0;
+			snapshot[i * 6 + 4] = inventory[i].wielded ? 1 : 0;
+			snapshot[i * 6 + 5] = inventory[i].slot;
+		}
+		if (save.saveTracker.hasChanged("inventory", snapshot)) {
+			querySavePlayerInventory(save.playerId, inventory);
+		}
 	}
 
-	private void savePlayerEquipment(final Player player) throws GameDatabaseException {
-		querySavePlayerEquipped(player);
+	private void savePlayerEquipment(final PlayerSave save) throws GameDatabaseException {
+		final PlayerEquipped[] equippedItems = save.equipment;
+		if (equippedItems == null) {
+			return;
+		}
+		final int[] snapshot = new int[equippedItems.length * 5];
+		for (int i = 0; i < equippedItems.length; i++) {
+			writeItemSnapshot(snapshot, i * 5, equippedItems[i].itemId, equippedItems[i].itemStatus);
+		}
+		if (save.saveTracker.hasChanged("equipment", snapshot)) {
+			querySavePlayerEquipped(save.playerId, equippedItems);
+		}
 	}
 
-	private void savePlayerBank(final Player player) throws GameDatabaseException {
-		querySavePlayerBank(player);
+	private void savePlayerBank(final PlayerSave save) throws GameDatabaseException {
+		final PlayerBank[] bank = save.bank;
+		final int[] snapshot = new int[bank.length * 5];
+		for (int i = 0; i < bank.length; i++) {
+			writeItemSnapshot(snapshot, i * 5, bank[i].itemId, bank[i].itemStatus);
+		}
+		if (save.saveTracker.hasChanged("bank", snapshot)) {
+			querySavePlayerBank(save.playerId, bank);
+		}
 	}
 
-	private void savePlayerBankPresets(final Player player) throws GameDatabaseException {
-		querySavePlayerBankPresets(player);
+	private void savePlayerBankPresets(final PlayerSave save) throws GameDatabaseException {
+		final PlayerBankPreset[] presets = save.bankPresets;
+		if (presets == null || presets.length == 0) {
+			return;
+		}
+		final Object[] snapshot = new Object[presets.length * 2];
+		for (int i = 0; i < presets.length; i++) {
+			snapshot[i * 2] = presets[i].inventory;
+			snapshot[i * 2 + 1] = presets[i].equipment;
+		}
+		if (save.saveTracker.hasChanged("bank_presets", snapshot)) {
+			querySavePlayerBankPresets(save.playerId, presets);
+		}
 	}
 
-	private void savePlayerSocial(final Player player) throws GameDatabaseException {
-		querySavePlayerFriends(player);
-		querySavePlayerIgnored(player);
+	private void savePlayerSocial(final PlayerSave save) throws GameDatabaseException {
+		final long[] friendSnapshot = new long[save.friends.length];
+		for (int i = 0; i < save.friends.length; i++) {
+			friendSnapshot[i] = save.friends[i].playerHash;
+		}
+		if (save.saveTracker.hasChanged("friends", friendSnapshot)) {
+			querySavePlayerFriends(save.playerId, save.friends);
+		}
+
+		final long[] ignoreSnapshot = new long[save.ignores.length];
+		for (int i = 0; i < save.ignores.length; i++) {
+			ignoreSnapshot[i] = save.ignores[i].playerHash;
+		}
+		if (save.saveTracker.hasChanged("ignores", ignoreSnapshot)) {
+			querySavePlayerIgnored(save.playerId, save.ignores);
+		}
 	}
 
-	private void savePlayerQuests(final Player player) throws GameDatabaseException {
-		querySavePlayerQuests(player);
+	private void savePlayerQuests(final PlayerSave save) throws GameDatabaseException {
+		final PlayerQuest[] quests = save.quests;
+		final int[] snapshot = new int[quests.length * 2];
+		for (int i = 0; i < quests.length; i++) {
+			snapshot[i * 2] = quests[i].questId;
+			snapshot[i * 2 + 1] = quests[i].stage;
+		}
+		if (save.saveTracker.hasChanged("quests", snapshot)) {
+			querySavePlayerQuests(save.playerId, quests);
+		}
 	}
 
 	private void savePlayerAchievements(final Player player) throws GameDatabaseException {
@@ -984,23 +1124,53 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 
 	public void savePlayerCache(final Player player) throws GameDatabaseException {
 		player.getCache().store("last_spell_cast", player.getCastTimer());
-		querySavePlayerCache(player);
+		querySavePlayerCache(player.getDatabaseID(), createPlayerCache(player));
+		player.getSaveTracker().invalidate("cache");
 	}
 
-	private void savePlayerNpcKills(final Player player) throws GameDatabaseException {
-		if (player.getKillCacheUpdated()) {
-			querySavePlayerNpcKills(player);
-			player.setKillCacheUpdated(false);
+	private void savePlayerCache(final PlayerSave save) throws GameDatabaseException {
+		final PlayerCache[] caches = save.cache;
+		final String[] snapshot = new String[caches.length * 3];
+		for (int i = 0; i < caches.length; i++) {
+			snapshot[i * 3] = caches[i].key;
+			snapshot[i * 3 + 1] = caches[i].value;
+			snapshot[i * 3 + 2] = String.valueOf(caches[i].type);
+		}
+		if (save.saveTracker.hasChanged("cache", snapshot)) {
+			querySavePlayerCache(save.playerId, caches);
 		}
 	}
 
-	private void savePlayerSkills(final Player player) throws GameDatabaseException {
-		querySavePlayerSkills(player);
-		querySavePlayerExperience(player);
+	private void savePlayerNpcKills(final PlayerSave save) throws GameDatabaseException {
+		if (save.npcKills != null) {
+			querySavePlayerNpcKills(save.playerId, save.npcKills);
+		}
 	}
 
-	private void savePlayerCastTime(final Player player) {
-		player.getCache().store("last_spell_cast", player.getCastTimer());
+	private void savePlayerSkills(final PlayerSave save) throws GameDatabaseException {
+		final int[] skillSnapshot = new int[save.skills.length];
+		for (int i = 0; i < save.skills.length; i++) {
+			skillSnapshot[i] = save.skills[i].skillCurLevel;
+		}
+		if (save.saveTracker.hasChanged("skills", skillSnapshot)) {
+			querySavePlayerSkills(save.playerId, save.skills);
+		}
+
+		final int[] experienceSnapshot = new int[save.experience.length];
+		for (int i = 0; i < save.experience.length; i++) {
+			experienceSnapshot[i] = save.experience[i].experience;
+		}
+		if (save.saveTracker.hasChanged("experience", experienceSnapshot)) {
+			querySavePlayerExperience(save.playerId, save.experience);
+		}
+	}
+
+	private static void writeItemSnapshot(final int[] snapshot, final int offset, final int itemId, final ItemStatus itemStatus) {
+		snapshot[offset] = itemId;
+		snapshot[offset + 1] = itemStatus.getCatalogId();
+		snapshot[offset + 2] = itemStatus.getAmount();
+		snapshot[offset + 3] = itemStatus.getNoted() ? 1 : 0;
+		snapshot[offset + 4] = itemStatus.getDurability();
 	}
 
 	public void addDropLog(final Player player, final Npc npc, final int dropId, final int dropAmount) throws GameDatabaseException {
@@ -1020,7 +1190,7 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 		return open;
 	}
 
-	protected void querySavePlayerData(Player player) throws GameDatabaseException {
+	private PlayerData createPlayerData(final Player player) {
 		final PlayerData playerData = new PlayerData();
 
 		playerData.combatLevel = player.getCombatLevel();
@@ -1057,118 +1227,108 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 		playerData.soundOff = player.getSettings().getGameSetting(PlayerSettings.GAME_SETTING_SOUND_EFFECTS);
 		playerData.playerId = player.getDatabaseID();
 
-		querySavePlayerData(player.getDatabaseID(), playerData);
+		return playerData;
 	}
 
-	protected void querySavePlayerInventory(Player player) throws GameDatabaseException {
+	private PlayerInventory[] createPlayerInventory(final Player player) {
 		final int invSize = player.getCarriedItems().getInventory().size();
 		final PlayerInventory[] inventory = new PlayerInventory[invSize];
 
 		for (int i = 0; i < invSize; i++) {
+			final Item item = player.getCarriedItems().getInventory().get(i);
 			inventory[i] = new PlayerInventory();
-			inventory[i].itemId = player.getCarriedItems().getInventory().get(i).getItemId();
-			inventory[i].item = player.getCarriedItems().getInventory().get(i);
-			inventory[i].wielded = player.getCarriedItems().getInventory().get(i).isWielded();
+			inventory[i].itemId = item.getItemId();
+			inventory[i].wielded = item.isWielded();
 			inventory[i].slot = i;
-			inventory[i].amount = player.getCarriedItems().getInventory().get(i).getAmount();
-			inventory[i].noted = player.getCarriedItems().getInventory().get(i).getNoted();
-			inventory[i].catalogID = player.getCarriedItems().getInventory().get(i).getCatalogId();
+			inventory[i].amount = item.getAmount();
+			inventory[i].noted = item.getNoted();
+			inventory[i].catalogID = item.getCatalogId();
 			inventory[i].durability = 100;
 		}
-
-		querySavePlayerInventory(player.getDatabaseID(), inventory);
+		return inventory;
 	}
 
-	protected void querySavePlayerEquipped(Player player) throws GameDatabaseException {
-		if (getServer().getConfig().WANT_EQUIPMENT_TAB) {
-			final int equipSize = Equipment.SLOT_COUNT;
+	private PlayerEquipped[] createPlayerEquipped(final Player player) {
+		final int equipSize = Equipment.SLOT_COUNT;
 
-			final ArrayList<PlayerEquipped> list = new ArrayList<>();
+		final ArrayList<PlayerEquipped> list = new ArrayList<>();
 
-			for (int i = 0; i < equipSize; i++) {
-				final Item item = player.getCarriedItems().getEquipment().get(i);
-				if (item != null) {
-					final PlayerEquipped equipment = new PlayerEquipped();
-					equipment.itemId = player.getCarriedItems().getEquipment().get(i).getItemId();
-					equipment.itemStatus = player.getCarriedItems().getEquipment().get(i).getItemStatus();
-					list.add(equipment);
-				}
+		for (int i = 0; i < equipSize; i++) {
+			final Item item = player.getCarriedItems().getEquipment().get(i);
+			if (item != null) {
+				final PlayerEquipped equipment = new PlayerEquipped();
+				equipment.itemId = item.getItemId();
+				equipment.itemStatus = new ItemStatus(item.getItemStatus());
+				list.add(equipment);
 			}
-
-			final PlayerEquipped[] equippedItems = list.toArray(new PlayerEquipped[list.size()]);
-
-			querySavePlayerEquipped(player.getDatabaseID(), equippedItems);
 		}
+
+		return list.toArray(new PlayerEquipped[list.size()]);
 	}
 
-	protected void querySavePlayerBank(Player player) throws GameDatabaseException {
+	private PlayerBank[] createPlayerBank(final Player player) {
 		final int bankSize = player.getBank().size();
 		final PlayerBank[] bank = new PlayerBank[bankSize];
 
 		for (int i = 0; i < bankSize; i++) {
+			final Item item = player.getBank().get(i);
 			bank[i] = new PlayerBank();
-			bank[i].itemId = player.getBank().get(i).getItemId();
-			bank[i].itemStatus = player.getBank().get(i).getItemStatus();
+			bank[i].itemId = item.getItemId();
+			bank[i].itemStatus = new ItemStatus(item.getItemStatus());
 		}
-
-		querySavePlayerBank(player.getDatabaseID(), bank);
+		return bank;
 	}
 
-	protected void querySavePlayerBankPresets(Player player) throws GameDatabaseException {
+	private PlayerBankPreset[] createPlayerBankPresets(final Player player) throws GameDatabaseException {
 		try {
-			if (getServer().getConfig().WANT_BANK_PRESETS) {
-				final ArrayList<PlayerBankPreset> list = new ArrayList<>();
-
-				for (int k = 0; k < BankPreset.PRESET_COUNT; k++) {
-					ByteArrayOutputStream inventoryBuffer = new ByteArrayOutputStream();
-					DataOutputStream inventoryWriter = new DataOutputStream(inventoryBuffer);
-					for (final Item inventoryItem : player.getBank().getBankPreset(k).getInventory()) {
-						if (inventoryItem.getCatalogId() == -1)
-							inventoryWriter.writeByte(-1);
-						else {
-							inventoryWriter.writeShort(inventoryItem.getCatalogId());
-							inventoryWriter.writeByte(inventoryItem.getNoted() ? 1 : 0);
-							if (inventoryItem.getDef(player.getWorld()) != null
-								&& (inventoryItem.getDef(player.getWorld()).isStackable() || inventoryItem.getNoted()))
-								inventoryWriter.writeInt(inventoryItem.getAmount());
-						}
-
+			final ArrayList<PlayerBankPreset> list = new ArrayList<>();
+
+			for (int k = 0; k < BankPreset.PRESET_COUNT; k++) {
+				ByteArrayOutputStream inventoryBuffer = new ByteArrayOutputStream();
+				DataOutputStream inventoryWriter = new DataOutputStream(inventoryBuffer);
+				for (final Item inventoryItem : player.getBank().getBankPreset(k).getInventory()) {
+					if (inventoryItem.getCatalogId() == -1)
+						inventoryWriter.writeByte(-1);
+					else {
+						inventoryWriter.writeShort(inventoryItem.getCatalogId());
+						inventoryWriter.writeByte(inventoryItem.getNoted() ? 1 : 0);
+						if (inventoryItem.getDef(player.getWorld()) != null
+							&& (inventoryItem.getDef(player.getWorld()).isStackable() || inventoryItem.getNoted()))
+							inventoryWriter.writeInt(inventoryItem.getAmount());
 					}
-					inventoryWriter.close();
-
-					final ByteArrayOutputStream equipmentBuffer = new ByteArrayOutputStream();
-					final DataOutputStream equipmentWriter = new DataOutputStream(equipmentBuffer);
-					for (Item equipmentItem : player.getBank().getBankPreset(k).getEquipment()) {
-						if (equipmentItem.getCatalogId() == -1)
-							equipmentWriter.writeByte(-1);
-						else {
-							equipmentWriter.writeShort(equipmentItem.getCatalogId());
-							if (equipmentItem.getDef(player.getWorld()) != null && equipmentItem.getDef(player.getWorld()).isStackable())
-								equipmentWriter.writeInt(equipmentItem.getAmount());
-						}
 
+				}
+				inventoryWriter.close();
+
+				final ByteArrayOutputStream equipmentBuffer = new ByteArrayOutputStream();
+				final DataOutputStream equipmentWriter = new DataOutputStream(equipmentBuffer);
+				for (Item equipmentItem : player.getBank().getBankPreset(k).getEquipment()) {
+					if (equipmentItem.getCatalogId() == -1)
+						equipmentWriter.writeByte(-1);
+					else {
+						equipmentWriter.writeShort(equipmentItem.getCatalogId());
+						if (equipmentItem.getDef(player.getWorld()) != null && equipmentItem.getDef(player.getWorld()).isStackable())
+							equipmentWriter.writeInt(equipmentItem.getAmount());
 					}
-					equipmentWriter.close();
 
-					final PlayerBankPreset preset = new PlayerBankPreset();
-					preset.inventory = inventoryBuffer.toByteArray();
-					preset.equipment = equipmentBuffer.toByteArray();
-					preset.slot = k;
-					list.add(preset);
 				}
+				equipmentWriter.close();
 
-				final PlayerBankPreset[] presets = list.toArray(new PlayerBankPreset[list.size()]);
-
-				if (presets.length > 0)
-					querySavePlayerBankPresets(player.getDatabaseID(), presets);
+				final PlayerBankPreset preset = new PlayerBankPreset();
+				preset.inventory = inventoryBuffer.toByteArray();
+				preset.equipment = equipmentBuffer.toByteArray();
+				preset.slot = k;
+				list.add(preset);
 			}
+
+			return list.toArray(new PlayerBankPreset[list.size()]);
 		} catch (final IOException ex) {
 			// Convert SQLException to a general usage exception
 			throw new GameDatabaseException(this, ex.getMessage());
 		}
 	}
 
-	protected void querySavePlayerFriends(Player player) throws GameDatabaseException {
+	private PlayerFriend[] createPlayerFriends(final Player player) {
 		final ArrayList<PlayerFriend> list = new ArrayList<>();
 		final Set<Map.Entry<Long, Integer>> entrySet = player.getSocial().getFriendList().entrySet();
 
@@ -1178,12 +1338,10 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 			list.add(friend);
 		}
 
-		final PlayerFriend[] friends = list.toArray(new PlayerFriend[list.size()]);
-
-		querySavePlayerFriends(player.getDatabaseID(), friends);
+		return list.toArray(new PlayerFriend[list.size()]);
 	}
 
-	protected void querySavePlayerIgnored(Player player) throws GameDatabaseException {
+	private PlayerIgnore[] createPlayerIgnored(final Player player) {
 		final int ignoreSize = player.getSocial().getIgnoreList().size();
 		final PlayerIgnore[] ignores = new PlayerIgnore[ignoreSize];
 
@@ -1191,11 +1349,10 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 			ignores[i] = new PlayerIgnore();
 			ignores[i].playerHash = player.getSocial().getIgnoreList().get(i);
 		}
-
-		querySavePlayerIgnored(player.getDatabaseID(), ignores);
+		return ignores;
 	}
 
-	protected void querySavePlayerQuests(Player player) throws GameDatabaseException {
+	private PlayerQuest[] createPlayerQuests(final Player player) {
 		final ArrayList<PlayerQuest> list = new ArrayList<>();
 		final Set<Integer> keys = player.getQuestStages().keySet();
 
@@ -1206,59 +1363,52 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 			list.add(quest);
 		}
 
-		final PlayerQuest[] quests = list.toArray(new PlayerQuest[list.size()]);
-
-		querySavePlayerQuests(player.getDatabaseID(), quests);
+		return list.toArray(new PlayerQuest[list.size()]);
 	}
 
 	protected void querySavePlayerAchievements(Player player) throws GameDatabaseException {
 
 	}
 
-	protected void querySavePlayerCache(Player player) throws GameDatabaseException {
-		final int cacheSize = player.getCache().getCacheMap().size();
-		final PlayerCache[] caches = new PlayerCache[cacheSize];
+	private PlayerCache[] createPlayerCache(final Player player) {
+		final ArrayList<PlayerCache> list = new ArrayList<>();
 
-		int i = 0;
-		for (final String key : player.getCache().getCacheMap().keySet()) {
-			final Object o = player.getCache().getCacheMap().get(key);
+		for (final Map.Entry<String, Object> entry : player.getCache().getCacheMap().entrySet()) {
+			final Object o = entry.getValue();
 
-			caches[i] = new PlayerCache();
-			caches[i].value = o != null ? o.toString() : null;
-			caches[i].key = key;
+			final PlayerCache cache = new PlayerCache();
+			cache.value = o != null ? o.toString() : null;
+			cache.key = entry.getKey();
 
 			if (o instanceof Integer) {
-				caches[i].type = 0;
+				cache.type = 0;
 			} else if (o instanceof String) {
-				caches[i].type = 1;
+				cache.type = 1;
 			} else if (o instanceof Boolean) {
-				caches[i].type = 2;
+				cache.type = 2;
 			} else if (o instanceof Long) {
-				caches[i].type = 3;
+				cache.type = 3;
 			}
-			i++;
+			list.add(cache);
 		}
 
-		querySavePlayerCache(player.getDatabaseID(), caches);
+		return list.toArray(new PlayerCache[list.size()]);
 	}
 
-	protected void querySavePlayerNpcKills(Player player) throws GameDatabaseException {
-		final int killsSize = player.getKillCache().size();
-		final PlayerNpcKills[] killMap = new PlayerNpcKills[killsSize];
+	private PlayerNpcKills[] createPlayerNpcKills(final Player player) {
+		final ArrayList<PlayerNpcKills> list = new ArrayList<>();
 
-		int i = 0;
 		for (final Map.Entry<Integer, Integer> e : player.getKillCache().entrySet()) {
-			killMap[i] = new PlayerNpcKills();
-			killMap[i].killCount = e.getValue();
-			killMap[i].npcId = e.getKey();
-
-			i++;
+			final PlayerNpcKills kills = new PlayerNpcKills();
+			kills.killCount = e.getValue();
+			kills.npcId = e.getKey();
+			list.add(kills);
 		}
 
-		querySavePlayerNpcKills(player.getDatabaseID(), killMap);
+		return list.toArray(new PlayerNpcKills[list.size()]);
 	}
 
-	protected void querySavePlayerSkills(Player player) throws GameDatabaseException {
+	private PlayerSkills[] createPlayerSkills(final Player player) {
 		final int skillsSize = getServer().getConstants().getSkills().getSkillsCount();
 		final PlayerSkills[] skills = new PlayerSkills[skillsSize];
 
@@ -1267,11 +1417,10 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 			skills[i].skillId = i;
 			skills[i].skillCurLevel = player.getSkills().getLevel(i);
 		}
-
-		querySavePlayerSkills(player.getDatabaseID(), skills);
+		return skills;
 	}
 
-	protected void querySavePlayerExperience(Player player) throws GameDatabaseException {
+	private PlayerExperience[] createPlayerExperience(final Player player) {
 		final int skillsSize = getServer().getConstants().getSkills().getSkillsCount();
 		final PlayerExperience[] skills = new PlayerExperience[skillsSize];
 
@@ -1280,8 +1429,7 @@ public abstract class GameDatabase extends GameDatabaseQueries {
 			skills[i].skillId = i;
 			skills[i].experience = player.getSkills().getExperience(i);
 		}
-
-		querySavePlayerExperience(player.getDatabaseID(), skills);
+		return skills;
 	}
 
 	public int getMaxItemID() {
@@ -1,14 +1,40 @@
 package com.openrsc.server.database;
 
+import java.sql.SQLException;
+
 public class GameDatabaseException extends Exception {
+	/**
+	 * MySQL error codes for a deadlock and a lock wait timeout.
+	 */
+	private static final int ER_LOCK_DEADLOCK = 1213;
+	private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
 	private final GameDatabase database;
+	private final boolean retryable;
 
 	public GameDatabaseException(final GameDatabase database, final String reason) {
 		super(database.getClass().getSimpleName() + ": " + reason);
 		this.database = database;
+		this.retryable = false;
+	}
+
+	public GameDatabaseException(final GameDatabase database, final SQLException cause) {
+		super(database.getClass().getSimpleName() + ": " + cause.getMessage(), cause);
+		this.database = database;
+		this.retryable = "40001".equals(cause.getSQLState())
+			|| cause.getErrorCode() == ER_LOCK_DEADLOCK
+			|| cause.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
 	}
 
 	public GameDatabase getDatabase() {
 		return database;
 	}
+
+	/**
+	 * @return true if the statement lost a deadlock or timed out waiting for a lock, so running the whole transaction
+	 * again may succeed.
+	 */
+	public boolean isRetryable() {
+		return retryable;
+	}
 }
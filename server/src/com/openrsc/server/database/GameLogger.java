@@ -8,4 +8,9 @@ public abstract class GameLogger implements Runnable {
 	public abstract void start();
 	public abstract void stop();
 	public abstract void addQuery(final Query query);
+
+	/**
+	 * Describes how many queries were written and dropped since the last report, then starts a new report.
+	 */
+	public abstract String buildQueueReport(final String newLine);
 }
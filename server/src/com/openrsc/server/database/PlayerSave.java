@@ -0,0 +1,45 @@
+package com.openrsc.server.database;
+
+import com.openrsc.server.database.struct.*;
+
+/**
+ * A copy of everything written when saving a player, taken on the game thread by GameDatabase.createPlayerSave.
+ *
+ * Nothing in here refers back to the player's containers, so the save can be written on a persistence thread while the
+ * player keeps changing.
+ */
+public final class PlayerSave {
+	int playerId;
+	String username;
+	SaveTracker saveTracker;
+	PlayerData data;
+	PlayerInventory[] inventory;
+	PlayerEquipped[] equipment;
+	PlayerBank[] bank;
+	PlayerBankPreset[] bankPresets;
+	PlayerFriend[] friends;
+	PlayerIgnore[] ignores;
+	PlayerQuest[] quests;
+	PlayerCache[] cache;
+	PlayerNpcKills[] npcKills;
+	PlayerSkills[] skills;
+	PlayerExperience[] experience;
+
+	PlayerSave() {
+	}
+
+	public int getPlayerId() {
+		return playerId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * @return Whether this save holds NPC kill counts, which are only copied when they changed since the last save.
+	 */
+	public boolean hasNpcKills() {
+		return npcKills != null;
+	}
+}
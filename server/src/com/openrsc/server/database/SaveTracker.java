@@ -0,0 +1,60 @@
+package com.openrsc.server.database;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers what was written for each section of a player's save, so a save can skip the sections that have not changed.
+ * Changes are tracked per section rather than per row: a section with any change is deleted and written again in full.
+ *
+ * A section's snapshot is staged when it is written and only becomes the saved state once the save's transaction commits.
+ * Until then, or after a rollback, the section counts as changed.
+ */
+public final class SaveTracker {
+	private final Map<String, Object> saved = new HashMap<>();
+	private final Map<String, Object> staged = new HashMap<>();
+	private int savesSinceFullSave = 0;
+
+	/**
+	 * Starts a save.
+	 *
+	 * @param full Whether every section must be written regardless of what was saved before.
+	 * @param fullSaveInterval Every this many saves is a full save. 1 or less makes every save a full save.
+	 */
+	synchronized void begin(final boolean full, final int fullSaveInterval) {
+		staged.clear();
+		if (full || ++savesSinceFullSave >= fullSaveInterval) {
+			saved.clear();
+			savesSinceFullSave = 0;
+		}
+	}
+
+	/**
+	 * @param snapshot The section's contents, compared with Objects.deepEquals.
+	 * @return true if the section has to be written. The snapshot is then staged until the save commits.
+	 */
+	synchronized boolean hasChanged(final String section, final Object snapshot) {
+		if (Objects.deepEquals(saved.get(section), snapshot)) {
+			return false;
+		}
+		staged.put(section, snapshot);
+		return true;
+	}
+
+	/**
+	 * Makes the next save write a section that was written outside of a save.
+	 */
+	synchronized void invalidate(final String section) {
+		saved.remove(section);
+	}
+
+	synchronized void commit() {
+		saved.putAll(staged);
+		staged.clear();
+	}
+
+	synchronized void rollback() {
+		staged.clear();
+	}
+}
@@ -135,13 +135,6 @@ public final class WorldPopulator {
 			}
 			LOGGER.info("Loaded {}", box(countGI) + " grounditems.");
 
-			//Load the in-use ItemID's from the database
-			Integer inUseItemIds[] = getWorld().getServer().getDatabase().getInUseItemIds();
-			for (Integer itemId : inUseItemIds)
-				getWorld().getServer().getDatabase().getItemIDList().add(itemId);
-
-			LOGGER.info("Loaded {}", box(getWorld().getServer().getDatabase().getItemIDList().size()) + " itemIDs.");
-
 		} catch (Exception e) {
 			LOGGER.catching(e);
 			System.exit(1);
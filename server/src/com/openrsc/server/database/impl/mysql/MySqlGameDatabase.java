@@ -26,13 +26,11 @@ public class MySqlGameDatabase extends GameDatabase {
 
 	private final MySqlGameDatabaseConnection connection;
 	private final MySqlQueries queries;
-	private final Set<Integer> itemIDList;
 
 	public MySqlGameDatabase(final Server server) {
 		super(server);
 		connection = new MySqlGameDatabaseConnection(getServer());
 		queries = new MySqlQueries(getServer());
-		itemIDList = Collections.synchronizedSortedSet(new TreeSet<Integer>());
 	}
 
 	public void openInternal() {
@@ -43,12 +41,22 @@ public class MySqlGameDatabase extends GameDatabase {
 		getConnection().close();
 	}
 
+	@Override
+	public boolean bindThreadConnection() {
+		return getConnection().bind();
+	}
+
+	@Override
+	public void unbindThreadConnection() {
+		getConnection().unbind();
+	}
+
 	protected void startTransaction() throws GameDatabaseException {
 		try {
 			getConnection().executeQuery("START TRANSACTION");
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -57,7 +65,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			getConnection().executeQuery("COMMIT");
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -66,7 +74,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			getConnection().executeQuery("ROLLBACK");
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -75,7 +83,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			getConnection().executeUpdate(getQueries().initializeOnlineUsers);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -85,7 +93,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return hasNextFromInt(getQueries().playerExists, playerId);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -103,7 +111,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -122,7 +130,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return -1;
 	}
@@ -142,7 +150,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return null;
 	}
@@ -158,7 +166,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			finally { statement.close(); }
 
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
     }
 
@@ -196,7 +204,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return replyMessage;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -226,7 +234,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -254,7 +262,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -282,23 +290,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
-		}
-	}
-
-	@Override
-	protected Integer[] queryInUseItemIds() throws GameDatabaseException {
-		try {
-			final PreparedStatement statement = getConnection().prepareStatement(getQueries().inUseItemIds);
-			final ResultSet result = statement.executeQuery();
-
-			final ArrayList<Integer> inUseItemIds = new ArrayList<>();
-			while (result.next()) {
-				inUseItemIds.add(result.getInt("itemID"));
-			}
-			return inUseItemIds.toArray(new Integer[inUseItemIds.size()]);
-		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -317,7 +309,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -348,7 +340,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return loginData;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -369,7 +361,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -391,7 +383,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return false;
 	}
@@ -407,7 +399,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -422,7 +414,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -488,7 +480,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return playerData;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -519,7 +511,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerInventory[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -555,7 +547,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerEquipped[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -589,7 +581,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerBank[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -668,7 +660,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerFriend[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -693,7 +685,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerIgnore[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -721,7 +713,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerQuest[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -749,7 +741,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerAchievement[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -778,7 +770,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerCache[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -806,7 +798,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerNpcKills[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -823,7 +815,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return playerSkills;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -840,7 +832,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return playerExperiences;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -862,7 +854,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 
 		return returnVal;
@@ -890,7 +882,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 
 		return loadedAchievements;
@@ -918,7 +910,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 
 		return rewards;
@@ -943,7 +935,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 
 		return tasks;
@@ -987,7 +979,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				resultSet.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1017,7 +1009,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1041,7 +1033,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				resultSet.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1056,7 +1048,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1086,7 +1078,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1108,7 +1100,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1129,7 +1121,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1160,7 +1152,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				resultSet.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1189,7 +1181,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				resultSet.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1214,7 +1206,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				resultSet.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1237,7 +1229,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1253,7 +1245,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1269,7 +1261,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1324,7 +1316,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try{statement.executeUpdate();}
 			finally{statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1353,7 +1345,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1369,7 +1361,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeBatch();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1391,7 +1383,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1403,7 +1395,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try{statement.executeUpdate();}
 			finally{statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1423,7 +1415,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 			return 0;
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1444,7 +1436,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 			return 0;
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1476,7 +1468,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 			return null;
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1508,7 +1500,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1523,7 +1515,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1587,7 +1579,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1604,7 +1596,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1622,7 +1614,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1638,7 +1630,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1671,7 +1663,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1703,7 +1695,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1739,7 +1731,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1775,7 +1767,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1800,7 +1792,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1821,7 +1813,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1843,7 +1835,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1871,7 +1863,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1920,7 +1912,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1939,7 +1931,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1958,7 +1950,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -1979,7 +1971,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return 0;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2004,14 +1996,13 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryItemPurge(final Item item) throws GameDatabaseException {
 		try {
-			purgeItemID(item.getItemId());
 			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_ItemPurge);
 			try {
 				statement.setInt(1, item.getItemId());
@@ -2021,7 +2012,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2045,139 +2036,127 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryInventoryAdd(final int playerId, final Item item, int slot) throws GameDatabaseException {
-		synchronized (itemIDList) {
-			try {
-				int itemId = item.getItemId();
-				if (itemId == Item.ITEM_ID_UNASSIGNED) {
-					itemId = assignItemID(item);
-				}
+		try {
+			int itemId = item.getItemId();
+			if (itemId == Item.ITEM_ID_UNASSIGNED) {
+				itemId = assignItemID(item);
+			}
 
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_InventoryAdd);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, itemId);
-					statement.setInt(3, slot);
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_InventoryAdd);
+			try {
+				statement.setInt(1, playerId);
+				statement.setInt(2, itemId);
+				statement.setInt(3, slot);
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryInventoryRemove(final int playerId, final Item item) throws GameDatabaseException {
-		synchronized (itemIDList) {
+		try {
+			itemPurge(item);
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_InventoryRemove);
 			try {
-				itemPurge(item);
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_InventoryRemove);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, item.getItemId());
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+				statement.setInt(1, playerId);
+				statement.setInt(2, item.getItemId());
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryEquipmentAdd(final int playerId, final Item item) throws GameDatabaseException {
-		synchronized (itemIDList) {
+		try {
+			int itemId = item.getItemId();
+			if (itemId == Item.ITEM_ID_UNASSIGNED) {
+				itemId = assignItemID(item);
+			}
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_EquipmentAdd);
 			try {
-				int itemId = item.getItemId();
-				if (itemId == Item.ITEM_ID_UNASSIGNED) {
-					itemId = assignItemID(item);
-				}
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_EquipmentAdd);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, itemId);
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+				statement.setInt(1, playerId);
+				statement.setInt(2, itemId);
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryEquipmentRemove(final int playerId, final Item item) throws GameDatabaseException {
-		synchronized (itemIDList) {
+		try {
+			itemPurge(item);
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_EquipmentRemove);
 			try {
-				itemPurge(item);
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_EquipmentRemove);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, item.getItemId());
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+				statement.setInt(1, playerId);
+				statement.setInt(2, item.getItemId());
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryBankAdd(final int playerId, final Item item, int slot) throws GameDatabaseException {
-		synchronized (itemIDList) {
+		try {
+			int itemId = item.getItemId();
+			if (itemId == Item.ITEM_ID_UNASSIGNED) {
+				itemId = assignItemID(item);
+			}
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_BankAdd);
 			try {
-				int itemId = item.getItemId();
-				if (itemId == Item.ITEM_ID_UNASSIGNED) {
-					itemId = assignItemID(item);
-				}
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_BankAdd);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, itemId);
-					statement.setInt(3, slot);
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+				statement.setInt(1, playerId);
+				statement.setInt(2, itemId);
+				statement.setInt(3, slot);
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
 	@Override
 	protected void queryBankRemove(final int playerId, final Item item) throws GameDatabaseException {
-		synchronized (itemIDList) {
+		try {
+			itemPurge(item);
+			final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_BankRemove);
 			try {
-				itemPurge(item);
-				final PreparedStatement statement = getConnection().prepareStatement(getQueries().save_BankRemove);
-				try {
-					statement.setInt(1, playerId);
-					statement.setInt(2, item.getItemId());
-					statement.executeUpdate();
-				} finally {
-					statement.close();
-				}
-			} catch (SQLException ex) {
-				// Convert SQLException to a general usage exception
-				throw new GameDatabaseException(this, ex.getMessage());
+				statement.setInt(1, playerId);
+				statement.setInt(2, item.getItemId());
+				statement.executeUpdate();
+			} finally {
+				statement.close();
 			}
+		} catch (SQLException ex) {
+			// Convert SQLException to a general usage exception
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2196,7 +2175,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return -1;
 	}
@@ -2212,7 +2191,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2224,7 +2203,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2243,7 +2222,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return null;
 	}
@@ -2257,7 +2236,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2272,7 +2251,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2284,7 +2263,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			try {statement.executeUpdate();}
 			finally {statement.close();}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2308,7 +2287,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2327,7 +2306,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (final SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return 0;
 	}
@@ -2361,7 +2340,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new PlayerRecoveryQuestions[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2382,7 +2361,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return ip;
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2413,7 +2392,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			return list.toArray(new LinkedPlayer[list.size()]);
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2435,7 +2414,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2457,7 +2436,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2477,7 +2456,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2497,7 +2476,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2515,7 +2494,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2535,7 +2514,7 @@ public class MySqlGameDatabase extends GameDatabase {
 			}
 		} catch (final SQLException ex) {
 			// Convert SQLException to a general usage exception
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2556,7 +2535,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 		return true; // Do not want to continue adding column if can't determine if column exists
 	}
@@ -2572,7 +2551,7 @@ public class MySqlGameDatabase extends GameDatabase {
 				statement.close();
 			}
 		} catch (SQLException ex) {
-			throw new GameDatabaseException(this, ex.getMessage());
+			throw new GameDatabaseException(this, ex);
 		}
 	}
 
@@ -2698,10 +2677,6 @@ public class MySqlGameDatabase extends GameDatabase {
 		return queries;
 	}
 
-	public Set<Integer> getItemIDList() {
-		return this.itemIDList;
-	}
-
 	public int addItemToPlayer(Item item) {
 		try {
 			int itemId = item.getItemId();
@@ -2726,25 +2701,9 @@ public class MySqlGameDatabase extends GameDatabase {
 	}
 
 	public int assignItemID(Item item) throws GameDatabaseException {
-		synchronized (itemIDList) {
-			int itemId = itemCreate(item);
-			item.setItemId(itemId);
-			itemIDList.add(itemId);
-			return itemId;
-		}
-	}
-
-	private void purgeItemID(int itemID) {
-		synchronized (itemIDList) {
-			Iterator<Integer> iterator = itemIDList.iterator();
-			while (iterator.hasNext()) {
-				Integer listID = iterator.next();
-				if (listID == itemID) {
-					iterator.remove();
-					return;
-				}
-			}
-		}
+		int itemId = itemCreate(item);
+		item.setItemId(itemId);
+		return itemId;
 	}
 }
 
@@ -5,17 +5,44 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The connections to MySQL.
+ *
+ * There is one shared connection that every thread uses by default. Worker threads that hit the database constantly
+ * (logins, saves, game logs) bind a connection from a pool with one connection for each of them instead, so they do not
+ * queue behind each other or behind slow queries elsewhere. Those threads run transactions, so they never fall back to the
+ * shared connection, where another thread's commit or rollback would apply to their statements. Pooled connections
+ * are checked before being handed out when they have been idle for a while, and replaced if they went bad.
+ */
 public class MySqlGameDatabaseConnection {
 	/**
 	 * The asynchronous logger.
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	/**
+	 * Pooled connections idle for longer than this are validated before being bound.
+	 */
+	private static final long VALIDATE_AFTER_IDLE_MILLIS = 30000;
+
+	/**
+	 * How long binding waits for a pooled connection before logging that it is still waiting.
+	 */
+	private static final long BIND_TIMEOUT_SECONDS = 5;
+
 	private final Server server;
-	private Connection connection;
-	private Statement statement;
-	private boolean connected;
+	private final ThreadLocal<PooledConnection> boundConnection = new ThreadLocal<>();
+	private final Set<PooledConnection> pooledConnections = ConcurrentHashMap.newKeySet();
+	private BlockingQueue<PooledConnection> idleConnections;
+	private PooledConnection sharedConnection;
+	private int poolSize;
+	private volatile boolean connected;
 
 	public MySqlGameDatabaseConnection(final Server server) {
 		this.server = server;
@@ -34,17 +61,14 @@ public class MySqlGameDatabaseConnection {
 		}
 
 		try {
-			connection = DriverManager.getConnection("jdbc:mysql://"
-					+ getServer().getConfig().DB_HOST + "/" + getServer().getConfig().DB_NAME + "?autoReconnect=true&useSSL=false&rewriteBatchedStatements=true&serverTimezone=UTC",
-				getServer().getConfig().DB_USER,
-				getServer().getConfig().DB_PASS);
-			statement = getConnection().createStatement();
-			statement.setEscapeProcessing(true);
-			connected = checkConnection();
+			sharedConnection = new PooledConnection(createConnection());
+			connected = sharedConnection.isValid();
 		} catch (final SQLException e) {
 			LOGGER.catching(e);
 			connected = false;
 		}
+		poolSize = getPoolSize();
+		idleConnections = new ArrayBlockingQueue<>(poolSize);
 
 		if(isConnected()) {
 			LOGGER.info(getServer().getName() + " : " + getServer().getName() + " - Connected to MySQL!");
@@ -55,41 +79,143 @@ public class MySqlGameDatabaseConnection {
 		return isConnected();
 	}
 
+	/**
+	 * Every login worker, persistence lane and the game logging thread binds a connection, so the pool is sized to
+	 * give each of them one. A configured db_pool_size smaller than that is refused, as workers would wait on each
+	 * other for connections.
+	 */
+	private int getPoolSize() {
+		// The game logging thread binds the last one.
+		final int needed = getServer().getLoginExecutor().getDatabaseThreadCount() + 1;
+		final int configured = getServer().getConfig().DB_POOL_SIZE;
+		if (configured <= 0) {
+			return needed;
+		}
+		if (configured < needed) {
+			throw new IllegalStateException("db_pool_size is " + configured + " but the login, persistence and logging threads need "
+				+ needed + " connections. Raise db_pool_size, lower login_threads or persistence_threads, or set db_pool_size to 0");
+		}
+		return configured;
+	}
+
 	public synchronized void close() {
+		if (sharedConnection != null) {
+			sharedConnection.close();
+		}
+		for (final PooledConnection pooled : pooledConnections) {
+			pooled.close();
+		}
+		pooledConnections.clear();
+		if (idleConnections != null) {
+			idleConnections.clear();
+		}
+		connected = false;
+		sharedConnection = null;
+	}
+
+	private Connection createConnection() throws SQLException {
+		return DriverManager.getConnection("jdbc:mysql://"
+				+ getServer().getConfig().DB_HOST + "/" + getServer().getConfig().DB_NAME + "?autoReconnect=true&useSSL=false&rewriteBatchedStatements=true&serverTimezone=UTC",
+			getServer().getConfig().DB_USER,
+			getServer().getConfig().DB_PASS);
+	}
+
+	/**
+	 * Gives the calling thread a pooled connection of its own until unbind is called.
+	 * Waits for one to be unbound if the pool is exhausted.
+	 *
+	 * @return false if no connection could be bound because the database is disconnected, a connection could not be
+	 * opened or the thread was interrupted. The caller must not use the database then.
+	 */
+	public boolean bind() {
+		if (boundConnection.get() != null) {
+			return true;
+		}
 		try {
-			if(statement != null) {
-				statement.close();
+			while (isConnected()) {
+				PooledConnection pooled = idleConnections.poll();
+				if (pooled == null) {
+					pooled = createPooledConnection();
+				}
+				if (pooled == null) {
+					pooled = idleConnections.poll(BIND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				}
+				if (pooled != null) {
+					boundConnection.set(checkHealth(pooled));
+					return true;
+				}
+				LOGGER.error(Thread.currentThread().getName() + " is still waiting for a pooled MySQL connection, all "
+					+ poolSize + " are in use");
 			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
 		} catch (final SQLException e) {
 			LOGGER.catching(e);
 		}
-		try {
-			if(getConnection() != null) {
-				getConnection().close();
+		return false;
+	}
+
+	/**
+	 * Returns the calling thread's pooled connection to the pool.
+	 */
+	public void unbind() {
+		final PooledConnection pooled = boundConnection.get();
+		if (pooled == null) {
+			return;
+		}
+		boundConnection.remove();
+		pooled.lastUsed = System.currentTimeMillis();
+		if (!pooledConnections.contains(pooled) || !idleConnections.offer(pooled)) {
+			pooledConnections.remove(pooled);
+			pooled.close();
+		}
+	}
+
+	private PooledConnection createPooledConnection() throws SQLException {
+		synchronized (pooledConnections) {
+			if (pooledConnections.size() >= poolSize) {
+				return null;
 			}
-		} catch (final SQLException e) {
-			LOGGER.catching(e);
+			final PooledConnection pooled = new PooledConnection(createConnection());
+			pooledConnections.add(pooled);
+			return pooled;
 		}
-		connected = false;
-		statement = null;
-		connection = null;
 	}
 
-	private synchronized boolean checkConnection() {
-		try {
-			getStatement().executeQuery("SELECT CURRENT_DATE");
-			return true;
-		} catch (final SQLException e) {
-			return false;
+	/**
+	 * Replaces a pooled connection that has been idle for a while if it no longer responds.
+	 */
+	private PooledConnection checkHealth(final PooledConnection pooled) throws SQLException {
+		if (System.currentTimeMillis() - pooled.lastUsed < VALIDATE_AFTER_IDLE_MILLIS || pooled.isValid()) {
+			return pooled;
+		}
+		LOGGER.warn("Replacing a broken pooled MySQL connection");
+		pooled.close();
+		pooledConnections.remove(pooled);
+		final PooledConnection replacement = createPooledConnection();
+		if (replacement == null) {
+			throw new SQLException("No room in the pool to replace a broken connection");
 		}
+		return replacement;
 	}
 
-	protected synchronized int executeUpdate(final String string) throws SQLException {
-		return getStatement().executeUpdate(string);
+	private PooledConnection current() {
+		final PooledConnection pooled = boundConnection.get();
+		return pooled != null ? pooled : sharedConnection;
 	}
 
-	protected synchronized ResultSet executeQuery(final String string) throws SQLException {
-		return getStatement().executeQuery(string);
+	protected int executeUpdate(final String string) throws SQLException {
+		final PooledConnection pooled = current();
+		synchronized (pooled) {
+			return pooled.statement.executeUpdate(string);
+		}
+	}
+
+	protected ResultSet executeQuery(final String string) throws SQLException {
+		final PooledConnection pooled = current();
+		synchronized (pooled) {
+			return pooled.statement.executeQuery(string);
+		}
 	}
 
 	/**
@@ -99,15 +225,15 @@ public class MySqlGameDatabaseConnection {
 	 * @return The MySQL query to run represented as a java.sql.PreparedStatement
 	 * @throws SQLException if there was an error when preparing the statement
 	 */
-	protected synchronized PreparedStatement prepareStatement(final String statement) throws SQLException {
+	protected PreparedStatement prepareStatement(final String statement) throws SQLException {
 		return getConnection().prepareStatement(statement);
 	}
 
-	protected synchronized PreparedStatement prepareStatement(final String statement, final String[] generatedColumns) throws SQLException {
+	protected PreparedStatement prepareStatement(final String statement, final String[] generatedColumns) throws SQLException {
 		return getConnection().prepareStatement(statement, generatedColumns);
 	}
 
-	protected synchronized PreparedStatement prepareStatement(final String statement, final int returnKeys) throws SQLException {
+	protected PreparedStatement prepareStatement(final String statement, final int returnKeys) throws SQLException {
 		return getConnection().prepareStatement(statement, returnKeys);
 	}
 
@@ -115,15 +241,50 @@ public class MySqlGameDatabaseConnection {
 		return server;
 	}
 
-	protected synchronized Connection getConnection() {
-		return connection;
-	}
-
-	private Statement getStatement() {
-		return statement;
+	/**
+	 * @return The connection bound to the calling thread, or the shared connection.
+	 */
+	protected Connection getConnection() {
+		final PooledConnection pooled = current();
+		return pooled != null ? pooled.connection : null;
 	}
 
 	protected boolean isConnected() {
 		return connected;
 	}
+
+	private static final class PooledConnection {
+		private final Connection connection;
+		private final Statement statement;
+		private long lastUsed;
+
+		private PooledConnection(final Connection connection) throws SQLException {
+			this.connection = connection;
+			this.statement = connection.createStatement();
+			this.statement.setEscapeProcessing(true);
+			this.lastUsed = System.currentTimeMillis();
+		}
+
+		private synchronized boolean isValid() {
+			try {
+				statement.executeQuery("SELECT CURRENT_DATE");
+				return true;
+			} catch (final SQLException e) {
+				return false;
+			}
+		}
+
+		private synchronized void close() {
+			try {
+				statement.close();
+			} catch (final SQLException e) {
+				LOGGER.catching(e);
+			}
+			try {
+				connection.close();
+			} catch (final SQLException e) {
+				LOGGER.catching(e);
+			}
+		}
+	}
 }
@@ -8,10 +8,25 @@ import com.openrsc.server.database.impl.mysql.queries.ResultQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Writes game logs on their own thread.
+ *
+ * Every 50ms the queued logs are grouped by query text and each group is written as one JDBC batch on a statement that
+ * is kept for the next run. The connection is opened with rewriteBatchedStatements, so a batch of inserts goes out as
+ * multi-row inserts. When MySQL falls behind and the queue fills up, new logs are dropped and counted instead of
+ * throwing on the thread that logged them.
+ */
 public final class MySqlGameLogger extends GameLogger {
 
 	/**
@@ -19,17 +34,42 @@ public final class MySqlGameLogger extends GameLogger {
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	/**
+	 * The most queries taken off the queue in one go.
+	 */
+	private static final int MAX_DRAIN = 1000;
+
+	/**
+	 * Dropped logs are reported at most this often.
+	 */
+	private static final long DROP_WARNING_INTERVAL_MILLIS = 10000;
+
 	private volatile AtomicBoolean running;
 	private final BlockingQueue<Query> queries;
 	private final Server server;
 	private ScheduledExecutorService scheduledExecutor;
 	private final MySqlGameDatabase database;
 
+	/**
+	 * Statements kept between runs by query text. Only touched on the logging thread.
+	 */
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
+	private Connection statementConnection;
+	private final List<Query> drained = new ArrayList<>(MAX_DRAIN);
+	private final Map<String, List<Query>> batches = new LinkedHashMap<>();
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder batchCount = new LongAdder();
+	private final ConcurrentHashMap<String, LongAdder> dropped = new ConcurrentHashMap<>();
+	private final LongAdder droppedSinceWarning = new LongAdder();
+	private long lastDropWarning = 0;
+
 	public MySqlGameLogger(final Server server, final MySqlGameDatabase database) {
 		this.server = server;
 
 		running = new AtomicBoolean(false);
-		queries = new ArrayBlockingQueue<>(10000);
+		queries = new ArrayBlockingQueue<>(Math.max(1, server.getConfig().GAME_LOG_QUEUE_SIZE));
 		// TODO: Implement GameLogger into the database driver.
 		if (database == null) {
 			LOGGER.error("GameDatabase provided was null or not a MySqlGameDatabase.");
@@ -52,6 +92,8 @@ public final class MySqlGameLogger extends GameLogger {
 
 	public void stop() {
 		synchronized (running) {
+			// Write what is still queued before the thread goes away.
+			scheduledExecutor.execute(this::drain);
 			scheduledExecutor.shutdown();
 			try {
 				final boolean terminationResult = scheduledExecutor.awaitTermination(1, TimeUnit.MINUTES);
@@ -75,25 +117,156 @@ public final class MySqlGameLogger extends GameLogger {
 	public void run() {
 		synchronized (running) {
 			if (running.get()) {
-				while (queries.size() > 0 && getDatabase().getConnection().isConnected()) {
-					pollNextQuery();
+				drain();
+			}
+		}
+	}
+
+	private void drain() {
+		if (queries.isEmpty()) {
+			warnOfDrops();
+			return;
+		}
+		// The logging thread keeps its pooled connection, so the statements kept below stay usable.
+		if (!getDatabase().bindThreadConnection()) {
+			// The queries stay queued for the next run.
+			return;
+		}
+		while (!queries.isEmpty() && getDatabase().getConnection().isConnected()) {
+			queries.drainTo(drained, MAX_DRAIN);
+			for (final Query query : drained) {
+				if (query instanceof ResultQuery) {
+					runQuery(query);
+					continue;
+				}
+				List<Query> batch = batches.get(query.getQuery());
+				if (batch == null) {
+					batch = new ArrayList<>();
+					batches.put(query.getQuery(), batch);
 				}
+				batch.add(query);
 			}
+			drained.clear();
+			for (final Map.Entry<String, List<Query>> entry : batches.entrySet()) {
+				writeBatch(entry.getKey(), entry.getValue());
+			}
+			batches.clear();
 		}
+		warnOfDrops();
 	}
 
-	protected void pollNextQuery() {
-		runQuery(queries.poll());
+	private void writeBatch(final String queryText, final List<Query> batch) {
+		try {
+			final PreparedStatement statement = getStatement(queryText);
+			for (final Query query : batch) {
+				query.setParameters(statement);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+			written.add(batch.size());
+			batchCount.increment();
+		} catch (final SQLException ex) {
+			LOGGER.catching(ex);
+			closeStatement(queryText);
+			writeSeparately(queryText, batch, ex instanceof BatchUpdateException ? ((BatchUpdateException) ex).getUpdateCounts() : null);
+		}
+	}
+
+	/**
+	 * Writes a batch that failed one query at a time, so a bad query only loses its own row.
+	 *
+	 * @param updateCounts The counts the failed batch reported, used to skip queries it already wrote, or null.
+	 */
+	private void writeSeparately(final String queryText, final List<Query> batch, final int[] updateCounts) {
+		SQLException firstFailure = null;
+		int failures = 0;
+		for (int i = 0; i < batch.size(); i++) {
+			if (updateCounts != null && updateCounts.length == batch.size()
+				&& (updateCounts[i] >= 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO)) {
+				written.increment();
+				continue;
+			}
+			try {
+				final PreparedStatement statement = getStatement(queryText);
+				batch.get(i).setParameters(statement);
+				statement.executeUpdate();
+				written.increment();
+			} catch (final SQLException ex) {
+				if (firstFailure == null) {
+					firstFailure = ex;
+				}
+				failures++;
+				closeStatement(queryText);
+			}
+		}
+		if (failures > 0) {
+			failed.add(failures);
+			LOGGER.error("Dropped " + failures + " of " + batch.size() + " game logs that could not be written: " + firstFailure.getMessage());
+		}
+	}
+
+	private PreparedStatement getStatement(final String queryText) throws SQLException {
+		final Connection connection = getDatabase().getConnection().getConnection();
+		if (connection != statementConnection) {
+			closeStatements();
+			statementConnection = connection;
+		}
+		PreparedStatement statement = statements.get(queryText);
+		if (statement == null) {
+			statement = connection.prepareStatement(queryText);
+			statements.put(queryText, statement);
+		}
+		return statement;
+	}
+
+	private void closeStatement(final String queryText) {
+		final PreparedStatement statement = statements.remove(queryText);
+		if (statement == null) {
+			return;
+		}
+		try {
+			statement.close();
+		} catch (final SQLException ex) {
+			LOGGER.catching(ex);
+		}
+	}
+
+	private void closeStatements() {
+		for (final String queryText : new ArrayList<>(statements.keySet())) {
+			closeStatement(queryText);
+		}
+	}
+
+	private void warnOfDrops() {
+		final long now = System.currentTimeMillis();
+		if (now - lastDropWarning < DROP_WARNING_INTERVAL_MILLIS) {
+			return;
+		}
+		final long droppedCount = droppedSinceWarning.sumThenReset();
+		if (droppedCount > 0) {
+			LOGGER.warn("Dropped " + droppedCount + " game logs because the log queue was full");
+			lastDropWarning = now;
+		}
 	}
 
 	protected void runQuery(final Query query) {
 		try {
 			if (query != null) {
-				if (query instanceof ResultQuery) {
-					final ResultQuery rq = (ResultQuery) query;
-					rq.onResult(rq.prepareStatement(getDatabase().getConnection().getConnection()).executeQuery());
-				} else {
-					query.prepareStatement(getDatabase().getConnection().getConnection()).execute();
+				final PreparedStatement statement = query.prepareStatement(getDatabase().getConnection().getConnection());
+				try {
+					if (query instanceof ResultQuery) {
+						final ResultQuery rq = (ResultQuery) query;
+						final ResultSet result = statement.executeQuery();
+						try {
+							rq.onResult(result);
+						} finally {
+							result.close();
+						}
+					} else {
+						statement.execute();
+					}
+				} finally {
+					statement.close();
 				}
 			}
 		/*} catch (final GameDatabaseException ex) {
@@ -108,7 +281,10 @@ public final class MySqlGameLogger extends GameLogger {
 		if (!running.get()) {
 			return;
 		}
-		queries.add(query);
+		if (!queries.offer(query)) {
+			dropped.computeIfAbsent(query.getClass().getSimpleName(), k -> new LongAdder()).increment();
+			droppedSinceWarning.increment();
+		}
 	}
 
 	// Runs a query on whatever program thread initiated the request. This is mostly useful for playing loading/saving to ensure data is returned.
@@ -116,6 +292,22 @@ public final class MySqlGameLogger extends GameLogger {
 		runQuery(query);
 	}
 
+	@Override
+	public String buildQueueReport(final String newLine) {
+		final StringBuilder report = new StringBuilder("Game Logs: ")
+			.append(queries.size()).append(" pending, ")
+			.append(written.sumThenReset()).append(" written in ")
+			.append(batchCount.sumThenReset()).append(" batches, ")
+			.append(failed.sumThenReset()).append(" failed");
+		for (final Map.Entry<String, LongAdder> entry : dropped.entrySet()) {
+			final long count = entry.getValue().sumThenReset();
+			if (count > 0) {
+				report.append(", ").append(count).append(' ').append(entry.getKey()).append(" dropped");
+			}
+		}
+		return report.append(newLine).toString();
+	}
+
 	private MySqlGameDatabase getDatabase() {
 		return database;
 	}
@@ -17,6 +17,20 @@ public abstract class Query {
 
 	public abstract Query build(); // add any logic here
 
-	public abstract PreparedStatement prepareStatement(Connection connection) throws SQLException;
+	/**
+	 * Sets this query's parameters on a statement prepared from getQuery(). Queries with the same text can share a
+	 * statement, which lets the game logger batch them.
+	 */
+	public abstract void setParameters(PreparedStatement statement) throws SQLException;
+
+	public PreparedStatement prepareStatement(final Connection connection) throws SQLException {
+		final PreparedStatement statement = connection.prepareStatement(query);
+		setParameters(statement);
+		return statement;
+	}
+
+	public String getQuery() {
+		return query;
+	}
 
 }
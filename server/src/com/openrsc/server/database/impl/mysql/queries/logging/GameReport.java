@@ -6,10 +6,8 @@ import com.openrsc.server.model.snapshot.Snapshot;
 import com.openrsc.server.database.impl.mysql.queries.Query;
 import com.openrsc.server.util.rsc.DataConversions;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Iterator;
 
 public final class GameReport extends Query {
 	private final String reported;
@@ -33,23 +31,16 @@ public final class GameReport extends Query {
 			this.reported_x = reportedPlayer.getX();
 			this.reported_y = reportedPlayer.getY();
 		}
-		Iterator<Snapshot> i = reporter.getWorld().getSnapshots().descendingIterator();
-		while (i.hasNext()) {
-			Snapshot s = i.next();
+		for (Snapshot s : reporter.getWorld().getSnapshots().getRecent(reported, 60000)) {
 			if (s instanceof Chatlog) {
 				Chatlog cl = (Chatlog) s;
-				if ((cl.getOwner().contains(reported) || cl.getOwner().equalsIgnoreCase(reported))) {
-					if (System.currentTimeMillis() - s.getTimestamp() < 60000) {
-						chatlog.append("[").append(DataConversions.timeFormat(cl.getTimestamp())).append("] ").append(cl.getOwner()).append(": ").append(cl.getMessage()).append("\n");
-					}
-				}
+				chatlog.append("[").append(DataConversions.timeFormat(cl.getTimestamp())).append("] ").append(cl.getOwner()).append(": ").append(cl.getMessage()).append("\n");
 			}
 		}
 	}
 
 	@Override
-	public PreparedStatement prepareStatement(Connection connection) throws SQLException {
-		PreparedStatement statement = connection.prepareStatement(query);
+	public void setParameters(PreparedStatement statement) throws SQLException {
 		statement.setLong(1, time);
 		statement.setString(2, reporterPlayer.getUsername());
 		statement.setString(3, reported);
@@ -61,7 +52,6 @@ public final class GameReport extends Query {
 		statement.setInt(9, reported_y);
 		statement.setBoolean(10, suggestsOrMutes);
 		statement.setBoolean(11, triedApplyAction);
-		return statement;
 	}
 
 	@Override
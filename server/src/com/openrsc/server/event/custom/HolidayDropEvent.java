@@ -35,7 +35,7 @@ public class HolidayDropEvent extends HourlyEvent  {
 		for (int y = 96; y < 870; ) { // Highest Y is 867 currently.
 			for (int x = 1; x < 770; ) { // Highest X is 766 currently.
 
-				final int traversal = getWorld().getTile(x, y).traversalMask;
+				final int traversal = getWorld().getTiles().getTraversalMask(x, y);
 				final boolean isBlocking = traversal != 0;
 
 				if (!isBlocking) { // Nothing in the way.
@@ -69,7 +69,7 @@ public class HolidayDropEvent extends HourlyEvent  {
 	}
 
 	public static boolean isOccurring(Player player) {
-		for (GameTickEvent event : player.getWorld().getServer().getGameEventHandler().getEvents().values()) {
+		for (GameTickEvent event : player.getWorld().getServer().getGameEventHandler().getEvents()) {
 			if (!(event instanceof HolidayDropEvent)) continue;
 			return true;
 		}
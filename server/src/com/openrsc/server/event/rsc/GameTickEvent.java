@@ -1,5 +1,6 @@
 package com.openrsc.server.event.rsc;
 
+import com.openrsc.server.GameEventHandler;
 import com.openrsc.server.model.entity.Mob;
 import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
@@ -8,6 +9,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class GameTickEvent implements Callable<Integer> {
 	/**
@@ -15,6 +17,9 @@ public abstract class GameTickEvent implements Callable<Integer> {
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	private static final AtomicLong nextEventId = new AtomicLong(0);
+
+	private final long eventId = nextEventId.incrementAndGet();
 	protected boolean running = true;
 	private Mob owner;
 	private final World world;
@@ -23,6 +28,17 @@ public abstract class GameTickEvent implements Callable<Integer> {
 	private String descriptor;
 	private long lastEventDuration = 0;
 	private boolean uniqueEvent = false;
+	/**
+	 * The handler this event is scheduled on, null until it has been registered. While scheduled the countdown is kept as an absolute due tick.
+	 */
+	private volatile GameEventHandler eventHandler;
+	/**
+	 * Identifies the (event class, owner) pair used to avoid duplicate owner events, -1 for unique events.
+	 */
+	private long ownerKey = -1;
+	private int descriptorId = -1;
+	private volatile long dueTick = -1;
+	private long lastDispatchTick = -1;
 
 	public GameTickEvent(final World world, final Mob owner, final long ticks, final String descriptor, final boolean uniqueEvent) {
 		this.world = world;
@@ -65,12 +81,16 @@ public abstract class GameTickEvent implements Callable<Integer> {
 	}
 
 	public final boolean shouldRun() {
-		return running && ticksBeforeRun <= 0;
+		return running && getTicksBeforeRun() <= 0;
 	}
 
 	public void stop() {
 		//if(!(this instanceof PluginTask)) LOGGER.info("Stopping : " + getDescriptor() + " : " + getOwner());
 		running = false;
+		final GameEventHandler handler = eventHandler;
+		if (handler != null) {
+			handler.reschedule(this);
+		}
 	}
 
 	protected void setDelayTicks(long delayTicks) {
@@ -80,14 +100,21 @@ public abstract class GameTickEvent implements Callable<Integer> {
 
 	public void resetCountdown() {
 		ticksBeforeRun = delayTicks;
+		final GameEventHandler handler = eventHandler;
+		if (handler != null) {
+			handler.reschedule(this);
+		}
 	}
 
 	public void tick() {
-		ticksBeforeRun--;
+		// Scheduled events are only run once they are due, events driven by hand count down here.
+		if (eventHandler == null) {
+			ticksBeforeRun--;
+		}
 	}
 
 	public long timeTillNextRun() {
-		return System.currentTimeMillis() + (ticksBeforeRun * getWorld().getServer().getConfig().GAME_TICK);
+		return System.currentTimeMillis() + (getTicksBeforeRun() * getWorld().getServer().getConfig().GAME_TICK);
 	}
 
 	public final boolean shouldRemove() {
@@ -122,6 +149,10 @@ public abstract class GameTickEvent implements Callable<Integer> {
 	}
 
 	public long getTicksBeforeRun() {
+		final GameEventHandler handler = eventHandler;
+		if (handler != null) {
+			return dueTick - handler.getCurrentTick();
+		}
 		return ticksBeforeRun;
 	}
 
@@ -139,6 +170,7 @@ public abstract class GameTickEvent implements Callable<Integer> {
 
 	protected void setDescriptor(final String descriptor) {
 		this.descriptor = descriptor;
+		this.descriptorId = -1;
 	}
 
 	public World getWorld() {
@@ -146,4 +178,48 @@ public abstract class GameTickEvent implements Callable<Integer> {
 	}
 
 	public boolean isUniqueEvent() { return uniqueEvent; }
+
+	public GameEventHandler getEventHandler() {
+		return eventHandler;
+	}
+
+	public void setEventHandler(final GameEventHandler eventHandler) {
+		this.eventHandler = eventHandler;
+	}
+
+	public final long getEventId() {
+		return eventId;
+	}
+
+	public long getOwnerKey() {
+		return ownerKey;
+	}
+
+	public void setOwnerKey(final long ownerKey) {
+		this.ownerKey = ownerKey;
+	}
+
+	public int getDescriptorId() {
+		return descriptorId;
+	}
+
+	public void setDescriptorId(final int descriptorId) {
+		this.descriptorId = descriptorId;
+	}
+
+	public long getDueTick() {
+		return dueTick;
+	}
+
+	public void setDueTick(final long dueTick) {
+		this.dueTick = dueTick;
+	}
+
+	public long getLastDispatchTick() {
+		return lastDispatchTick;
+	}
+
+	public void setLastDispatchTick(final long lastDispatchTick) {
+		this.lastDispatchTick = lastDispatchTick;
+	}
 }
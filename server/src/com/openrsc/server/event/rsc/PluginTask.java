@@ -11,7 +11,9 @@ import org.apache.logging.log4j.Logger;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 public abstract class PluginTask extends GameTickEvent implements Callable<Integer> {
 	/**
@@ -31,6 +33,12 @@ public abstract class PluginTask extends GameTickEvent implements Callable<Integ
 	private AtomicBoolean initialized = new AtomicBoolean(false);
 	private AtomicBoolean threadRunning = new AtomicBoolean(false);
 	private volatile Thread pluginThread;
+	/**
+	 * The game event thread waiting for this script to pause, and whether the script has been told to resume.
+	 * Both sides park instead of holding this task's monitor so that virtual plugin threads are not pinned.
+	 */
+	private volatile Thread tickThread;
+	private volatile boolean resumed = false;
 
 	private final ScriptContext scriptContext;
 	private final Object[] data;
@@ -49,7 +57,7 @@ public abstract class PluginTask extends GameTickEvent implements Callable<Integ
 		}
 	}
 
-	public synchronized Integer call() {
+	public Integer call() {
 		try {
 			registerPluginThread();
 			final int result = action();
@@ -73,7 +81,11 @@ public abstract class PluginTask extends GameTickEvent implements Callable<Integ
 
 			resetCountdown();
 			setThreadRunning(true);
-			notifyAll();
+			resumed = true;
+			final Thread thread = getPluginThread();
+			if (thread != null) {
+				LockSupport.unpark(thread);
+			}
 		}
 	}
 
@@ -84,16 +96,39 @@ public abstract class PluginTask extends GameTickEvent implements Callable<Integ
 		unregisterPluginThread();
 	}
 
-	public synchronized void pause(final int ticks) {
-		try {
+	public void pause(final int ticks) {
+		synchronized (this) {
 			setDelayTicks(ticks);
+			resumed = false;
 			setThreadRunning(false);
-			//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " pausing script...");
-			wait();
-			//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " resuming script...");
-			setThreadRunning(true);
-		} catch (final InterruptedException ex) {
-			throw new PluginInterruptedException("pause() was interrupted", ex);
+		}
+		wakeTickThread();
+		//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " pausing script...");
+		while (!resumed) {
+			LockSupport.park(this);
+			if (Thread.interrupted()) {
+				throw new PluginInterruptedException("pause() was interrupted", new InterruptedException());
+			}
+		}
+		//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " resuming script...");
+		setThreadRunning(true);
+	}
+
+	/**
+	 * Blocks the calling game event thread until the script pauses or finishes, or for at most a millisecond.
+	 */
+	public void awaitPause() {
+		tickThread = Thread.currentThread();
+		if ((!isInitialized() || isThreadRunning()) && !isComplete()) {
+			LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		tickThread = null;
+	}
+
+	private void wakeTickThread() {
+		final Thread thread = tickThread;
+		if (thread != null) {
+			LockSupport.unpark(thread);
 		}
 	}
 
@@ -118,6 +153,7 @@ public abstract class PluginTask extends GameTickEvent implements Callable<Integ
 			tasksMap.remove(thread.getName());
 			thread.interrupt();
 		}
+		wakeTickThread();
 	}
 
 	public synchronized Future<Integer> submit() {
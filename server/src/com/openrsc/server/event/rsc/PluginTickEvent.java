@@ -31,20 +31,16 @@ public class PluginTickEvent extends GameTickEvent {
 			}
 		}
 
-		// Restart the plugin thread if it has waited long enough
+		// Restart the plugin thread. This event is only due once the script's pause has elapsed.
 		synchronized(getPluginTask()) {
 			//LOGGER.info(getDescriptor() + "  tick " + getWorld().getServer().getCurrentTick() + " ticking PluginTask...");
-			getPluginTask().doRun();
+			getPluginTask().run();
 		}
 
 		// Wait for the plugin to get to a pause point or finish completely. This also waits for the PluginTask to start which is also intended to run plugin code on tick bounds.
 		while((!getPluginTask().isInitialized() || getPluginTask().isThreadRunning()) && !getPluginTask().isComplete()) {
-			try {
-				//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " waiting for PluginTask on tick " + " (" + getPluginTask().isInitialized() + ", " + getPluginTask().isThreadRunning() + ", " + getPluginTask().isComplete() + ")");
-				Thread.sleep(1);
-			} catch (final InterruptedException ex) {
-				LOGGER.catching(ex);
-			}
+			//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " waiting for PluginTask on tick " + " (" + getPluginTask().isInitialized() + ", " + getPluginTask().isThreadRunning() + ", " + getPluginTask().isComplete() + ")");
+			getPluginTask().awaitPause();
 		}
 
 		//LOGGER.info(getDescriptor() + " tick " + getWorld().getServer().getCurrentTick() + " ending event tick");
@@ -54,6 +50,9 @@ public class PluginTickEvent extends GameTickEvent {
 			stop();
 			return;
 		}
+
+		// Sleep through the script's pause on the event scheduler instead of waking up every tick.
+		setDelayTicks(getPluginTask().getDelayTicks());
 	}
 
 	public void stop() {
@@ -3,8 +3,6 @@ package com.openrsc.server.io;
 import com.openrsc.server.constants.Constants;
 import com.openrsc.server.database.WorldPopulator;
 import com.openrsc.server.model.world.World;
-import com.openrsc.server.model.world.region.Region;
-import com.openrsc.server.model.world.region.RegionManager;
 import com.openrsc.server.model.world.region.TileValue;
 import com.openrsc.server.util.rsc.DataConversions;
 import org.apache.logging.log4j.LogManager;
@@ -67,11 +65,11 @@ public class WorldLoader {
 				Tile sectorTile = s.getTile(x, y);
 				TileValue tile = getWorld().getTile(bx, by);
 
-				tile.overlay = sectorTile.groundOverlay;
-				tile.diagWallVal = sectorTile.diagonalWalls;
-				tile.horizontalWallVal = sectorTile.horizontalWall;
-				tile.verticalWallVal = sectorTile.verticalWall;
-				tile.elevation = sectorTile.groundElevation;
+				tile.setOverlay(sectorTile.groundOverlay);
+				tile.setDiagWallVal(sectorTile.diagonalWalls);
+				tile.setHorizontalWallVal(sectorTile.horizontalWall);
+				tile.setVerticalWallVal(sectorTile.verticalWall);
+				tile.setElevation(sectorTile.groundElevation);
 
 				if ((sectorTile.groundOverlay & 0xff) == 250) {
 					sectorTile.groundOverlay = (byte) 2;
@@ -81,7 +79,7 @@ public class WorldLoader {
 				if (groundOverlay > 0
 					&& getWorld().getServer().getEntityHandler().getTileDef(groundOverlay - 1)
 					.getObjectType() != 0) {
-					tile.traversalMask |= 0x40; // 64
+					getWorld().getTiles().addTraversalFlags(bx, by, 0x40); // 64
 				}
 
 				final int verticalWall = sectorTile.verticalWall & 0xFF;
@@ -90,12 +88,12 @@ public class WorldLoader {
 					.getUnknown() == 0
 					&& getWorld().getServer().getEntityHandler().getDoorDef(verticalWall - 1)
 					.getDoorType() != 0) {
-					getWorld().getTile(bx, by).traversalMask |= 1; // 1
-					getWorld().getTile(bx, by - 1).traversalMask |= 4; // 4
+					getWorld().getTiles().addTraversalFlags(bx, by, 1); // 1
+					getWorld().getTiles().addTraversalFlags(bx, by - 1, 4); // 4
 
 					if (projectileClipAllowed(verticalWall)) {
-						tile.projectileAllowed = true;
-						getWorld().getTile(bx, by - 1).projectileAllowed = true;
+						tile.setProjectileAllowed(true);
+						getWorld().getTiles().setProjectileAllowed(bx, by - 1, true);
 					}
 				}
 
@@ -105,11 +103,11 @@ public class WorldLoader {
 					.getUnknown() == 0
 					&& getWorld().getServer().getEntityHandler().getDoorDef(horizontalWall - 1)
 					.getDoorType() != 0) {
-					tile.traversalMask |= 2; // 2
-					getWorld().getTile(bx - 1, by).traversalMask |= 8; // 8
+					getWorld().getTiles().addTraversalFlags(bx, by, 2); // 2
+					getWorld().getTiles().addTraversalFlags(bx - 1, by, 8); // 8
 					if (projectileClipAllowed(horizontalWall)) {
-						tile.projectileAllowed = true;
-						getWorld().getTile(bx - 1, by).projectileAllowed = true;
+						tile.setProjectileAllowed(true);
+						getWorld().getTiles().setProjectileAllowed(bx - 1, by, true);
 					}
 				}
 
@@ -120,9 +118,9 @@ public class WorldLoader {
 					.getUnknown() == 0
 					&& getWorld().getServer().getEntityHandler().getDoorDef(diagonalWalls - 1)
 					.getDoorType() != 0) {
-					tile.traversalMask |= 0x20; // 32
+					getWorld().getTiles().addTraversalFlags(bx, by, 0x20); // 32
 					if (projectileClipAllowed(diagonalWalls)) {
-						tile.projectileAllowed = true;
+						tile.setProjectileAllowed(true);
 					}
 				}
 				if (diagonalWalls > 12000
@@ -131,15 +129,15 @@ public class WorldLoader {
 					.getUnknown() == 0
 					&& getWorld().getServer().getEntityHandler().getDoorDef(diagonalWalls - 12001)
 					.getDoorType() != 0) {
-					tile.traversalMask |= 0x10; // 16
+					getWorld().getTiles().addTraversalFlags(bx, by, 0x10); // 16
 
 					if (projectileClipAllowed(diagonalWalls)) {
-						tile.projectileAllowed = true;
+						tile.setProjectileAllowed(true);
 					}
 				}
 
-				if (tile.overlay == 2 || tile.overlay == 11) {
-					tile.projectileAllowed = true;
+				if (tile.getOverlay() == 2 || tile.getOverlay() == 11) {
+					tile.setProjectileAllowed(true);
 				}
 			}
 		}
@@ -176,23 +174,6 @@ public class WorldLoader {
 			}
 		}
 
-		// Detect if all tiles in each Region are equal, and if so only store that fact rather than array of all tiles.
-		// There are a lot of "null" sectors in the map file and storing tile values for all eats a lot of memory.
-		// The authentic map file may have a way to flag null regions and only use one tile value across the entire thing
-		// Unfortunately, the map files we are using currently do not support that feature so we need to detect
-		// Unfortunately, we also have to allocate all the tiles and then clear them because the process of loading a sector can effect other sectors.
-		// Downside is that Scenery/Boundary spawn can change tile values, and if one is spawned in a "null region," then we will not be able to change the tile value from the Scenery/Boundary spawn.
-
-		final RegionManager regionManager = getWorld().getRegionManager();
-		for (int lvl = 0; lvl < 4; lvl++) {
-			for (int sx = 0; sx < 20; sx++) {
-				for (int sy = 0; sy < 20; sy++) {
-					final Region region = regionManager.getRegion(sx * Constants.REGION_SIZE, sy * Constants.REGION_SIZE + (Constants.REGION_SIZE * 20 * lvl));
-					region.checkRegionValues();
-				}
-			}
-		}
-
 		LOGGER.info((System.currentTimeMillis() - start) + "ms to load landscape with " + sectors + " regions.");
 	}
 
@@ -10,5 +10,12 @@ public abstract class LoginExecutorProcess {
 
 	public final boolean isProcessed() { return processed; }
 
+	/**
+	 * @return The address of the client the request came from, or null for requests the server makes itself.
+	 */
+	public String getIpAddress() {
+		return null;
+	}
+
 	abstract protected void processInternal();
 }
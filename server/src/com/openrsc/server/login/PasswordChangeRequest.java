@@ -34,6 +34,11 @@ public class PasswordChangeRequest extends LoginExecutorProcess {
 		this.setNewPassword(newPassword);
 	}
 
+	@Override
+	public String getIpAddress() {
+		return getPlayer().getCurrentIP();
+	}
+
 	public Player getPlayer() {
 		return player;
 	}
@@ -2,6 +2,7 @@ package com.openrsc.server.login;
 
 import com.openrsc.server.Server;
 import com.openrsc.server.database.GameDatabaseException;
+import com.openrsc.server.database.PlayerSave;
 import com.openrsc.server.model.entity.player.Player;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,11 +18,13 @@ public class PlayerSaveRequest extends LoginExecutorProcess {
 
 	private final Server server;
 	private final Player player;
+	private final PlayerSave playerSave;
 	private final boolean logout;
 
-	public PlayerSaveRequest(final Server server, final Player player, boolean logout) {
+	public PlayerSaveRequest(final Server server, final Player player, final PlayerSave playerSave, boolean logout) {
 		this.server = server;
 		this.player = player;
+		this.playerSave = playerSave;
 		this.logout = logout;
 	}
 
@@ -36,9 +39,18 @@ public class PlayerSaveRequest extends LoginExecutorProcess {
 	protected void processInternal() {
 		//LOGGER.info("Saved player " + playerToSave.getUsername() + "");
 		try {
-			boolean success = getServer().getDatabase().savePlayer(getPlayer());
-			if (success && this.logout) getPlayer().logoutSaveSuccess();
+			boolean success = getServer().getDatabase().savePlayer(playerSave, this.logout);
+			if (success && this.logout) {
+				// Logging out walks the world's players and clans, so it is finished on the game thread.
+				if (getServer().isOffGameThread()) {
+					getServer().getGameEventHandler().submit(() -> getPlayer().logoutSaveSuccess(), "Logout Player");
+				} else {
+					getPlayer().logoutSaveSuccess();
+				}
+			}
+			if (!success && playerSave.hasNpcKills()) getPlayer().setKillCacheUpdated(true);
 		} catch (final GameDatabaseException ex) {
+			if (playerSave.hasNpcKills()) getPlayer().setKillCacheUpdated(true);
 			LOGGER.catching(ex);
 		}
 	}
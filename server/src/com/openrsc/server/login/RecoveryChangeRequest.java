@@ -34,6 +34,11 @@ public class RecoveryChangeRequest extends LoginExecutorProcess{
 		this.setQuestions(questions);
 	}
 
+	@Override
+	public String getIpAddress() {
+		return getPlayer().getCurrentIP();
+	}
+
 	public Player getPlayer() {
 		return player;
 	}
@@ -1,419 +1,420 @@
 package com.openrsc.server.model;
 
+import com.openrsc.server.model.Path.PathType;
+import com.openrsc.server.model.entity.Mob;
 import com.openrsc.server.model.world.World;
-import com.openrsc.server.model.world.region.TileValue;
+import com.openrsc.server.model.world.region.TileStore;
+import com.openrsc.server.util.LongObjectHashMap;
 import com.openrsc.server.util.rsc.CollisionFlag;
-
-import javax.swing.*;
-import java.awt.*;
-import java.util.ArrayList;
-
-public class AStarPathfinder {
-
-	boolean debug = false;
-	//JPanel2 panel = new JPanel2();
-	//JFrame frame = new JFrame();
-	//javax.swing.GroupLayout layout = new javax.swing.GroupLayout(panel);
-	final static int basicCost = 10;
-	final static int diagCost = 14;
-	private int depth;
-	private Node[][] costBoard = null;
-	private Path bestPath = null;
-	private Point worldStart;
-	private Point pointStart;
-	private Point pointEnd;
-	private Point currentPosition;
-	long starttime;
-	long endtime;
-	private Path path;
-	private ArrayList<Node> openNodes = new ArrayList<>();
-	private ArrayList<Node> closedNodes = new ArrayList<>();
-
-	public AStarPathfinder(World world, Point start, Point end, int depth) {
-		this.worldStart = start;
-		this.pointStart = new Point(depth,depth);
-		this.pointEnd = new Point((start.getX()+depth)-end.getX(), end.getY() - (start.getY() - depth));
-		this.depth = depth;
-		this.generateTraversalInfo(world, start, depth);
-		/*
-		if (debug) {
-			panel.setLayout(layout);
-			frame.add(panel);
-			frame.setSize(600, 600);
-			frame.setVisible(true);
-		}
-		 */
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Finds paths with A* over the square of tiles within depth of the mob.
+ *
+ * Each thread keeps one pathfinder whose scratch arrays are reused by every search. Cells are stamped with the search
+ * that last touched them instead of being cleared, and a cell's walls are only read from the TileStore when the search
+ * first reaches it. Open cells are kept in a binary heap ordered by estimated total cost, then cost so far, then the
+ * order they were opened in.
+ *
+ * The square is indexed as a board whose x grows to the east, against world x which grows to the west.
+ *
+ * Paths are cached by start, goal and depth until the tick ends or a traversal mask changes, so NPCs chasing the same
+ * target from the same tile share one search. With check_path_cache set, every cached path is checked against a fresh
+ * search.
+ */
+public final class AStarPathfinder {
+	/**
+	 * The asynchronous logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private static final int BASIC_COST = 10;
+	private static final int DIAG_COST = 14;
+
+	private static final int SOUTH = 1;
+	private static final int WEST = 2;
+	private static final int NORTH = 4;
+	private static final int EAST = 8;
+
+	private static final byte INIT = 0;
+	private static final byte OPEN = 1;
+	private static final byte CLOSED = 2;
+
+	/**
+	 * The deepest search that is cached, as the cache key holds the depth in 8 bits.
+	 */
+	private static final int MAX_CACHED_DEPTH = 0xFF;
+
+	/**
+	 * Cached for goals that cannot be reached, told apart from empty paths by identity.
+	 */
+	private static final int[] NO_PATH = new int[0];
+
+	private static final ThreadLocal<AStarPathfinder> PATHFINDERS = ThreadLocal.withInitial(AStarPathfinder::new);
+
+	private int[] stamps = new int[0];
+	private byte[] walls = new byte[0];
+	private byte[] states = new byte[0];
+	private int[] costs = new int[0];
+	private int[] totals = new int[0];
+	private int[] parents = new int[0];
+	private int[] openOrder = new int[0];
+	private int[] heap = new int[0];
+	private int[] heapIndex = new int[0];
+	private int stamp = 0;
+	private int heapSize;
+	private int openCount;
+
+	private TileStore tiles;
+	private int size;
+	private int originX;
+	private int originY;
+	private int goalBoardX;
+	private int goalBoardY;
+
+	private final LongObjectHashMap<int[]> cache = new LongObjectHashMap<>();
+	private long cacheTick = -1;
+	private int cacheVersion;
+
+	private AStarPathfinder() {
 	}
 
-	public void feedPath(Path path) {
-		this.path = path;
+	/**
+	 * @return A path that takes the mob next to the goal, or null if there is none within depth tiles.
+	 */
+	public static Path findPath(final Mob mob, final int goalX, final int goalY, final int depth) {
+		final int[] steps = PATHFINDERS.get().find(mob.getWorld(), mob.getX(), mob.getY(), goalX, goalY, depth);
+		if (steps == null) {
+			return null;
+		}
+		final Path path = new Path(mob, PathType.WALK_TO_ENTITY);
+		for (int i = 0; i < steps.length; i += 2) {
+			path.addDirect(steps[i], steps[i + 1]);
+		}
+		return path;
 	}
-	public void generateTraversalInfo(World world, Point center, int depth) {
-		if (depth < 1)
-			return;
 
-		costBoard = new Node[2*depth + 1][2*depth + 1];
-		initBoard(costBoard);
-		int curposx, curposy;
-		for (int x = -depth; x <= depth; x++) {
-			for (int y = -depth; y <= depth; y++) {
-				TileValue tile = world.getTile(center.getX() - x, center.getY() + y);
-				if (tile == null) {
-					continue;
+	/**
+	 * @return The x and y of each step in the order they are added to the front of the path, or null if the goal
+	 * cannot be reached.
+	 */
+	private int[] find(final World world, final int startX, final int startY, final int goalX, final int goalY, final int depth) {
+		if (depth < 1) {
+			return null;
+		}
+		final int boardSize = 2 * depth + 1;
+		final int boardX = startX + depth - goalX;
+		final int boardY = goalY - startY + depth;
+		if (boardX == depth && boardY == depth) {
+			return null;
+		}
+		// The search never leaves the board, so a goal off it cannot be reached.
+		if (boardX < 0 || boardX >= boardSize || boardY < 0 || boardY >= boardSize) {
+			return null;
+		}
+
+		final boolean cacheable = depth <= MAX_CACHED_DEPTH
+			&& TileStore.withinWorld(startX, startY) && TileStore.withinWorld(goalX, goalY);
+		long key = 0;
+		if (cacheable) {
+			final long tick = world.getServer().getCurrentTick();
+			final int version = world.getTiles().getTraversalVersion();
+			if (tick != cacheTick || version != cacheVersion) {
+				if (!cache.isEmpty()) {
+					cache.clear();
 				}
-				curposx = x + depth;
-				curposy = y + depth;
-
-				if ((tile.traversalMask & (CollisionFlag.FULL_BLOCK_A | CollisionFlag.FULL_BLOCK_B | CollisionFlag.FULL_BLOCK_C)) != 0) {
-					if (y < depth) {
-						costBoard[curposx][curposy+1].northBlocked = true;
-					}
-					if (x > -depth) {
-						costBoard[curposx-1][curposy].eastBlocked = true;
-					}
-					if (y > -depth) {
-						costBoard[curposx][curposy-1].southBlocked = true;
-					}
-					if (x < depth) {
-						costBoard[curposx+1][curposy].westBlocked = true;
-					}
-				} else {
-					if (!costBoard[curposx][curposy].southBlocked)
-						costBoard[curposx][curposy].southBlocked = (tile.traversalMask & CollisionFlag.SOUTH_BLOCKED) != 0;
-					if (!costBoard[curposx][curposy].westBlocked)
-						costBoard[curposx][curposy].westBlocked = (tile.traversalMask & CollisionFlag.WEST_BLOCKED) != 0;
-					if (!costBoard[curposx][curposy].northBlocked)
-						costBoard[curposx][curposy].northBlocked = (tile.traversalMask & CollisionFlag.NORTH_BLOCKED) != 0;
-					if (!costBoard[curposx][curposy].eastBlocked)
-						costBoard[curposx][curposy].eastBlocked = (tile.traversalMask & CollisionFlag.EAST_BLOCKED) != 0;
+				cacheTick = tick;
+				cacheVersion = version;
+			}
+			// Both coordinates fit in 10 bits for x and 12 bits for y.
+			key = ((long) depth << 44) | ((long) startX << 34) | ((long) startY << 22) | ((long) goalX << 12) | goalY;
+			final int[] cached = cache.get(key);
+			if (cached != null) {
+				if (world.getServer().getConfig().CHECK_PATH_CACHE) {
+					checkCachedPath(world.getTiles(), startX, startY, goalX, goalY, boardX, boardY, depth, cached);
 				}
+				return cached == NO_PATH ? null : cached;
 			}
 		}
-	}
 
-	private int calcDistance(Point one, Point two) {
-		int xdiff = Math.abs(one.getX() - two.getX());
-		int ydiff = Math.abs(one.getY() - two.getY());
-
-		int shortL = xdiff > ydiff ? ydiff : xdiff;
-		int longL = xdiff > ydiff ? xdiff : ydiff;
-
-		return shortL * diagCost + (longL - shortL) * basicCost;
+		final int[] steps = search(world.getTiles(), startX, startY, boardX, boardY, depth);
+		if (cacheable) {
+			cache.put(key, steps == null ? NO_PATH : steps);
+		}
+		return steps;
 	}
 
-	public Node findNextNode() {
-		int minimum = Integer.MAX_VALUE;
-		Node minNode = null;
-		for (Node node : openNodes) {
-			if (node.hCost < minimum) {
-				minimum = node.hCost;
-				minNode = node;
-			} else if (node.hCost == minimum && node.fCost < minNode.fCost)
-				minNode = node;
-
+	private void checkCachedPath(final TileStore tiles, final int startX, final int startY, final int goalX, final int goalY,
+		final int boardX, final int boardY, final int depth, final int[] cached) {
+		final int[] searched = search(tiles, startX, startY, boardX, boardY, depth);
+		if (!Arrays.equals(searched == null ? NO_PATH : searched, cached)) {
+			LOGGER.error("Cached path from (" + startX + ", " + startY + ") to (" + goalX + ", " + goalY + ") within " + depth
+				+ " is " + Arrays.toString(cached) + " but a fresh search finds " + Arrays.toString(searched));
 		}
-		return minNode;
 	}
 
-	private Path buildPath() {
-		Point parent = closedNodes.get(closedNodes.size()-1).parent;
-		Node endNode = costBoard[parent.getX()][parent.getY()];
-		while (endNode != null) {
-			int worldX = worldStart.getX() + depth - endNode.position.getX();
-			int worldY = worldStart.getY() - depth + endNode.position.getY();
-			if (endNode.parent == null)
-				endNode = null;
-			else {
-				path.addDirect(worldX, worldY);
-				endNode = costBoard[endNode.parent.getX()][endNode.parent.getY()];
+	private int[] search(final TileStore tiles, final int startX, final int startY, final int boardX, final int boardY, final int depth) {
+		this.tiles = tiles;
+		this.size = 2 * depth + 1;
+		this.originX = startX + depth;
+		this.originY = startY - depth;
+		this.goalBoardX = boardX;
+		this.goalBoardY = boardY;
+		ensureCapacity(size * size);
+		if (++stamp == 0) {
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+		heapSize = 0;
+		openCount = 0;
+
+		try {
+			final int start = depth * size + depth;
+			final int goal = boardX * size + boardY;
+			touch(start);
+			costs[start] = 0;
+			parents[start] = -1;
+			states[start] = CLOSED;
+			expand(start);
+
+			while (heapSize > 0) {
+				final int cell = poll();
+				if (cell == goal) {
+					return buildSteps(start, goal);
+				}
+				states[cell] = CLOSED;
+				expand(cell);
 			}
-
+			return null;
+		} finally {
+			this.tiles = null;
 		}
-		return path;
 	}
 
-	public Path findPath() {
-		if (depth < 1)
-			return null;
-
-		if (pointStart.getX() == pointEnd.getX()
-		&& pointStart.getY() == pointEnd.getY())
-			return null;
-
-		boolean quit = false;
-		starttime = System.currentTimeMillis();
-		costBoard[depth][depth].selectNode();
-
-		while (true) {
-			Node next = findNextNode();
-			endtime = System.currentTimeMillis();
-			if (next == null)
-				return null;
-
-			if (next.position.getX() == pointEnd.getX()
-			&& next.position.getY() == pointEnd.getY()) {
-				closedNodes.add(next);
-				return buildPath();
-			}
-
-
-			next.selectNode();
-			if (debug) {
-			//	panel.repaint();
-
-				/*
-				// We should no longer put threads to sleep
-				try {
-					Thread.sleep(100);
-				} catch (InterruptedException a) {
-					a.printStackTrace();
-				}*/
+	/**
+	 * Lists the cells from the one before the goal back to the one after the start, as the mob stops next to the goal.
+	 */
+	private int[] buildSteps(final int start, final int goal) {
+		int count = 0;
+		for (int cell = parents[goal]; cell != start; cell = parents[cell]) {
+			count++;
+		}
+		final int[] steps = new int[count * 2];
+		int i = 0;
+		for (int cell = parents[goal]; cell != start; cell = parents[cell]) {
+			steps[i++] = originX - cell / size;
+			steps[i++] = originY + cell % size;
+		}
+		return steps;
+	}
 
-			}
+	private void expand(final int cell) {
+		final int boardX = cell / size;
+		final int boardY = cell % size;
+		final int last = size - 1;
+		final int cellWalls = walls[cell];
+		final boolean south = (cellWalls & SOUTH) != 0;
+		final boolean west = (cellWalls & WEST) != 0;
+		final boolean north = (cellWalls & NORTH) != 0;
+		final boolean east = (cellWalls & EAST) != 0;
+
+		if (!south && boardY < last) {
+			update(cell, cell + 1, BASIC_COST);
+		}
+		if (!west && boardX > 0) {
+			update(cell, cell - size, BASIC_COST);
+		}
+		if (!north && boardY > 0) {
+			update(cell, cell - 1, BASIC_COST);
+		}
+		if (!east && boardX < last) {
+			update(cell, cell + size, BASIC_COST);
+		}
+		// A diagonal step also needs both tiles it cuts past to be open towards the destination.
+		if (!(south || west) && boardX > 0 && boardY < last
+			&& isOpen(cell - size, SOUTH) && isOpen(cell + 1, WEST)) {
+			update(cell, cell - size + 1, DIAG_COST);
+		}
+		if (!(north || west) && boardX > 0 && boardY > 0
+			&& isOpen(cell - size, NORTH) && isOpen(cell - 1, WEST)) {
+			update(cell, cell - size - 1, DIAG_COST);
+		}
+		if (!(north || east) && boardX < last && boardY > 0
+			&& isOpen(cell + size, NORTH) && isOpen(cell - 1, EAST)) {
+			update(cell, cell + size - 1, DIAG_COST);
+		}
+		if (!(south || east) && boardX < last && boardY < last
+			&& isOpen(cell + size, SOUTH) && isOpen(cell + 1, EAST)) {
+			update(cell, cell + size + 1, DIAG_COST);
 		}
 	}
 
-	private void initBoard(Node[][] board) {
-		if (board == null)
-			return;
+	private boolean isOpen(final int cell, final int direction) {
+		touch(cell);
+		return (walls[cell] & direction) == 0;
+	}
 
-		for(int i = 0; i < board[0].length; i++) {
-			for (int j = 0; j < board[0].length; j++) {
-				board[i][j] = new Node(i,j);
-			}
+	private void update(final int from, final int to, final int stepCost) {
+		touch(to);
+		if (states[to] == CLOSED) {
+			return;
+		}
+		final int cost = costs[from] + stepCost;
+		if (states[to] == INIT) {
+			states[to] = OPEN;
+			costs[to] = cost;
+			totals[to] = cost + estimate(to);
+			parents[to] = from;
+			openOrder[to] = openCount++;
+			push(to);
+		} else if (cost <= costs[to]) {
+			costs[to] = cost;
+			totals[to] = cost + estimate(to);
+			parents[to] = from;
+			siftUp(heapIndex[to]);
 		}
 	}
 
-	public boolean diagBlocked(Node node, adjacent_direction dir) {
-		Node neighbor1 = null;
-		Node neighbor2 = null;
-		if (dir == adjacent_direction.SOUTHWEST) {
-			neighbor1 = node.getNeighbor(adjacent_direction.WEST);
-			if (neighbor1 != null) {
-				neighbor2 = node.getNeighbor(adjacent_direction.SOUTH);
-				if (neighbor2 != null) {
-					if (!neighbor1.southBlocked && !neighbor2.westBlocked)
-						return false;
-				}
+	private int estimate(final int cell) {
+		final int xDiff = Math.abs(cell / size - goalBoardX);
+		final int yDiff = Math.abs(cell % size - goalBoardY);
+		final int shortL = Math.min(xDiff, yDiff);
+		final int longL = Math.max(xDiff, yDiff);
+		return shortL * DIAG_COST + (longL - shortL) * BASIC_COST;
+	}
+
+	/**
+	 * Resets a cell the first time the current search reaches it, reading its walls from the world.
+	 */
+	private void touch(final int cell) {
+		if (stamps[cell] == stamp) {
+			return;
+		}
+		stamps[cell] = stamp;
+		states[cell] = INIT;
+
+		final int boardX = cell / size;
+		final int boardY = cell % size;
+		final int x = originX - boardX;
+		final int y = originY + boardY;
+		final int mask = tiles.getTraversalMask(x, y);
+		int cellWalls = 0;
+		if ((mask & CollisionFlag.FULL_BLOCK) == 0) {
+			if ((mask & CollisionFlag.SOUTH_BLOCKED) != 0) {
+				cellWalls |= SOUTH;
 			}
-		} else if (dir == adjacent_direction.NORTHWEST) {
-			neighbor1 = node.getNeighbor(adjacent_direction.WEST);
-			if (neighbor1 != null) {
-				neighbor2 = node.getNeighbor(adjacent_direction.NORTH);
-				if (neighbor2 != null) {
-					if (!neighbor1.northBlocked && !neighbor2.westBlocked)
-						return false;
-				}
+			if ((mask & CollisionFlag.WEST_BLOCKED) != 0) {
+				cellWalls |= WEST;
 			}
-		} else if (dir == adjacent_direction.NORTHEAST) {
-			neighbor1 = node.getNeighbor(adjacent_direction.EAST);
-			if (neighbor1 != null) {
-				neighbor2 = node.getNeighbor(adjacent_direction.NORTH);
-				if (neighbor2 != null) {
-					if (!neighbor1.northBlocked && !neighbor2.eastBlocked)
-						return false;
-				}
+			if ((mask & CollisionFlag.NORTH_BLOCKED) != 0) {
+				cellWalls |= NORTH;
 			}
-		} else if (dir == adjacent_direction.SOUTHEAST) {
-			neighbor1 = node.getNeighbor(adjacent_direction.EAST);
-			if (neighbor1 != null) {
-				neighbor2 = node.getNeighbor(adjacent_direction.SOUTH);
-				if (neighbor2 != null) {
-					if (!neighbor1.southBlocked && !neighbor2.eastBlocked)
-						return false;
-				}
+			if ((mask & CollisionFlag.EAST_BLOCKED) != 0) {
+				cellWalls |= EAST;
 			}
 		}
-		return true;
+		// Fully blocked neighbours on the board close the side facing them.
+		final int last = size - 1;
+		if (boardY < last && isFullBlock(x, y + 1)) {
+			cellWalls |= SOUTH;
+		}
+		if (boardX > 0 && isFullBlock(x + 1, y)) {
+			cellWalls |= WEST;
+		}
+		if (boardY > 0 && isFullBlock(x, y - 1)) {
+			cellWalls |= NORTH;
+		}
+		if (boardX < last && isFullBlock(x - 1, y)) {
+			cellWalls |= EAST;
+		}
+		walls[cell] = (byte) cellWalls;
 	}
 
-	public long getRunTime() { return endtime - starttime; }
-
-	public class Node {
-		int fCost, gCost, hCost;
-		node_state state;
-		boolean southBlocked = false;
-		boolean northBlocked = false;
-		boolean westBlocked = false;
-		boolean eastBlocked = false;
-		public Point position;
-		Point parent;
-
-		public Node(int x, int y) {
-			position = new Point(x,y);
-			fCost = 0;
-			gCost = 0;
-			hCost = 0;
-			state = node_state.INIT;
-		}
-
-		public void setState(node_state state) {
-			this.state = state;
-		}
-
-		public void update(Node node, int cost) {
-			if (this.state == node_state.INIT) {
-				this.setState(node_state.OPEN);
-				this.fCost = node.fCost + cost;
-				calcGCost();
-				openNodes.add(this);
-			} else if (this.state == node_state.CLOSED)
-				return;
-			else {
-				int newFcost = node.fCost + cost;
-				if (newFcost > this.fCost)
-					return;
-				this.fCost = newFcost;
-			}
-			calcHCost();
-			this.parent = node.position;
-		}
-
-		public void calcGCost() {
-			gCost = calcDistance(this.position, pointEnd);
-		}
-
-		public void calcHCost() {
-			hCost = fCost + gCost;
-		}
-
-		public Node getNeighbor(adjacent_direction dir) {
-			switch (dir) {
-				case SOUTH:
-					if (position.getY() < 2*depth)
-						return costBoard[position.getX()][position.getY()+1];
-					else
-						return null;
-				case SOUTHWEST:
-					if (position.getY() < 2*depth && position.getX() > 0)
-						return costBoard[position.getX()-1][position.getY()+1];
-					else
-						return null;
-				case WEST:
-					if (position.getX() > 0)
-						return costBoard[position.getX()-1][position.getY()];
-					else
-						return null;
-				case NORTHWEST:
-					if (position.getY() > 0 && position.getX() > 0)
-						return costBoard[position.getX()-1][position.getY()-1];
-					else
-						return null;
-				case NORTH:
-					if (position.getY() > 0)
-						return costBoard[position.getX()][position.getY()-1];
-					else
-						return null;
-				case NORTHEAST:
-					if (position.getY() > 0 && position.getX() < 2*depth)
-						return costBoard[position.getX()+1][position.getY()-1];
-					else
-						return null;
-				case EAST:
-					if (position.getX() < 2*depth)
-						return costBoard[position.getX()+1][position.getY()];
-					else
-						return null;
-				case SOUTHEAST:
-					if (position.getY() < 2*depth && position.getX() < 2*depth)
-						return costBoard[position.getX()+1][position.getY()+1];
-					else
-						return null;
-			}
-			return null;
-		}
+	private boolean isFullBlock(final int x, final int y) {
+		return (tiles.getTraversalMask(x, y) & CollisionFlag.FULL_BLOCK) != 0;
+	}
 
-		private void selectNode() {
-			if (state == node_state.OPEN)
-				openNodes.remove(this);
-
-			setState(node_state.CLOSED);
-			closedNodes.add(this);
-			Node neighbor = null;
-			//South to SouthEast
-			if (!southBlocked && (neighbor = getNeighbor(adjacent_direction.SOUTH)) != null)
-				neighbor.update(this, basicCost);
-			if (!westBlocked && (neighbor = getNeighbor(adjacent_direction.WEST)) != null)
-				neighbor.update(this, basicCost);
-			if (!northBlocked && (neighbor = getNeighbor(adjacent_direction.NORTH)) != null)
-				neighbor.update(this, basicCost);
-			if (!eastBlocked && (neighbor = getNeighbor(adjacent_direction.EAST)) != null)
-				neighbor.update(this, basicCost);
-			if (!(southBlocked || westBlocked) && !diagBlocked(this, adjacent_direction.SOUTHWEST)
-				&& (neighbor = getNeighbor(adjacent_direction.SOUTHWEST)) != null)
-				neighbor.update(this, diagCost);
-			if (!(northBlocked || westBlocked) && !diagBlocked(this, adjacent_direction.NORTHWEST)
-				&& (neighbor = getNeighbor(adjacent_direction.NORTHWEST)) != null)
-				neighbor.update(this, diagCost);
-			if (!(northBlocked || eastBlocked) && !diagBlocked(this, adjacent_direction.NORTHEAST)
-				&& (neighbor = getNeighbor(adjacent_direction.NORTHEAST)) != null)
-				neighbor.update(this, diagCost);
-			if (!(southBlocked || eastBlocked) && !diagBlocked(this, adjacent_direction.SOUTHEAST)
-				&& (neighbor = getNeighbor(adjacent_direction.SOUTHEAST)) != null)
-				neighbor.update(this, diagCost);
+	private boolean isBefore(final int a, final int b) {
+		if (totals[a] != totals[b]) {
+			return totals[a] < totals[b];
+		}
+		if (costs[a] != costs[b]) {
+			return costs[a] < costs[b];
 		}
+		return openOrder[a] < openOrder[b];
 	}
 
+	private void push(final int cell) {
+		heap[heapSize] = cell;
+		heapIndex[cell] = heapSize;
+		siftUp(heapSize++);
+	}
 
-	public enum node_state{
-		INIT,
-		OPEN,
-		CLOSED
+	private int poll() {
+		final int first = heap[0];
+		final int lastCell = heap[--heapSize];
+		if (heapSize > 0) {
+			heap[0] = lastCell;
+			heapIndex[lastCell] = 0;
+			siftDown(0);
+		}
+		return first;
 	}
 
-	public enum adjacent_direction{
-		SOUTH,
-		SOUTHWEST,
-		WEST,
-		NORTHWEST,
-		NORTH,
-		NORTHEAST,
-		EAST,
-		SOUTHEAST
+	private void siftUp(int index) {
+		final int cell = heap[index];
+		while (index > 0) {
+			final int parent = (index - 1) >>> 1;
+			final int parentCell = heap[parent];
+			if (!isBefore(cell, parentCell)) {
+				break;
+			}
+			heap[index] = parentCell;
+			heapIndex[parentCell] = index;
+			index = parent;
+		}
+		heap[index] = cell;
+		heapIndex[cell] = index;
 	}
 
-	/*debug code*/
-	class JPanel2 extends JPanel {
-		int width = 20;
-		JPanel2() {
-		}
-
-
-		@Override
-		public void paintComponent(Graphics g) {
-			super.paintComponent(g);
-			g.setFont(new Font("Arial",1,10));
-			for (Node[] nodes : costBoard) {
-				for (Node node : nodes) {
-					g.setColor(Color.black);
-					g.drawRect(node.position.getX()*width, node.position.getY()*width, width, width);
-					g.setColor(Color.red);
-					if (node.southBlocked)
-						g.fillRect(node.position.getX()*width, node.position.getY()*width+width - 4,width,3);
-					if (node.eastBlocked)
-						g.fillRect(node.position.getX()*width + width - 4, node.position.getY()*width,3,width);
-					if (node.northBlocked)
-						g.fillRect(node.position.getX()*width, node.position.getY()*width+1,width,3);
-					if (node.westBlocked)
-						g.fillRect(node.position.getX()*width+1, node.position.getY()*width,3,width);
-					if (node.state == node_state.OPEN) {
-						g.setColor(Color.green);
-						g.drawString("" + node.hCost, node.position.getX()*width, node.position.getY()*width + width/2);
-					} else if (node.state == node_state.CLOSED) {
-						g.setColor(Color.red);
-						g.drawString("" + node.hCost, node.position.getX()*width, node.position.getY()*width + width/2);
-					}
-				}
+	private void siftDown(int index) {
+		final int cell = heap[index];
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+				child++;
 			}
-			Node guy = closedNodes.get(closedNodes.size()-1);
-			g.setColor(Color.ORANGE);
-			while (guy != null) {
-				g.fillRect(guy.position.getX() * width, guy.position.getY()*width, 5,5);
-				if (guy.parent == null)
-					guy = null;
-				else
-					guy = costBoard[guy.parent.getX()][guy.parent.getY()];
+			final int childCell = heap[child];
+			if (!isBefore(childCell, cell)) {
+				break;
 			}
+			heap[index] = childCell;
+			heapIndex[childCell] = index;
+			index = child;
+		}
+		heap[index] = cell;
+		heapIndex[cell] = index;
+	}
+
+	private void ensureCapacity(final int cells) {
+		if (stamps.length >= cells) {
+			return;
 		}
+		stamps = new int[cells];
+		walls = new byte[cells];
+		states = new byte[cells];
+		costs = new int[cells];
+		totals = new int[cells];
+		parents = new int[cells];
+		openOrder = new int[cells];
+		heap = new int[cells];
+		heapIndex = new int[cells];
+		stamp = 0;
 	}
 }
@@ -5,14 +5,10 @@ import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
 import com.openrsc.server.model.world.World;
 import com.openrsc.server.model.world.region.Region;
-import com.openrsc.server.model.world.region.TileValue;
 import com.openrsc.server.util.rsc.CollisionFlag;
 
-import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class PathValidation {
 
@@ -168,12 +164,11 @@ public class PathValidation {
 	}
 
 	private static boolean checkBlockingDistance(World world, int x, int y, int bit, boolean isCurrentTile, boolean ignoreProjectileAllowed) {
-		TileValue t = world.getTile(x, y);
-		if (!ignoreProjectileAllowed && t.projectileAllowed) {
+		if (!ignoreProjectileAllowed && world.getTiles().isProjectileAllowed(x, y)) {
 			return false;
 		}
 
-		return isBlocking(t.traversalMask, (byte) bit, isCurrentTile);
+		return isBlocking(world.getTiles().getTraversalMask(x, y), (byte) bit, isCurrentTile);
 	}
 
 	public static boolean isBlocking(int objectValue, byte bit, boolean isCurrentTile) {
@@ -222,7 +217,7 @@ public class PathValidation {
 
 	// returns true if the point is *not* blocked by anything
 	static boolean checkPoint(World world, Point point) {
-		return (world.getTile(point.getX(), point.getY()).traversalMask & CollisionFlag.FULL_BLOCK) == 0;
+		return (world.getTiles().getTraversalMask(point.getX(), point.getY()) & CollisionFlag.FULL_BLOCK) == 0;
 	}
 
 	private static boolean checkNortheast(World world, Point curPoint) {
@@ -233,19 +228,19 @@ public class PathValidation {
 		// Object east
 		// |   or   |
 		//  \        X
-		int mask = world.getTile(x - 1, y).traversalMask;
+		int mask = world.getTiles().getTraversalMask(x - 1, y);
 		boolean blocking = (mask & (CollisionFlag.FULL_BLOCK_A + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on north tile, east side
-			mask = world.getTile(x, y - 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x, y - 1);
 			blocking = (mask & CollisionFlag.WALL_EAST) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on northeast tile, west side
-			mask = world.getTile(x - 1, y - 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y - 1);
 			blocking = (mask & CollisionFlag.WALL_WEST) != 0;
 			if (blocking) {
 				return true;
@@ -254,19 +249,19 @@ public class PathValidation {
 
 		// Object north
 		// \__  or  X__
-		mask = world.getTile(x, y - 1).traversalMask;
+		mask = world.getTiles().getTraversalMask(x, y - 1);
 		blocking = (mask & (CollisionFlag.FULL_BLOCK_A + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on east tile, north side
-			mask = world.getTile(x - 1, y).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y);
 			blocking = (mask & CollisionFlag.WALL_NORTH) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on northeast tile, south side
-			mask = world.getTile(x - 1, y - 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y - 1);
 			blocking = (mask & CollisionFlag.WALL_SOUTH) != 0;
 			return blocking;
 
@@ -284,19 +279,19 @@ public class PathValidation {
 		// Object west
 		//   |  or  |
 		//  /      X
-		int mask = world.getTile(x + 1, y).traversalMask;
+		int mask = world.getTiles().getTraversalMask(x + 1, y);
 		boolean blocking = (mask & (CollisionFlag.FULL_BLOCK_B + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on north tile, west side
-			mask = world.getTile(x, y - 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x, y - 1);
 			blocking = (mask & CollisionFlag.WALL_WEST) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on northwest tile, east side
-			mask = world.getTile(x + 1, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y + 1);
 			blocking = (mask & CollisionFlag.WALL_EAST) != 0;
 			if (blocking) {
 				return true;
@@ -305,19 +300,19 @@ public class PathValidation {
 
 		// Object north
 		// __/  or  __X
-		mask = world.getTile(x, y - 1).traversalMask;
+		mask = world.getTiles().getTraversalMask(x, y - 1);
 		blocking = (mask & (CollisionFlag.FULL_BLOCK_B + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on west tile, north side
-			mask = world.getTile(x + 1, y).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y);
 			blocking = (mask & CollisionFlag.WALL_NORTH) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on northwest tile, south side
-			mask = world.getTile(x + 1, y - 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y - 1);
 			blocking = (mask & CollisionFlag.WALL_SOUTH) != 0;
 			return blocking;
 
@@ -334,19 +329,19 @@ public class PathValidation {
 		// Object east
 		//   /  or   X
 		//  |       |
-		int mask = world.getTile(x - 1, y).traversalMask;
+		int mask = world.getTiles().getTraversalMask(x - 1, y);
 		boolean blocking = (mask & (CollisionFlag.FULL_BLOCK_B + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on south tile, east side
-			mask = world.getTile(x, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x, y + 1);
 			blocking = (mask & CollisionFlag.WALL_EAST) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on southeast tile, west side
-			mask = world.getTile(x - 1, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y + 1);
 			blocking = (mask & CollisionFlag.WALL_WEST) != 0;
 			if (blocking) {
 				return true;
@@ -356,19 +351,19 @@ public class PathValidation {
 		// Object south
 		//  __       __
 		// /    or  X
-		mask = world.getTile(x, y + 1).traversalMask;
+		mask = world.getTiles().getTraversalMask(x, y + 1);
 		blocking = (mask & (CollisionFlag.FULL_BLOCK_B + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on east tile, south side
-			mask = world.getTile(x - 1, y).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y);
 			blocking = (mask & CollisionFlag.WALL_SOUTH) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on southeast tile, north side
-			mask = world.getTile(x - 1, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x - 1, y + 1);
 			blocking = (mask & CollisionFlag.WALL_NORTH) != 0;
 			return blocking;
 
@@ -386,19 +381,19 @@ public class PathValidation {
 		// Object west
 		//  \  or  X
 		//   |      |
-		int mask = world.getTile(x + 1, y).traversalMask;
+		int mask = world.getTiles().getTraversalMask(x + 1, y);
 		boolean blocking = (mask & (CollisionFlag.FULL_BLOCK_A + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on south tile, west side
-			mask = world.getTile(x, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x, y + 1);
 			blocking = (mask & CollisionFlag.WALL_WEST) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on southwest tile, east side
-			mask = world.getTile(x + 1, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y + 1);
 			blocking = (mask & CollisionFlag.WALL_EAST) != 0;
 			if (blocking) {
 				return true;
@@ -408,19 +403,19 @@ public class PathValidation {
 		// Object south
 		// __       __
 		//   \  or    X
-		mask = world.getTile(x, y + 1).traversalMask;
+		mask = world.getTiles().getTraversalMask(x, y + 1);
 		blocking = (mask & (CollisionFlag.FULL_BLOCK_A + CollisionFlag.FULL_BLOCK_C)) != 0;
 		if (blocking) {
 
 			// Wall on west tile, south side
-			mask = world.getTile(x + 1, y).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y);
 			blocking = (mask & CollisionFlag.WALL_SOUTH) != 0;
 			if (blocking) {
 				return true;
 			}
 
 			// Wall on southwest tile, north side
-			mask = world.getTile(x + 1, y + 1).traversalMask;
+			mask = world.getTiles().getTraversalMask(x + 1, y + 1);
 			blocking = (mask & CollisionFlag.WALL_NORTH) != 0;
 			return blocking;
 
@@ -533,10 +528,9 @@ public class PathValidation {
 	}
 
 	private static boolean checkBlocking(Mob mob, int x, int y, int bit, boolean isCurrentTile) {
-		TileValue t = mob.getWorld().getTile(x, y);
 		/*boolean inFisherKingdom = (mob.getLocation().inBounds(415, 976, 423, 984)
 			|| mob.getLocation().inBounds(511, 976, 519, 984));*/
-		boolean blockedPath = PathValidation.isBlocking(t.traversalMask, (byte) bit, isCurrentTile);
+		boolean blockedPath = PathValidation.isBlocking(mob.getWorld().getTiles().getTraversalMask(x, y), (byte) bit, isCurrentTile);
 		return blockedPath || isMobBlocking(mob, x, y);
 	}
 
@@ -544,15 +538,8 @@ public class PathValidation {
 		if (mob.getX() == x && mob.getY() == y)
 			return false;
 
-		// all npcs on loc, may include dead (not visible) ones
-		ArrayList<Npc> npcsOnLoc = mob.getWorld().getNpcPositions().getOrDefault(x + "," + y,null);
-		// visible (&alive) npcs
-		List<Npc> visibleNpcsOnLoc = new ArrayList<>();
-		Npc npc = null;
-		if (npcsOnLoc != null) {
-			visibleNpcsOnLoc = npcsOnLoc.stream().filter(n -> !n.isRemoved() && !n.killed).collect(Collectors.toList());
-		}
-		npc = visibleNpcsOnLoc.size() > 0 ? visibleNpcsOnLoc.get(0) : null;
+		// first visible (&alive) npc on loc
+		final Npc npc = mob.getWorld().getNpcOccupancy().getVisibleNpc(x, y);
 
 		/*
 		 * NPC blocking config controlled
@@ -578,7 +565,7 @@ public class PathValidation {
 		}
 
 		if (mob.isNpc()) {
-			Region region = mob.getWorld().getRegionManager().getRegion(Point.location(x, y));
+			Region region = mob.getWorld().getRegionManager().getRegion(x, y);
 			Player player = region.getPlayer(x, y, mob);
 			return player != null;
 		}
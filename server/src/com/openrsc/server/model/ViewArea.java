@@ -7,6 +7,7 @@ import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 public class ViewArea {
@@ -33,22 +34,34 @@ public class ViewArea {
 		return mob.getWorld().getRegionManager().getLocalPlayers(mob);
 	}
 
+	public void forEachGameObjectInView(final Consumer<? super GameObject> action) {
+		mob.getWorld().getRegionManager().forEachLocalObject(mob, action);
+	}
+
+	public void forEachItemInView(final Consumer<? super GroundItem> action) {
+		mob.getWorld().getRegionManager().forEachLocalGroundItem(mob, action);
+	}
+
+	public void forEachNpcInView(final Consumer<? super Npc> action) {
+		mob.getWorld().getRegionManager().forEachLocalNpc(mob, action);
+	}
+
+	public void forEachPlayerInView(final Consumer<? super Player> action) {
+		mob.getWorld().getRegionManager().forEachLocalPlayer(mob, action);
+	}
+
 	public GameObject getGameObject(final Point location) {
-		for (final GameObject o : getGameObjectsInView()) {
-			if (o.getLocation().equals(location) && o.getType() != 1) {
-				return o;
-			}
+		if (!inView(location)) {
+			return null;
 		}
-		return null;
+		return mob.getWorld().getRegionManager().getRegion(location).getGameObject(location, null);
 	}
 
 	public GameObject getGameObject(final int id, final int x, final int y) {
-		for (final GameObject o : getGameObjectsInView()) {
-			if (o.getID() == id && o.getX() == x && o.getY() == y) {
-				return o;
-			}
+		if (!mob.getWorld().getRegionManager().withinView(mob, x, y)) {
+			return null;
 		}
-		return null;
+		return mob.getWorld().getRegionManager().getRegion(x, y).getGameObject(id, x, y, null);
 	}
 
 	/**
@@ -58,29 +71,30 @@ public class ViewArea {
 	 * @return FACT: RSC uses direction for wall objects, so that it doesn't collapse.
 	 */
 	public GameObject getWallObjectWithDir(final Point location, final int dir) {
-		for (GameObject o : getGameObjectsInView()) {
-			if (o.getDirection() == dir && o.getLocation().equals(location) && (o.getType() != 0)) {
-				return o;
-			}
+		if (!inView(location)) {
+			return null;
 		}
-		return null;
+		return mob.getWorld().getRegionManager().getRegion(location).getWallGameObject(location, dir, null);
 	}
 
 	public GroundItem getGroundItem(final Point location) {
-		for (final GroundItem o : getItemsInView()) {
-			if (o.getLocation().equals(location)) {
-				return o;
-			}
+		if (!inView(location)) {
+			return null;
 		}
-		return null;
+		return mob.getWorld().getRegionManager().getRegion(location).getItem(location, null);
 	}
 
 	public GroundItem getGroundItem(final int id, final Point location) {
-		for (final GroundItem o : getItemsInView()) {
-			if (o.getID() == id && o.getLocation().equals(location)) {
-				return o;
-			}
+		if (!inView(location)) {
+			return null;
 		}
-		return null;
+		return mob.getWorld().getRegionManager().getRegion(location).getItem(id, location, null);
+	}
+
+	/**
+	 * Point lookups go straight to the tile instead of scanning the whole view, so check the tile is in view first.
+	 */
+	private boolean inView(final Point location) {
+		return location != null && mob.getWorld().getRegionManager().withinView(mob, location);
 	}
 }
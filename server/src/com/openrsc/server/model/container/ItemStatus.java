@@ -18,6 +18,14 @@ public class ItemStatus {
 		this.durability = 100;
 	}
 
+	public ItemStatus(final ItemStatus other) {
+		this.catalogId = other.catalogId;
+		this.amount = other.amount;
+		this.noted = other.noted;
+		this.wielded = other.wielded;
+		this.durability = other.durability;
+	}
+
 	public int getCatalogId() {
 		return catalogId;
 	}
@@ -198,15 +198,15 @@ public abstract class Mob extends Entity {
 			return true;
 		}
 		if (minX <= getX() - 1 && maxX >= getX() - 1 && minY <= getY() && maxY >= getY()
-			&& (getWorld().getTile(getX() - 1, getY()).traversalMask & CollisionFlag.WALL_WEST) == 0) {
+			&& (getWorld().getTiles().getTraversalMask(getX() - 1, getY()) & CollisionFlag.WALL_WEST) == 0) {
 			return true;
 		}
 		if (1 + getX() >= minX && getX() + 1 <= maxX && getY() >= minY && maxY >= getY()
-			&& (CollisionFlag.WALL_EAST & getWorld().getTile(getX() + 1, getY()).traversalMask) == 0) {
+			&& (CollisionFlag.WALL_EAST & getWorld().getTiles().getTraversalMask(getX() + 1, getY())) == 0) {
 			return true;
 		}
 		if (minX <= getX() && maxX >= getX() && getY() - 1 >= minY && maxY >= getY() - 1
-			&& (CollisionFlag.WALL_SOUTH & getWorld().getTile(getX(), getY() - 1).traversalMask) == 0) {
+			&& (CollisionFlag.WALL_SOUTH & getWorld().getTiles().getTraversalMask(getX(), getY() - 1)) == 0) {
 			return true;
 		}
 		return false;
@@ -214,23 +214,23 @@ public abstract class Mob extends Entity {
 
 	private boolean canReachDiagonal(int minX, int maxX, int minY, int maxY) {
 		if (minX <= getX() && getX() <= maxX && minY <= getY() + 1 && maxY >= getY() + 1
-			&& (CollisionFlag.WALL_NORTH & getWorld().getTile(getX(), getY() + 1).traversalMask) == 0) {
+			&& (CollisionFlag.WALL_NORTH & getWorld().getTiles().getTraversalMask(getX(), getY() + 1)) == 0) {
 			return true;
 		}
 		if (minX <= getX() - 1 && maxX >= getX() - 1 && minY <= getY() - 1 && maxY >= getY() - 1
-			&& (getWorld().getTile(getX() - 1, getY() - 1).traversalMask & CollisionFlag.WALL_SOUTH_WEST) == 0) {
+			&& (getWorld().getTiles().getTraversalMask(getX() - 1, getY() - 1) & CollisionFlag.WALL_SOUTH_WEST) == 0) {
 			return true;
 		}
 		if (1 + getX() >= minX && getX() + 1 <= maxX && getY() - 1 >= minY && maxY >= getY() - 1
-			&& (CollisionFlag.WALL_SOUTH_EAST & getWorld().getTile(getX() + 1, getY() - 1).traversalMask) == 0) {
+			&& (CollisionFlag.WALL_SOUTH_EAST & getWorld().getTiles().getTraversalMask(getX() + 1, getY() - 1)) == 0) {
 			return true;
 		}
 		if (minX <= getX() - 1 && maxX >= getX() - 1 && minY <= getY() + 1 && maxY >= getY() + 1
-			&& (getWorld().getTile(getX() - 1, getY() + 1).traversalMask & CollisionFlag.WALL_NORTH_WEST) == 0) {
+			&& (getWorld().getTiles().getTraversalMask(getX() - 1, getY() + 1) & CollisionFlag.WALL_NORTH_WEST) == 0) {
 			return true;
 		}
 		if (1 + getX() >= minX && getX() + 1 <= maxX && getY() + 1 >= minY && maxY >= getY() + 1
-			&& (CollisionFlag.WALL_NORTH_EAST & getWorld().getTile(getX() + 1, getY() + 1).traversalMask) == 0) {
+			&& (CollisionFlag.WALL_NORTH_EAST & getWorld().getTiles().getTraversalMask(getX() + 1, getY() + 1)) == 0) {
 			return true;
 		}
 		return false;
@@ -306,7 +306,7 @@ public abstract class Mob extends Entity {
 	}
 
 	private boolean isBlocking(Entity e, int x, int y, int bit) {
-		int val = getWorld().getTile(x, y).traversalMask;
+		int val = getWorld().getTiles().getTraversalMask(x, y);
 		if ((val & bit) != 0) {
 			return true;
 		}
@@ -460,10 +460,13 @@ public abstract class Mob extends Entity {
 		setLastMoved();
 		setWarnedToMove(false);
 		super.setLocation(point);
+		if (isNpc()) {
+			getWorld().getNpcOccupancy().relocate((Npc) this);
+		}
 	}
 
 	public void updatePosition() {
-		final long now = System.currentTimeMillis();
+		final long now = getWorld().getServer().getMovementTimestamp();
 		final boolean doWalk = !getWorld().getServer().getConfig().WANT_CUSTOM_WALK_SPEED || now >= lastMovementTime + getWalkingTick();
 
 		if(doWalk) {
@@ -488,10 +491,7 @@ public abstract class Mob extends Entity {
 
 	public void walkToEntityAStar(final int x, final int y, final int depth) {
 		getWalkingQueue().reset();
-		final Point mobPos = new Point(this.getX(), this.getY());
-		final AStarPathfinder pathFinder = new AStarPathfinder(this.getWorld(), mobPos, new Point(x,y), depth);
-		pathFinder.feedPath(new Path(this, PathType.WALK_TO_ENTITY));
-		Path newPath = pathFinder.findPath();
+		final Path newPath = AStarPathfinder.findPath(this, x, y, depth);
 		if (newPath == null)
 			walkToEntity(x,y);
 		else
@@ -582,13 +582,7 @@ public abstract class Mob extends Entity {
 				}
 			}
 
-			if (this.isNpc()) {
-				getWorld().removeNpcPosition((Npc) this);
-			}
 			setLocation(victim.getLocation(), false);
-			if (this.isNpc()) {
-				getWorld().setNpcPosition((Npc) this);
-			}
 
 			setBusy(true);
 			setSprite(ourSprite);
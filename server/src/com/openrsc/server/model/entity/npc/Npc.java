@@ -648,6 +648,16 @@ public class Npc extends Mob {
 		super.updatePosition();
 	}
 
+	/**
+	 * An idle NPC that no player can see does not need its AI or movement processed.
+	 * It picks up roaming from where it stopped once a player comes near, and its timers are timestamps so they stay correct.
+	 * RegionManager.markObservedRegions must have been called for the current tick.
+	 */
+	public boolean isDormant() {
+		return getConfig().WANT_DORMANT_NPCS && getNpcBehavior().isIdle()
+			&& !getWorld().getRegionManager().isObserved(getLocation());
+	}
+
 	public void produceUnderAttack() {
 		getWorld().produceUnderAttack(this);
 	}
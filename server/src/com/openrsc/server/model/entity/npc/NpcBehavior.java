@@ -70,6 +70,13 @@ public class NpcBehavior {
 		}
 	}
 
+	/**
+	 * @return true if the NPC is only roaming, so skipping its ticks has no effect other than it not wandering.
+	 */
+	boolean isIdle() {
+		return state == State.ROAM && !npc.inCombat() && !npc.isFollowing() && npc.finishedPath();
+	}
+
 	private void handleRoam() {
 
 		// Plagued sheep shouldn't roam
@@ -9,6 +9,9 @@ import com.openrsc.server.content.minigame.fishingtrawler.FishingTrawler;
 import com.openrsc.server.content.party.Party;
 import com.openrsc.server.content.party.PartyInvite;
 import com.openrsc.server.content.party.PartyPlayer;
+import com.openrsc.server.database.GameDatabaseException;
+import com.openrsc.server.database.PlayerSave;
+import com.openrsc.server.database.SaveTracker;
 import com.openrsc.server.database.impl.mysql.queries.logging.GenericLog;
 import com.openrsc.server.database.impl.mysql.queries.logging.LiveFeedLog;
 import com.openrsc.server.event.DelayedEvent;
@@ -95,7 +98,11 @@ public final class Player extends Mob {
 	public final int MAX_FATIGUE = 150000;
 	public final String MEMBER_MESSAGE = "This feature is only available for members only";
 	private final Map<Integer, Integer> killCache = new HashMap<>();
-	private boolean killCacheUpdated = false;
+	/**
+	 * Also set by the persistence thread when a save with NPC kills fails.
+	 */
+	private volatile boolean killCacheUpdated = false;
+	private final SaveTracker saveTracker = new SaveTracker();
 	private final Map<Integer, Integer> questStages = new ConcurrentHashMap<>();
 	private int IRON_MAN_MODE = IronmanMode.None.id();
 	private int IRON_MAN_RESTRICTION = 1;
@@ -961,6 +968,10 @@ public final class Player extends Mob {
 		killCacheUpdated = value;
 	}
 
+	public SaveTracker getSaveTracker() {
+		return saveTracker;
+	}
+
 	public long getCastTimer() {
 		return lastSpellCast;
 	}
@@ -1963,6 +1974,7 @@ public final class Player extends Mob {
 				&& packetID != OpcodeIn.PRAYER_ACTIVATED.getOpcode()
 				&& packetID != OpcodeIn.PRAYER_DEACTIVATED.getOpcode())
 			&& activePackets.contains(packetID)) {
+			packet.release();
 			return;
 		}
 		if (incomingPackets.size() <= getWorld().getServer().getConfig().PACKET_LIMIT) {
@@ -1970,6 +1982,17 @@ public final class Player extends Mob {
 				incomingPackets.add(packet);
 				activePackets.add(packetID);
 			}
+		} else {
+			packet.release();
+		}
+	}
+
+	private void releaseIncomingPackets() {
+		synchronized (incomingPackets) {
+			for (final Packet packet : incomingPackets) {
+				packet.release();
+			}
+			incomingPackets.clear();
 		}
 	}
 
@@ -2032,6 +2055,7 @@ public final class Player extends Mob {
 								unregister(false, "Malformed packet!");
 							}
 						}
+						curPacket.release();
 					}
 				);
 				getWorld().getServer().addIncomingPacketDuration(curPacket.getID(), packetTime);
@@ -2054,20 +2078,24 @@ public final class Player extends Mob {
 			return;
 		}
 		synchronized (outgoingPackets) {
+			if (outgoingPackets.isEmpty()) {
+				return;
+			}
 			try {
+				long bytes = 0;
 				for (final Packet outgoing : outgoingPackets) {
-					final long packetTime = getWorld().getServer().bench(
-						() -> {
-							channel.writeAndFlush(outgoing);
-						}
-					);
-					getWorld().getServer().addOutgoingPacketDuration(outgoing.getID(), packetTime);
+					final int packetBytes = outgoing.getBuffer().readableBytes();
+					channel.write(outgoing, channel.voidPromise());
+					bytes += packetBytes;
+					getWorld().getServer().addOutgoingPacketBytes(outgoing.getID(), packetBytes);
 					getWorld().getServer().incrementOutgoingPacketCount(outgoing.getID());
 				}
+				// One flush per tick lets Netty hand all of this tick's packets to the socket in a single gathering write.
+				channel.flush();
+				getWorld().getServer().recordOutgoingFlush(outgoingPackets.size(), bytes);
 			} catch (final Exception e) {
 				LOGGER.catching(e);
 			}
-			//channel.flush();
 			outgoingPackets.clear();
 		}
 	}
@@ -2185,8 +2213,21 @@ public final class Player extends Mob {
 		save(false);
 	}
 
+	/**
+	 * Copies the player's save data and writes it on a persistence thread. Saves requested off the game thread, such
+	 * as by the auction house, are copied on the game thread between ticks instead.
+	 */
 	public void save(boolean logout) {
-		getWorld().getServer().getLoginExecutor().add(new PlayerSaveRequest(getWorld().getServer(), this, logout));
+		if (getWorld().getServer().isOffGameThread()) {
+			getWorld().getServer().getGameEventHandler().submit(() -> save(logout), "Save Player");
+			return;
+		}
+		try {
+			final PlayerSave playerSave = getWorld().getServer().getDatabase().createPlayerSave(this);
+			getWorld().getServer().getLoginExecutor().add(new PlayerSaveRequest(getWorld().getServer(), this, playerSave, logout));
+		} catch (final GameDatabaseException ex) {
+			LOGGER.catching(ex);
+		}
 	}
 
 	public void logout() {
@@ -2224,6 +2265,7 @@ public final class Player extends Mob {
 	public void logoutSaveSuccess() {
 
 		setLoggedIn(false);
+		releaseIncomingPackets();
 
 		/* IP Tracking in wilderness removal */
 		/*if(player.getLocation().inWilderness())
@@ -0,0 +1,111 @@
+package com.openrsc.server.model.snapshot;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The most recent snapshots of the world, kept for abuse reports.
+ *
+ * Snapshots live in a ring of fixed capacity and are evicted once the ring is full or they are older than the maximum
+ * age. Each owner's snapshots are also indexed, so a report only looks at the snapshots of the players involved.
+ */
+public final class SnapshotLog {
+	private final Snapshot[] ring;
+	private final long maxAgeMillis;
+	private final Consumer<Snapshot> evictionListener;
+	private final Map<String, ArrayDeque<Snapshot>> byOwner = new HashMap<>();
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * @param evictionListener Receives each snapshot as it is evicted, or null to drop them.
+	 */
+	public SnapshotLog(final int capacity, final long maxAgeMillis, final Consumer<Snapshot> evictionListener) {
+		this.ring = new Snapshot[Math.max(1, capacity)];
+		this.maxAgeMillis = maxAgeMillis;
+		this.evictionListener = evictionListener;
+	}
+
+	public synchronized void add(final Snapshot snapshot) {
+		evictOlderThan(snapshot.getTimestamp() - maxAgeMillis);
+		if (size == ring.length) {
+			evictOldest();
+		}
+		ring[(head + size) % ring.length] = snapshot;
+		size++;
+		ArrayDeque<Snapshot> owned = byOwner.get(key(snapshot.getOwner()));
+		if (owned == null) {
+			owned = new ArrayDeque<>();
+			byOwner.put(key(snapshot.getOwner()), owned);
+		}
+		owned.addLast(snapshot);
+	}
+
+	/**
+	 * @return The most recent snapshot, or null if there is none.
+	 */
+	public synchronized Snapshot getLatest() {
+		return size == 0 ? null : ring[(head + size - 1) % ring.length];
+	}
+
+	/**
+	 * @return The owner's snapshots from the last periodMillis, oldest first.
+	 */
+	public synchronized List<Snapshot> getRecent(final String owner, final long periodMillis) {
+		final ArrayDeque<Snapshot> owned = byOwner.get(key(owner));
+		if (owned == null) {
+			return Collections.emptyList();
+		}
+		final long since = System.currentTimeMillis() - periodMillis;
+		final ArrayList<Snapshot> recent = new ArrayList<>();
+		final Iterator<Snapshot> newestFirst = owned.descendingIterator();
+		while (newestFirst.hasNext()) {
+			final Snapshot snapshot = newestFirst.next();
+			if (snapshot.getTimestamp() <= since) {
+				break;
+			}
+			recent.add(snapshot);
+		}
+		Collections.reverse(recent);
+		return recent;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(ring, null);
+		byOwner.clear();
+		head = 0;
+		size = 0;
+	}
+
+	private void evictOlderThan(final long cutoff) {
+		while (size > 0 && ring[head].getTimestamp() < cutoff) {
+			evictOldest();
+		}
+	}
+
+	private void evictOldest() {
+		final Snapshot oldest = ring[head];
+		ring[head] = null;
+		head = (head + 1) % ring.length;
+		size--;
+		final String owner = key(oldest.getOwner());
+		final ArrayDeque<Snapshot> owned = byOwner.get(owner);
+		if (owned != null) {
+			owned.pollFirst();
+			if (owned.isEmpty()) {
+				byOwner.remove(owner);
+			}
+		}
+		if (evictionListener != null) {
+			evictionListener.accept(oldest);
+		}
+	}
+
+	private static String key(final String owner) {
+		return owner == null ? "" : owner.toLowerCase();
+	}
+}
@@ -9,6 +9,7 @@ import com.openrsc.server.content.market.Market;
 import com.openrsc.server.content.minigame.fishingtrawler.FishingTrawler;
 import com.openrsc.server.content.minigame.fishingtrawler.FishingTrawler.TrawlerBoat;
 import com.openrsc.server.content.party.PartyManager;
+import com.openrsc.server.database.impl.mysql.queries.logging.GenericLog;
 import com.openrsc.server.database.impl.mysql.queries.logging.LoginLog;
 import com.openrsc.server.database.impl.mysql.queries.player.login.PlayerOnlineFlagQuery;
 import com.openrsc.server.event.SingleEvent;
@@ -23,11 +24,15 @@ import com.openrsc.server.model.entity.GameObject;
 import com.openrsc.server.model.entity.GroundItem;
 import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
+import com.openrsc.server.model.snapshot.Activity;
+import com.openrsc.server.model.snapshot.Chatlog;
 import com.openrsc.server.model.snapshot.Snapshot;
+import com.openrsc.server.model.snapshot.SnapshotLog;
+import com.openrsc.server.model.world.region.NpcOccupancy;
 import com.openrsc.server.model.world.region.RegionManager;
+import com.openrsc.server.model.world.region.TileStore;
 import com.openrsc.server.model.world.region.TileValue;
 import com.openrsc.server.net.ConnectionAttachment;
-import com.openrsc.server.net.PcapLogger;
 import com.openrsc.server.net.rsc.ActionSender;
 import com.openrsc.server.plugins.MiniGameInterface;
 import com.openrsc.server.plugins.QuestInterface;
@@ -81,7 +86,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	private final ClanManager clanManager;
 	private final Market market;
 	private final WorldLoader worldLoader;
-	private HashMap<String, ArrayList<Npc>> npcPositions;
+	private final NpcOccupancy npcOccupancy;
 	private final ConcurrentMap<TrawlerBoat, FishingTrawler> fishingTrawler;
 
 	private ConcurrentMap<Player, Boolean> playerUnderAttackMap;
@@ -89,7 +94,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	private Queue<GlobalMessage> globalMessageQueue = new LinkedList<>();
 	private PathfindingDebug pathfindingDebug = null;
 	public NpcDrops npcDrops;
-	private Deque<Snapshot> snapshots;
+	private final SnapshotLog snapshots;
 
 	public static final AttributeKey<ConnectionAttachment> attachment = AttributeKey.valueOf("conn-attachment");
 
@@ -97,7 +102,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		this.server = server;
 		this.npcs = new EntityList<>(4000);
 		this.players = new EntityList<>(2000);
-		this.npcPositions = new HashMap<>();
+		this.npcOccupancy = new NpcOccupancy(4000);
 		this.npcDrops = new NpcDrops(this);
 		this.quests = Collections.synchronizedList( new LinkedList<>() );
 		this.minigames = Collections.synchronizedList( new LinkedList<>() );
@@ -106,7 +111,10 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		this.playerUnderAttackMap = new ConcurrentHashMap<>();
 		this.npcUnderAttackMap = new ConcurrentHashMap<>();
 		this.fishingTrawler = new ConcurrentHashMap<>();
-		this.snapshots = new LinkedList<>();
+		this.snapshots = new SnapshotLog(
+			getServer().getConfig().SNAPSHOT_CAPACITY,
+			getServer().getConfig().SNAPSHOT_MAX_AGE_MINUTES * 60000L,
+			getServer().getConfig().SNAPSHOT_ARCHIVE ? this::archiveSnapshot : null);
 		this.avatarGenerator = getServer().getConfig().AVATAR_GENERATOR ? new AvatarGenerator(this) : null;
 		this.worldLoader = new WorldLoader(this);
 		this.regionManager = new RegionManager(this);
@@ -116,9 +124,9 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	}
 
 	/**
-	 * Returns double-ended queue for snapshots.
+	 * Returns the recent snapshots.
 	 */
-	public synchronized Deque<Snapshot> getSnapshots() {
+	public SnapshotLog getSnapshots() {
 		return snapshots;
 	}
 
@@ -126,7 +134,13 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	 * Add entry to snapshots
 	 */
 	public void addEntryToSnapshots(Snapshot snapshot) {
-		getSnapshots().offerFirst(snapshot);
+		getSnapshots().add(snapshot);
+	}
+
+	private void archiveSnapshot(final Snapshot snapshot) {
+		final String text = snapshot instanceof Chatlog ? ((Chatlog) snapshot).getMessage()
+			: snapshot instanceof Activity ? ((Activity) snapshot).getActivity() : "";
+		getServer().getGameLogger().addQuery(new GenericLog(this, "Snapshot " + snapshot.getOwner() + ": " + text));
 	}
 
 	public int countNpcs() {
@@ -153,7 +167,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 			public void action() {
 				registerGameObject(new GameObject(getWorld(), loc));
 				if (forceFullBlock) {
-					getTile(loc.getX(), loc.getY()).traversalMask |= 64;
+					getTiles().addTraversalFlags(loc.getX(), loc.getY(), 64);
 				}
 			}
 		});
@@ -385,7 +399,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		getRegionManager().unload();
 		getNpcDrops().unload();
 		npcs.clear();
-		npcPositions.clear();
+		npcOccupancy.clear();
 		players.clear();
 		snapshots.clear();
 		wildernessIPTracker.clear();
@@ -440,23 +454,23 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 							handleProjectileClipAllowance(x, y, dir, o.getType(), o.getGameObjectDef().getType(), -1);
 						}
 						if (o.getGameObjectDef().getType() == 1) {
-							getTile(x, y).traversalMask |= CollisionFlag.FULL_BLOCK_C;
+							getTiles().addTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_C);
 						} else if (dir == 0) {
-							getTile(x, y).traversalMask |= CollisionFlag.WALL_EAST;
-							if (getTile(x - 1, y) != null)
-								getTile(x - 1, y).traversalMask |= CollisionFlag.WALL_WEST;
+							getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_EAST);
+							if (withinWorld(x - 1, y))
+								getTiles().addTraversalFlags(x - 1, y, CollisionFlag.WALL_WEST);
 						} else if (dir == 2) {
-							getTile(x, y).traversalMask |= CollisionFlag.WALL_SOUTH;
-							if (getTile(x, y + 1) != null)
-								getTile(x, y + 1).traversalMask |= CollisionFlag.WALL_NORTH;
+							getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_SOUTH);
+							if (withinWorld(x, y + 1))
+								getTiles().addTraversalFlags(x, y + 1, CollisionFlag.WALL_NORTH);
 						} else if (dir == 4) {
-							getTile(x, y).traversalMask |= CollisionFlag.WALL_WEST;
-							if (getTile(x + 1, y) != null)
-								getTile(x + 1, y).traversalMask |= CollisionFlag.WALL_EAST;
+							getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_WEST);
+							if (withinWorld(x + 1, y))
+								getTiles().addTraversalFlags(x + 1, y, CollisionFlag.WALL_EAST);
 						} else if (dir == 6) {
-							getTile(x, y).traversalMask |= CollisionFlag.WALL_NORTH;
-							if (getTile(x, y - 1) != null)
-								getTile(x, y - 1).traversalMask |= CollisionFlag.WALL_SOUTH;
+							getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_NORTH);
+							if (withinWorld(x, y - 1))
+								getTiles().addTraversalFlags(x, y - 1, CollisionFlag.WALL_SOUTH);
 						}
 					}
 				}
@@ -472,17 +486,17 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 				}
 				if (dir == 0) {
 
-					getTile(x, y).traversalMask |= CollisionFlag.WALL_NORTH;
-					if (getTile(x, y - 1) != null)
-						getTile(x, y - 1).traversalMask |= CollisionFlag.WALL_SOUTH;
+					getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_NORTH);
+					if (withinWorld(x, y - 1))
+						getTiles().addTraversalFlags(x, y - 1, CollisionFlag.WALL_SOUTH);
 				} else if (dir == 1) {
-					getTile(x, y).traversalMask |= CollisionFlag.WALL_EAST;
-					if (getTile(x - 1, y) != null)
-						getTile(x - 1, y).traversalMask |= CollisionFlag.WALL_WEST;
+					getTiles().addTraversalFlags(x, y, CollisionFlag.WALL_EAST);
+					if (withinWorld(x - 1, y))
+						getTiles().addTraversalFlags(x - 1, y, CollisionFlag.WALL_WEST);
 				} else if (dir == 2) {
-					getTile(x, y).traversalMask |= CollisionFlag.FULL_BLOCK_A;
+					getTiles().addTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_A);
 				} else if (dir == 3) {
-					getTile(x, y).traversalMask |= CollisionFlag.FULL_BLOCK_B;
+					getTiles().addTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_B);
 				}
 				break;
 		}
@@ -512,24 +526,24 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	private void handleProjectileClipAllowance(final int x, final int y, final int dir, final int type, final int objectType, final int doorType) {
 
 		// Always give the current tile a clip mask.
-		getTile(x, y).projectileAllowed = true;
+		getTiles().setProjectileAllowed(x, y, true);
 
 		if ((type == 0 && objectType == 1) || (type == 1 && doorType != 1)) return;
 
-		if (dir == 0 && getTile(x - 1, y) != null) {
-			getTile(x - 1, y).projectileAllowed = true;
+		if (dir == 0 && withinWorld(x - 1, y)) {
+			getTiles().setProjectileAllowed(x - 1, y, true);
 		}
 
-		else if (dir == 2 && getTile(x, y + 1) != null) {
-			getTile(x, y + 1).projectileAllowed = true;
+		else if (dir == 2 && withinWorld(x, y + 1)) {
+			getTiles().setProjectileAllowed(x, y + 1, true);
 		}
 
-		else if (dir == 4 && getTile(x + 1, y) != null) {
-			getTile(x + 1, y).projectileAllowed = true;
+		else if (dir == 4 && withinWorld(x + 1, y)) {
+			getTiles().setProjectileAllowed(x + 1, y, true);
 		}
 
-		else if (dir == 6 && getTile(x, y - 1) != null) {
-			getTile(x, y - 1).projectileAllowed = true;
+		else if (dir == 6 && withinWorld(x, y - 1)) {
+			getTiles().setProjectileAllowed(x, y - 1, true);
 		}
 	}
 
@@ -552,15 +566,20 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		}
 	}
 
+	/**
+	 * @throws IllegalStateException if every NPC slot is in use, so callers never go on to use an unregistered NPC.
+	 */
 	public Npc registerNpc(final Npc n) {
 		final NPCLoc npc = n.getLoc();
 		if (npc.startX < npc.minX || npc.startX > npc.maxX || npc.startY < npc.minY || npc.startY > npc.maxY
-			|| (getTile(npc.startX, npc.startY).overlay & 64) != 0) {
+			|| (getTiles().getOverlay(npc.startX, npc.startY) & 64) != 0) {
 			LOGGER.error("Broken Npc: <id>" + npc.id + "</id><startX>" + npc.startX + "</startX><startY>"
 				+ npc.startY + "</startY>");
 		}
 
-		getNpcs().add(n);
+		if (!getNpcs().add(n)) {
+			throw new IllegalStateException("Unable to register " + n + " as every NPC slot is in use");
+		}
 		setNpcPosition(n);
 		return n;
 	}
@@ -572,12 +591,20 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	}
 
 	public boolean registerPlayer(final Player player) {
+		// EntityList.contains only matches this object, so another session of the same account is looked up by name.
+		if (!getPlayers().contains(player) && getPlayer(player.getUsernameHash()) != null) {
+			LOGGER.error("Refused to register " + player.getUsername() + " as the account is already online");
+			return false;
+		}
 		if (!getPlayers().contains(player)) {
 			player.setUUID(UUID.randomUUID());
 
 			player.setBusy(false);
 
-			getPlayers().add(player);
+			if (!getPlayers().add(player)) {
+				LOGGER.error("Unable to register " + player.getUsername() + " as every player slot is in use");
+				return false;
+			}
 			player.updateRegion();
 			getServer().getGameLogger().run(new PlayerOnlineFlagQuery(getServer(), player.getDatabaseID(), player.getCurrentIP(), true));
 			getServer().getGameLogger().addQuery(new LoginLog(player.getWorld(), player.getDatabaseID(), player.getCurrentIP(), player.getClientVersion()));
@@ -699,19 +726,19 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 				for (int x = o.getX(); x < o.getX() + width; ++x) {
 					for (int y = o.getY(); y < o.getY() + height; ++y) {
 						if (o.getGameObjectDef().getType() == 1) {
-							getTile(x, y).traversalMask &= 0xffbf;
+							getTiles().removeTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_C);
 						} else if (dir == 0) {
-							getTile(x, y).traversalMask &= 0xfffd;
-							getTile(x - 1, y).traversalMask &= 65535 - 8;
+							getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_EAST);
+							getTiles().removeTraversalFlags(x - 1, y, CollisionFlag.WALL_WEST);
 						} else if (dir == 2) {
-							getTile(x, y).traversalMask &= 0xfffb;
-							getTile(x, y + 1).traversalMask &= 65535 - 1;
+							getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_SOUTH);
+							getTiles().removeTraversalFlags(x, y + 1, CollisionFlag.WALL_NORTH);
 						} else if (dir == 4) {
-							getTile(x, y).traversalMask &= 0xfff7;
-							getTile(x + 1, y).traversalMask &= 65535 - 2;
+							getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_WEST);
+							getTiles().removeTraversalFlags(x + 1, y, CollisionFlag.WALL_EAST);
 						} else if (dir == 6) {
-							getTile(x, y).traversalMask &= 0xfffe;
-							getTile(x, y - 1).traversalMask &= 65535 - 4;
+							getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_NORTH);
+							getTiles().removeTraversalFlags(x, y - 1, CollisionFlag.WALL_SOUTH);
 						}
 					}
 				}
@@ -722,15 +749,15 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 				}
 				int x = o.getX(), y = o.getY();
 				if (dir == 0) {
-					getTile(x, y).traversalMask &= 0xfffe;
-					getTile(x, y - 1).traversalMask &= 65535 - 4;
+					getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_NORTH);
+					getTiles().removeTraversalFlags(x, y - 1, CollisionFlag.WALL_SOUTH);
 				} else if (dir == 1) {
-					getTile(x, y).traversalMask &= 0xfffd;
-					getTile(x - 1, y).traversalMask &= 65535 - 8;
+					getTiles().removeTraversalFlags(x, y, CollisionFlag.WALL_EAST);
+					getTiles().removeTraversalFlags(x - 1, y, CollisionFlag.WALL_WEST);
 				} else if (dir == 2) {
-					getTile(x, y).traversalMask &= 0xffef;
+					getTiles().removeTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_A);
 				} else if (dir == 3) {
-					getTile(x, y).traversalMask &= 0xffdf;
+					getTiles().removeTraversalFlags(x, y, CollisionFlag.FULL_BLOCK_B);
 				}
 				break;
 		}
@@ -756,6 +783,7 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 	 */
 	public void unregisterNpc(final Npc n) {
 		if (hasNpc(n)) {
+			removeNpcPosition(n);
 			getNpcs().remove(n);
 		}
 		n.superRemove();
@@ -769,16 +797,14 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 			if (getServer().getLoginExecutor() != null) {
 				getServer().getGameLogger().addQuery(new PlayerOnlineFlagQuery(getServer(), player.getDatabaseID(), false));
 				if (avatarGenerator != null) {
-					avatarGenerator.generateAvatar(player.getDatabaseID(), player.getSettings().getAppearance(), player.getWornItems());
+					getServer().getLogoutExporter().queueAvatar(player);
 				}
 			}
 			player.logout();
 			LOGGER.info("Unregistered " + player.getUsername() + " from player list.");
 
 			if (getServer().getConfig().WANT_PCAP_LOGGING) {
-				PcapLogger pcap = player.getChannel().attr(attachment).get().pcapLogger.get();
-				pcap.exportPCAP(player);
-				LOGGER.info("Wrote out pcap for " + player.getUsername() + " at " + pcap.fname);
+				getServer().getLogoutExporter().queueCapture(player, player.getChannel().attr(attachment).get().pcapLogger.get());
 			}
 		} catch (final Exception e) {
 			LOGGER.catching(e);
@@ -813,6 +839,10 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		return getRegionManager().getTile(point);
 	}
 
+	public TileStore getTiles() {
+		return getRegionManager().getTiles();
+	}
+
 	public FishingTrawler getFishingTrawler(final TrawlerBoat boat) {
 		FishingTrawler trawlerInstance = fishingTrawler.get(boat);
 		if (trawlerInstance != null && !trawlerInstance.shouldRemove()) {
@@ -920,32 +950,20 @@ public final class World implements SimpleSubscriber<FishingTrawler>, Runnable {
 		return globalMessageQueue;
 	}
 
-	public HashMap<String, ArrayList<Npc>> getNpcPositions() {
-		return npcPositions;
+	public AvatarGenerator getAvatarGenerator() {
+		return avatarGenerator;
+	}
+
+	public NpcOccupancy getNpcOccupancy() {
+		return npcOccupancy;
 	}
 
 	public void setNpcPosition(final Npc n) {
-		final String key = n.getX() + "," + n.getY();
-		npcPositions.putIfAbsent(key, new ArrayList<>());
-		npcPositions.get(key).add(n);
+		npcOccupancy.add(n);
 	}
 
 	public void removeNpcPosition(final Npc n) {
-		final String key = n.getX() + "," + n.getY();
-		if (npcPositions.containsKey(key)) {
-			final ArrayList<Npc> ar = npcPositions.get(key);
-			if (ar.size() > 1) {
-				for (int i = 0; i < ar.size(); i++) {
-					if (n.getUUID().equals(ar.get(i).getUUID())) {
-						ar.remove(i);
-						break;
-					}
-				}
-			}
-			else {
-				npcPositions.remove(key);
-			}
-		}
+		npcOccupancy.remove(n);
 	}
 
 	@Override
@@ -0,0 +1,287 @@
+package com.openrsc.server.model.world.region;
+
+import com.openrsc.server.constants.Constants;
+import com.openrsc.server.model.entity.npc.Npc;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which NPCs stand on each tile, so blocking checks during path finding neither allocate nor hash.
+ *
+ * Tiles are grouped into chunks of 64 by 64 which are allocated the first time an NPC stands in them. Each tile holds
+ * the number of NPCs on it and the ends of an intrusive list of them in the order they arrived, linked through arrays
+ * indexed by NPC index.
+ * NPCs follow their location once added, see Mob.setLocation. The grid is not thread safe and only used on the game
+ * thread.
+ */
+public final class NpcOccupancy {
+	/**
+	 * The asynchronous logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private static final int CHUNK_BITS = 6;
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+	private static final int CHUNK_TILES = 1 << (2 * CHUNK_BITS);
+	private static final int CHUNKS_HIGH = (Constants.MAX_HEIGHT + CHUNK_MASK) >> CHUNK_BITS;
+	private static final int CHUNKS_WIDE = (Constants.MAX_WIDTH + CHUNK_MASK) >> CHUNK_BITS;
+
+	/*
+	 * A tile is recorded as its chunk followed by its slot within the chunk.
+	 */
+	private static final int CHUNK_TILE_BITS = 2 * CHUNK_BITS;
+	private static final int CHUNK_SLOT_MASK = CHUNK_TILES - 1;
+
+	private static final int NONE = -1;
+
+	/**
+	 * The tile recorded for NPCs that stand outside the world, which are tracked but on no tile list.
+	 */
+	private static final int OUTSIDE_WORLD = -2;
+
+	/**
+	 * The first and last NPC index on each tile plus one, so zero marks an empty tile.
+	 */
+	private final int[][] heads = new int[CHUNKS_WIDE * CHUNKS_HIGH][];
+	private final int[][] tails = new int[CHUNKS_WIDE * CHUNKS_HIGH][];
+	private final short[][] counts = new short[CHUNKS_WIDE * CHUNKS_HIGH][];
+
+	private Npc[] occupants;
+	private int[] next;
+	private int[] previous;
+	private int[] tiles;
+
+	public NpcOccupancy(final int capacity) {
+		final int initialCapacity = Math.max(1, capacity);
+		occupants = new Npc[initialCapacity];
+		next = new int[initialCapacity];
+		previous = new int[initialCapacity];
+		tiles = new int[initialCapacity];
+	}
+
+	/**
+	 * Starts tracking the NPC on its current tile, or moves it there if it is already tracked.
+	 */
+	public void add(final Npc npc) {
+		final int index = npc.getIndex();
+		if (index < 0) {
+			return;
+		}
+		if (index >= occupants.length) {
+			grow(index + 1);
+		}
+		if (occupants[index] == npc) {
+			relocate(npc);
+			return;
+		}
+		if (occupants[index] != null) {
+			// The slot still holds an NPC that left the list without being removed from the grid.
+			remove(occupants[index]);
+		}
+		occupants[index] = npc;
+		link(index, tileOf(npc.getX(), npc.getY()));
+	}
+
+	public void remove(final Npc npc) {
+		final int index = npc.getIndex();
+		if (!isTracked(npc, index)) {
+			return;
+		}
+		unlink(index);
+		occupants[index] = null;
+	}
+
+	/**
+	 * Moves a tracked NPC to the tile it now stands on. Does nothing for NPCs that are not tracked.
+	 */
+	public void relocate(final Npc npc) {
+		final int index = npc.getIndex();
+		if (!isTracked(npc, index)) {
+			return;
+		}
+		final int tile = tileOf(npc.getX(), npc.getY());
+		if (tiles[index] != tile) {
+			unlink(index);
+			link(index, tile);
+		}
+	}
+
+	public boolean contains(final Npc npc) {
+		return isTracked(npc, npc.getIndex());
+	}
+
+	/**
+	 * @return The number of NPCs on the tile, including dead ones that are waiting to respawn there.
+	 */
+	public int getCount(final int x, final int y) {
+		if (!TileStore.withinWorld(x, y)) {
+			return 0;
+		}
+		final short[] chunkCounts = counts[chunk(x, y)];
+		return chunkCounts == null ? 0 : chunkCounts[slot(x, y)];
+	}
+
+	/**
+	 * @return The earliest arrived NPC on the tile that is neither removed nor killed, or null if there is none.
+	 */
+	public Npc getVisibleNpc(final int x, final int y) {
+		if (!TileStore.withinWorld(x, y)) {
+			return null;
+		}
+		final int[] chunkHeads = heads[chunk(x, y)];
+		if (chunkHeads == null) {
+			return null;
+		}
+		for (int index = chunkHeads[slot(x, y)] - 1; index != NONE; index = next[index]) {
+			final Npc npc = occupants[index];
+			if (!npc.isRemoved() && !npc.killed) {
+				return npc;
+			}
+		}
+		return null;
+	}
+
+	public void clear() {
+		Arrays.fill(heads, null);
+		Arrays.fill(tails, null);
+		Arrays.fill(counts, null);
+		Arrays.fill(occupants, null);
+	}
+
+	/**
+	 * Checks every tracked NPC is listed on the tile it stands on and every tile count matches its list.
+	 *
+	 * @return The number of inconsistencies found, each of which is logged.
+	 */
+	public int checkConsistency() {
+		int errors = 0;
+		for (int index = 0; index < occupants.length; index++) {
+			final Npc npc = occupants[index];
+			if (npc == null) {
+				continue;
+			}
+			if (npc.getIndex() != index) {
+				LOGGER.error("Npc occupancy holds " + npc + " under index " + index);
+				errors++;
+				continue;
+			}
+			final int tile = tileOf(npc.getX(), npc.getY());
+			if (tiles[index] != tile) {
+				LOGGER.error("Npc occupancy has " + npc + " on tile " + describe(tiles[index]));
+				errors++;
+				continue;
+			}
+			if (tile == OUTSIDE_WORLD) {
+				continue;
+			}
+			int listed = 0;
+			int last = NONE;
+			boolean found = false;
+			for (int other = heads[tile >>> CHUNK_TILE_BITS][tile & CHUNK_SLOT_MASK] - 1; other != NONE; other = next[other]) {
+				listed++;
+				last = other;
+				found |= other == index;
+			}
+			if (last != tails[tile >>> CHUNK_TILE_BITS][tile & CHUNK_SLOT_MASK] - 1) {
+				LOGGER.error("Npc occupancy has the wrong last NPC on tile " + describe(tile));
+				errors++;
+			}
+			if (!found) {
+				LOGGER.error("Npc occupancy is missing " + npc + " from its tile list");
+				errors++;
+			}
+			final int count = counts[tile >>> CHUNK_TILE_BITS][tile & CHUNK_SLOT_MASK];
+			if (listed != count) {
+				LOGGER.error("Npc occupancy counts " + count + " NPCs on tile " + describe(tile) + " but lists " + listed);
+				errors++;
+			}
+		}
+		return errors;
+	}
+
+	private static int tileOf(final int x, final int y) {
+		if (!TileStore.withinWorld(x, y)) {
+			return OUTSIDE_WORLD;
+		}
+		return (chunk(x, y) << CHUNK_TILE_BITS) | slot(x, y);
+	}
+
+	private static int chunk(final int x, final int y) {
+		return (x >> CHUNK_BITS) * CHUNKS_HIGH + (y >> CHUNK_BITS);
+	}
+
+	private static int slot(final int x, final int y) {
+		return ((x & CHUNK_MASK) << CHUNK_BITS) | (y & CHUNK_MASK);
+	}
+
+	private static String describe(final int tile) {
+		if (tile == OUTSIDE_WORLD) {
+			return "outside the world";
+		}
+		final int chunk = tile >>> CHUNK_TILE_BITS;
+		final int slot = tile & CHUNK_SLOT_MASK;
+		final int x = ((chunk / CHUNKS_HIGH) << CHUNK_BITS) | (slot >> CHUNK_BITS);
+		final int y = ((chunk % CHUNKS_HIGH) << CHUNK_BITS) | (slot & CHUNK_MASK);
+		return "(" + x + ", " + y + ")";
+	}
+
+	private boolean isTracked(final Npc npc, final int index) {
+		return index >= 0 && index < occupants.length && occupants[index] == npc;
+	}
+
+	private void link(final int index, final int tile) {
+		tiles[index] = tile;
+		previous[index] = NONE;
+		next[index] = NONE;
+		if (tile == OUTSIDE_WORLD) {
+			return;
+		}
+		final int chunk = tile >>> CHUNK_TILE_BITS;
+		final int slot = tile & CHUNK_SLOT_MASK;
+		if (heads[chunk] == null) {
+			heads[chunk] = new int[CHUNK_TILES];
+			tails[chunk] = new int[CHUNK_TILES];
+			counts[chunk] = new short[CHUNK_TILES];
+		}
+		// Arrivals go to the end, so the tile keeps the order NPCs arrived in.
+		final int tail = tails[chunk][slot] - 1;
+		if (tail != NONE) {
+			next[tail] = index;
+			previous[index] = tail;
+		} else {
+			heads[chunk][slot] = index + 1;
+		}
+		tails[chunk][slot] = index + 1;
+		counts[chunk][slot]++;
+	}
+
+	private void unlink(final int index) {
+		final int tile = tiles[index];
+		if (tile == OUTSIDE_WORLD) {
+			return;
+		}
+		final int chunk = tile >>> CHUNK_TILE_BITS;
+		final int slot = tile & CHUNK_SLOT_MASK;
+		if (previous[index] == NONE) {
+			heads[chunk][slot] = next[index] + 1;
+		} else {
+			next[previous[index]] = next[index];
+		}
+		if (next[index] == NONE) {
+			tails[chunk][slot] = previous[index] + 1;
+		} else {
+			previous[next[index]] = previous[index];
+		}
+		counts[chunk][slot]--;
+	}
+
+	private void grow(final int minimumCapacity) {
+		final int capacity = Math.max(minimumCapacity, occupants.length * 2);
+		occupants = Arrays.copyOf(occupants, capacity);
+		next = Arrays.copyOf(next, capacity);
+		previous = Arrays.copyOf(previous, capacity);
+		tiles = Arrays.copyOf(tiles, capacity);
+	}
+}
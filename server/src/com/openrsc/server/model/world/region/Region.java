@@ -1,17 +1,20 @@
 package com.openrsc.server.model.world.region;
 
-import com.openrsc.server.constants.Constants;
 import com.openrsc.server.model.Point;
 import com.openrsc.server.model.entity.Entity;
 import com.openrsc.server.model.entity.GameObject;
 import com.openrsc.server.model.entity.GroundItem;
 import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
+import com.openrsc.server.util.LongObjectHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 public class Region {
 	/**
@@ -44,14 +47,14 @@ public class Region {
 	final private HashSet<GroundItem> items = new HashSet<>();
 
 	/**
-	 * A list of tiles in this region.
+	 * The objects in this region by tile, guarded by the objects lock.
 	 */
-	private volatile TileValue[][] tiles;
+	final private LongObjectHashMap<ArrayList<GameObject>> objectsByTile = new LongObjectHashMap<>();
 
 	/**
-	 * The constant tile value used for this region.
+	 * The ground items in this region by tile, guarded by the items lock.
 	 */
-	private volatile TileValue tile;
+	final private LongObjectHashMap<ArrayList<GroundItem>> itemsByTile = new LongObjectHashMap<>();
 
 	/**
 	 * The X index of this region
@@ -73,24 +76,19 @@ public class Region {
 		this.regionManager = regionManager;
 		this.regionX = regionX;
 		this.regionY = regionY;
-
-		this.tiles = new TileValue[Constants.REGION_SIZE][Constants.REGION_SIZE];
-		this.tile = null;
-
-		for (int i = 0; i < Constants.REGION_SIZE; i++) {
-			for (int j = 0; j < Constants.REGION_SIZE; j++) {
-				tiles[i][j] = new TileValue();
-			}
-		}
 	}
 
 	public void unload() {
 		players.clear();
 		npcs.clear();
-		objects.clear();
-		items.clear();
-		tiles = null;
-		tile = null;
+		synchronized (objects) {
+			objects.clear();
+			objectsByTile.clear();
+		}
+		synchronized (items) {
+			items.clear();
+			itemsByTile.clear();
+		}
 	}
 
 	/**
@@ -143,11 +141,15 @@ public class Region {
 			}
 		} else if (e instanceof GameObject) {
 			synchronized (objects) {
-				objects.remove(e);
+				if (objects.remove(e)) {
+					removeFromTile(objectsByTile, e);
+				}
 			}
 		} else if (e instanceof GroundItem) {
 			synchronized (items) {
-				items.remove(e);
+				if (items.remove(e)) {
+					removeFromTile(itemsByTile, e);
+				}
 			}
 		}
 	}
@@ -166,15 +168,69 @@ public class Region {
 			}
 		} else if (e instanceof GameObject) {
 			synchronized (objects) {
-				objects.add((GameObject) e);
+				if (objects.add((GameObject) e)) {
+					addToTile(objectsByTile, (GameObject) e);
+				}
 			}
 		} else if (e instanceof GroundItem) {
 			synchronized (items) {
-				items.add((GroundItem) e);
+				if (items.add((GroundItem) e)) {
+					addToTile(itemsByTile, (GroundItem) e);
+				}
+			}
+		}
+	}
+
+	private static long tileKey(final int x, final int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static <T extends Entity> void addToTile(final LongObjectHashMap<ArrayList<T>> byTile, final T e) {
+		final long key = tileKey(e.getX(), e.getY());
+		ArrayList<T> onTile = byTile.get(key);
+		if (onTile == null) {
+			onTile = new ArrayList<>(2);
+			byTile.put(key, onTile);
+		}
+		onTile.add(e);
+	}
+
+	private static <T extends Entity> void removeFromTile(final LongObjectHashMap<ArrayList<T>> byTile, final Entity e) {
+		final long key = tileKey(e.getX(), e.getY());
+		final ArrayList<T> onTile = byTile.get(key);
+		if (onTile != null && onTile.remove(e)) {
+			if (onTile.isEmpty()) {
+				byTile.remove(key);
+			}
+			return;
+		}
+
+		// The entity was moved within this region after it was added, so look through every tile.
+		final ArrayList<ArrayList<T>> allTiles = new ArrayList<>();
+		byTile.values(allTiles);
+		for (final ArrayList<T> tile : allTiles) {
+			if (tile.remove(e)) {
+				return;
 			}
 		}
 	}
 
+	/**
+	 * @return The objects on the tile, which must only be read while holding the objects lock.
+	 */
+	private List<GameObject> getGameObjectsOnTile(final int x, final int y) {
+		final ArrayList<GameObject> onTile = objectsByTile.get(tileKey(x, y));
+		return onTile == null ? Collections.emptyList() : onTile;
+	}
+
+	/**
+	 * @return The ground items on the tile, which must only be read while holding the items lock.
+	 */
+	private List<GroundItem> getGroundItemsOnTile(final int x, final int y) {
+		final ArrayList<GroundItem> onTile = itemsByTile.get(tileKey(x, y));
+		return onTile == null ? Collections.emptyList() : onTile;
+	}
+
 	public String toString() {
 		final StringBuilder sb = new StringBuilder(2000);
 		sb.append("Players:\n");
@@ -232,8 +288,8 @@ public class Region {
 
 	public GameObject getGameObject(final int x, final int y, final Entity e) {
 		synchronized (objects) {
-			for (final GameObject o : objects) {
-				if (o.getX() == x && o.getY() == y && (e == null || !o.isInvisibleTo(e))) {
+			for (final GameObject o : getGameObjectsOnTile(x, y)) {
+				if (e == null || !o.isInvisibleTo(e)) {
 					return o;
 				}
 			}
@@ -243,8 +299,19 @@ public class Region {
 
 	public GameObject getGameObject(final Point point, final Entity e) {
 		synchronized (objects) {
-			for (final GameObject o : objects) {
-				if (o.getLocation().getX() == point.getX() && o.getLocation().getY() == point.getY() && o.getType() == 0 && (e == null || !o.isInvisibleTo(e))) {
+			for (final GameObject o : getGameObjectsOnTile(point.getX(), point.getY())) {
+				if (o.getType() == 0 && (e == null || !o.isInvisibleTo(e))) {
+					return o;
+				}
+			}
+		}
+		return null;
+	}
+
+	public GameObject getGameObject(final int id, final int x, final int y, final Entity e) {
+		synchronized (objects) {
+			for (final GameObject o : getGameObjectsOnTile(x, y)) {
+				if (o.getID() == id && (e == null || !o.isInvisibleTo(e))) {
 					return o;
 				}
 			}
@@ -254,8 +321,8 @@ public class Region {
 
 	public GameObject getWallGameObject(final Point point, final int direction, final Entity e) {
 		synchronized (objects) {
-			for (final GameObject o : objects) {
-				if (o.getLocation().getX() == point.getX() && o.getLocation().getY() == point.getY() && o.getType() == 1 && o.getDirection() == direction && (e == null || !o.isInvisibleTo(e))) {
+			for (final GameObject o : getGameObjectsOnTile(point.getX(), point.getY())) {
+				if (o.getType() == 1 && o.getDirection() == direction && (e == null || !o.isInvisibleTo(e))) {
 					return o;
 				}
 			}
@@ -265,8 +332,8 @@ public class Region {
 
 	public GameObject getWallGameObject(final Point point, final Entity e) {
 		synchronized (objects) {
-			for (final GameObject o : objects) {
-				if (o.getLocation().getX() == point.getX() && o.getLocation().getY() == point.getY() && o.getType() == 1 && (e == null || !o.isInvisibleTo(e))) {
+			for (final GameObject o : getGameObjectsOnTile(point.getX(), point.getY())) {
+				if (o.getType() == 1 && (e == null || !o.isInvisibleTo(e))) {
 					return o;
 				}
 			}
@@ -297,22 +364,25 @@ public class Region {
 	}
 
 	public GroundItem getItem(final int id, final Point location, final Entity e) {
-		final int x = location.getX();
-		final int y = location.getY();
-		for (final GroundItem i : getGroundItems()) {
-			if (i.getID() == id && i.getX() == x && i.getY() == y && (e == null || !i.isInvisibleTo(e))) {
-				return i;
+		synchronized (items) {
+			for (final GroundItem i : getGroundItemsOnTile(location.getX(), location.getY())) {
+				if (i.getID() == id && (e == null || !i.isInvisibleTo(e))) {
+					return i;
+				}
 			}
 		}
 		return null;
 	}
 
-	public TileValue getTileValue(final int regionX, final int regionY) {
-		return tile != null ? tile : tiles[regionX][regionY];
-	}
-
-	public TileValue getTileValue(final Point regionPoint) {
-		return getTileValue(regionPoint.getX(), regionPoint.getY());
+	public GroundItem getItem(final Point location, final Entity e) {
+		synchronized (items) {
+			for (final GroundItem i : getGroundItemsOnTile(location.getX(), location.getY())) {
+				if (e == null || !i.isInvisibleTo(e)) {
+					return i;
+				}
+			}
+		}
+		return null;
 	}
 
 	public RegionManager getRegionManager() {
@@ -326,19 +396,4 @@ public class Region {
 	public int getRegionY() {
 		return regionY;
 	}
-
-	public void checkRegionValues() {
-		boolean allTilesEqual = true;
-		final TileValue firstTile = tiles[0][0];
-		for (int i = 0; i < Constants.REGION_SIZE && allTilesEqual; i++) {
-			for (int j = 0; j < Constants.REGION_SIZE && allTilesEqual; j++) {
-				allTilesEqual = allTilesEqual && firstTile.equals(tiles[i][j]);
-			}
-		}
-
-		if (allTilesEqual) {
-			tile = tiles[0][0];
-			tiles = null;
-		}
-	}
 }
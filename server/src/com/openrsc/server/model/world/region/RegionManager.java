@@ -10,19 +10,55 @@ import com.openrsc.server.model.entity.npc.Npc;
 import com.openrsc.server.model.entity.player.Player;
 import com.openrsc.server.model.world.World;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 public class RegionManager {
-	private final ConcurrentHashMap<Integer, ConcurrentHashMap<Integer, Region>> regions;
+	/**
+	 * The number of regions along each axis of the grid.
+	 */
+	private static final int REGIONS_WIDE = (Constants.MAX_WIDTH + Constants.REGION_SIZE - 1) / Constants.REGION_SIZE;
+	private static final int REGIONS_HIGH = (Constants.MAX_HEIGHT + Constants.REGION_SIZE - 1) / Constants.REGION_SIZE;
+
+	/**
+	 * Region offsets visited by the view queries, the region itself first.
+	 */
+	private static final int[] SURROUNDING_X = {0, -1, +1, -1, 0, +1, 0, -1, +1};
+	private static final int[] SURROUNDING_Y = {0, -1, +1, 0, -1, 0, +1, +1, -1};
+
+	/**
+	 * Regions within the world boundaries, indexed by regionX * REGIONS_HIGH + regionY and created on first use.
+	 */
+	private final AtomicReferenceArray<Region> regions;
+
+	/**
+	 * Regions outside the world boundaries, which are rarely touched, keyed by packed region coordinates.
+	 */
+	private final ConcurrentHashMap<Long, Region> outerRegions;
+
+	/**
+	 * Regions in the grid that hold a player or neighbour one that does, as of the last call to markObservedRegions.
+	 * Only the game thread reads and writes it.
+	 */
+	private final boolean[] observedRegions;
+
+	/**
+	 * The values of every tile in the world.
+	 */
+	private final TileStore tiles;
 
 	private final World world;
 
 	public RegionManager(final World world) {
 		this.world = world;
-		this.regions = new ConcurrentHashMap<>();
+		this.regions = new AtomicReferenceArray<>(REGIONS_WIDE * REGIONS_HIGH);
+		this.outerRegions = new ConcurrentHashMap<>();
+		this.observedRegions = new boolean[REGIONS_WIDE * REGIONS_HIGH];
+		this.tiles = new TileStore();
 	}
 
 	public void load() {
@@ -31,12 +67,16 @@ public class RegionManager {
 	}
 
 	public void unload() {
-		for (final ConcurrentHashMap<Integer, Region> yRegionList : regions.values()) {
-			for (final Region region : yRegionList.values()) {
+		for (int i = 0; i < regions.length(); i++) {
+			final Region region = regions.getAndSet(i, null);
+			if (region != null) {
 				region.unload();
 			}
 		}
-		regions.clear();
+		for (final Region region : outerRegions.values()) {
+			region.unload();
+		}
+		outerRegions.clear();
 	}
 
 	/**
@@ -47,13 +87,7 @@ public class RegionManager {
 	 */
 	public Collection<Player> getLocalPlayers(final Entity entity) {
 		final LinkedHashSet<Player> localPlayers = new LinkedHashSet<Player>();
-		for (final Region region : getSurroundingRegions(entity.getLocation())) {
-			for (final Player player : region.getPlayers()) {
-				if (player.withinRange(entity)) {
-					localPlayers.add(player);
-				}
-			}
-		}
+		forEachLocalPlayer(entity, localPlayers::add);
 		return localPlayers;
 	}
 
@@ -65,43 +99,126 @@ public class RegionManager {
 	 */
 	public Collection<Npc> getLocalNpcs(final Entity entity) {
 		final LinkedHashSet<Npc> localNpcs = new LinkedHashSet<>();
-		for (final Region region : getSurroundingRegions(entity.getLocation())) {
+		forEachLocalNpc(entity, localNpcs::add);
+		return localNpcs;
+	}
+
+	public Collection<GameObject> getLocalObjects(final Mob entity) {
+		final LinkedHashSet<GameObject> localObjects = new LinkedHashSet<GameObject>();
+		forEachLocalObject(entity, localObjects::add);
+		return localObjects;
+	}
+
+	public Collection<GroundItem> getLocalGroundItems(final Mob entity) {
+		final LinkedHashSet<GroundItem> localItems = new LinkedHashSet<GroundItem>();
+		forEachLocalGroundItem(entity, localItems::add);
+		return localItems;
+	}
+
+	/**
+	 * Passes each local player around an entity to the action, without building a collection.
+	 */
+	public void forEachLocalPlayer(final Entity entity, final Consumer<? super Player> action) {
+		final Point location = entity.getLocation();
+		for (int i = 0; i < SURROUNDING_X.length; i++) {
+			final Region region = getSurroundingRegion(location, i);
+			if (region == null) {
+				continue;
+			}
+			for (final Player player : region.getPlayers()) {
+				if (player.withinRange(entity)) {
+					action.accept(player);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes each local NPC around an entity to the action, without building a collection.
+	 */
+	public void forEachLocalNpc(final Entity entity, final Consumer<? super Npc> action) {
+		final Point location = entity.getLocation();
+		for (int i = 0; i < SURROUNDING_X.length; i++) {
+			final Region region = getSurroundingRegion(location, i);
+			if (region == null) {
+				continue;
+			}
 			for (final Npc npc : region.getNpcs()) {
 				if (npc.withinRange(entity)) {
-					localNpcs.add(npc);
+					action.accept(npc);
 				}
 			}
 		}
-		return localNpcs;
 	}
 
-	public Collection<GameObject> getLocalObjects(final Mob entity) {
-		LinkedHashSet<GameObject> localObjects = new LinkedHashSet<GameObject>();
-		for (final Iterator<Region> region = getSurroundingRegions(entity.getLocation()).iterator(); region.hasNext(); ) {
-			Collection<GameObject> objects = region.next().getGameObjects();
+	/**
+	 * Passes each object in view of a mob to the action, without building a collection.
+	 * The action runs while the region's objects are locked, so it must not add or remove objects.
+	 */
+	public void forEachLocalObject(final Mob entity, final Consumer<? super GameObject> action) {
+		final Point location = entity.getLocation();
+		final int viewDistance = getWorld().getServer().getConfig().VIEW_DISTANCE;
+		for (int i = 0; i < SURROUNDING_X.length; i++) {
+			final Region region = getSurroundingRegion(location, i);
+			if (region == null) {
+				continue;
+			}
+			final Collection<GameObject> objects = region.getGameObjects();
 			synchronized (objects) {
-				for (final Iterator<GameObject> o = objects.iterator(); o.hasNext(); ) {
-					if (o == null) continue;
-					final GameObject gameObject = o.next();
-					if (gameObject.getLocation().withinGridRange(entity.getLocation(), getWorld().getServer().getConfig().VIEW_DISTANCE)) {
-						localObjects.add(gameObject);
+				for (final GameObject gameObject : objects) {
+					if (gameObject.getLocation().withinGridRange(location, viewDistance)) {
+						action.accept(gameObject);
 					}
 				}
 			}
 		}
-		return localObjects;
 	}
 
-	public Collection<GroundItem> getLocalGroundItems(final Mob entity) {
-		final LinkedHashSet<GroundItem> localItems = new LinkedHashSet<GroundItem>();
-		for (final Region region : getSurroundingRegions(entity.getLocation())) {
+	/**
+	 * Passes each ground item in view of a mob to the action, without building a collection.
+	 */
+	public void forEachLocalGroundItem(final Mob entity, final Consumer<? super GroundItem> action) {
+		final Point location = entity.getLocation();
+		final int viewDistance = getWorld().getServer().getConfig().VIEW_DISTANCE;
+		for (int i = 0; i < SURROUNDING_X.length; i++) {
+			final Region region = getSurroundingRegion(location, i);
+			if (region == null) {
+				continue;
+			}
 			for (final GroundItem o : region.getGroundItems()) {
-				if (o.getLocation().withinGridRange(entity.getLocation(), getWorld().getServer().getConfig().VIEW_DISTANCE)) {
-					localItems.add(o);
+				if (o.getLocation().withinGridRange(location, viewDistance)) {
+					action.accept(o);
 				}
 			}
 		}
-		return localItems;
+	}
+
+	/**
+	 * Marks the regions that a player can see into. Anything outside of them cannot be in view of any player.
+	 */
+	public void markObservedRegions(final Iterable<Player> players) {
+		Arrays.fill(observedRegions, false);
+		for (final Player player : players) {
+			final int regionX = player.getX() / Constants.REGION_SIZE;
+			final int regionY = player.getY() / Constants.REGION_SIZE;
+			for (int i = 0; i < SURROUNDING_X.length; i++) {
+				final int x = regionX + SURROUNDING_X[i];
+				final int y = regionY + SURROUNDING_Y[i];
+				if (withinGrid(x, y)) {
+					observedRegions[x * REGIONS_HIGH + y] = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if a player was in or next to the location's region when the regions were last marked.
+	 * Locations outside the grid always count as observed.
+	 */
+	public boolean isObserved(final Point location) {
+		final int regionX = location.getX() / Constants.REGION_SIZE;
+		final int regionY = location.getY() / Constants.REGION_SIZE;
+		return !withinGrid(regionX, regionY) || observedRegions[regionX * REGIONS_HIGH + regionY];
 	}
 
 	/**
@@ -111,33 +228,63 @@ public class RegionManager {
 	 * @return The regions surrounding the location.
 	 */
 	public LinkedHashSet<Region> getSurroundingRegions(final Point location) {
-		final int regionX = location.getX() / Constants.REGION_SIZE;
-		final int regionY = location.getY() / Constants.REGION_SIZE;
-
 		final LinkedHashSet<Region> surrounding = new LinkedHashSet<Region>();
-		surrounding.add(getRegionFromSectorCoordinates(regionX, regionY));
-		final int[] xMod = {-1, +1, -1, 0, +1, 0, -1, +1};
-		final int[] yMod = {-1, +1, 0, -1, 0, +1, +1, -1};
-		for (int i = 0; i < xMod.length; i++) {
-			final Region tmpRegion = getRegionFromSectorCoordinates(regionX + xMod[i], regionY + yMod[i]);
-			if (tmpRegion != null) {
-				surrounding.add(tmpRegion);
+		for (int i = 0; i < SURROUNDING_X.length; i++) {
+			final Region region = getSurroundingRegion(location, i);
+			if (region != null) {
+				surrounding.add(region);
 			}
 		}
 		return surrounding;
 	}
 
+	/**
+	 * @return true if the location is in one of the regions surrounding the mob and within its view distance.
+	 */
+	public boolean withinView(final Mob mob, final Point location) {
+		return withinView(mob, location.getX(), location.getY());
+	}
+
+	public boolean withinView(final Mob mob, final int x, final int y) {
+		final Point mobLocation = mob.getLocation();
+		final int viewDistance = getWorld().getServer().getConfig().VIEW_DISTANCE;
+		return Math.abs(x / Constants.REGION_SIZE - mobLocation.getX() / Constants.REGION_SIZE) <= 1
+			&& Math.abs(y / Constants.REGION_SIZE - mobLocation.getY() / Constants.REGION_SIZE) <= 1
+			&& Math.abs((x >> 3) - (mobLocation.getX() >> 3)) <= viewDistance
+			&& Math.abs((y >> 3) - (mobLocation.getY() >> 3)) <= viewDistance;
+	}
+
+	/**
+	 * Neighbours that fall outside the grid are skipped, as nothing can stand in them.
+	 */
+	private Region getSurroundingRegion(final Point location, final int offset) {
+		final int regionX = location.getX() / Constants.REGION_SIZE + SURROUNDING_X[offset];
+		final int regionY = location.getY() / Constants.REGION_SIZE + SURROUNDING_Y[offset];
+		if (offset != 0 && !withinGrid(regionX, regionY)) {
+			return null;
+		}
+		return getRegionFromSectorCoordinates(regionX, regionY);
+	}
+
+	private static boolean withinGrid(final int regionX, final int regionY) {
+		return regionX >= 0 && regionX < REGIONS_WIDE && regionY >= 0 && regionY < REGIONS_HIGH;
+	}
+
 	private Region getRegionFromSectorCoordinates(final int regionX, final int regionY) {
-		// Create a new HashMap if it doesn't exist.
-		if (!getRegions().containsKey(regionX)) {
-			getRegions().put(regionX, new ConcurrentHashMap<>());
+		if (!withinGrid(regionX, regionY)) {
+			return outerRegions.computeIfAbsent(((long) regionX << 32) | (regionY & 0xFFFFFFFFL),
+				key -> new Region(this, regionX, regionY));
 		}
 
-		if (!getRegions().get(regionX).containsKey(regionY)) {
-			getRegions().get(regionX).put(regionY, new Region(this, regionX, regionY));
+		final int index = regionX * REGIONS_HIGH + regionY;
+		final Region region = regions.get(index);
+		if (region != null) {
+			return region;
 		}
 
-		return getRegions().get(regionX).get(regionY);
+		// Create the region on first use. If another thread got there first, use its region.
+		final Region created = new Region(this, regionX, regionY);
+		return regions.compareAndSet(index, null, created) ? created : regions.get(index);
 	}
 
 	public Region getRegion(final int x, final int y) {
@@ -154,7 +301,7 @@ public class RegionManager {
 	 * Are the given coords within the world boundaries
 	 */
 	public boolean withinWorld(final int x, final int y) {
-		return x >= 0 && x < Constants.MAX_WIDTH && y >= 0 && y < Constants.MAX_HEIGHT;
+		return TileStore.withinWorld(x, y);
 	}
 
 	public TileValue getTile(final int x, final int y) {
@@ -162,15 +309,18 @@ public class RegionManager {
 			return null;
 		}
 
-		return getRegion(x, y).getTileValue(x % Constants.REGION_SIZE, y % Constants.REGION_SIZE);
+		return new TileValue(tiles, x, y);
 	}
 
 	public TileValue getTile(final Point point) {
 		return getTile(point.getX(), point.getY());
 	}
 
-	private ConcurrentHashMap<Integer, ConcurrentHashMap<Integer, Region>> getRegions() {
-		return regions;
+	/**
+	 * @return The tile store, for reading tile values by coordinate without going through a TileValue.
+	 */
+	public TileStore getTiles() {
+		return tiles;
 	}
 
 	public World getWorld() {
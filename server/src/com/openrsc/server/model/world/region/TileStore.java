@@ -0,0 +1,144 @@
+package com.openrsc.server.model.world.region;
+
+import com.openrsc.server.constants.Constants;
+
+/**
+ * Holds the values of every tile in the world in primitive arrays indexed by x * MAX_HEIGHT + y.
+ *
+ * This replaces one TileValue object per tile, so reading collision data during path finding does not dereference
+ * any objects. Tiles outside the world boundaries read as fully blocked and ignore writes.
+ */
+public final class TileStore {
+	/**
+	 * The traversal mask reported for tiles outside the world.
+	 */
+	public static final int OUTSIDE_WORLD_MASK = 0xFF;
+
+	private static final int TILE_COUNT = Constants.MAX_WIDTH * Constants.MAX_HEIGHT;
+
+	private final byte[] traversalMask = new byte[TILE_COUNT];
+	private final short[] diagWallVal = new short[TILE_COUNT];
+	private final byte[] horizontalWallVal = new byte[TILE_COUNT];
+	private final byte[] overlay = new byte[TILE_COUNT];
+	private final byte[] verticalWallVal = new byte[TILE_COUNT];
+	private final byte[] elevation = new byte[TILE_COUNT];
+	private final long[] projectileAllowed = new long[(TILE_COUNT + 63) >>> 6];
+	private int traversalVersion = 0;
+
+	public static boolean withinWorld(final int x, final int y) {
+		return x >= 0 && x < Constants.MAX_WIDTH && y >= 0 && y < Constants.MAX_HEIGHT;
+	}
+
+	static int index(final int x, final int y) {
+		return x * Constants.MAX_HEIGHT + y;
+	}
+
+	/**
+	 * @return The traversal mask as an unsigned value, see CollisionFlag.
+	 */
+	public int getTraversalMask(final int x, final int y) {
+		return withinWorld(x, y) ? traversalMask[index(x, y)] & 0xFF : OUTSIDE_WORLD_MASK;
+	}
+
+	/**
+	 * @return A number that changes whenever a traversal mask is written, so results derived from them can be reused until then.
+	 */
+	public int getTraversalVersion() {
+		return traversalVersion;
+	}
+
+	public void setTraversalMask(final int x, final int y, final int mask) {
+		if (withinWorld(x, y)) {
+			traversalMask[index(x, y)] = (byte) mask;
+			traversalVersion++;
+		}
+	}
+
+	public void addTraversalFlags(final int x, final int y, final int flags) {
+		if (withinWorld(x, y)) {
+			traversalMask[index(x, y)] |= flags;
+			traversalVersion++;
+		}
+	}
+
+	public void removeTraversalFlags(final int x, final int y, final int flags) {
+		if (withinWorld(x, y)) {
+			traversalMask[index(x, y)] &= ~flags;
+			traversalVersion++;
+		}
+	}
+
+	public boolean isProjectileAllowed(final int x, final int y) {
+		return withinWorld(x, y) && isProjectileAllowed(index(x, y));
+	}
+
+	public void setProjectileAllowed(final int x, final int y, final boolean allowed) {
+		if (withinWorld(x, y)) {
+			setProjectileAllowed(index(x, y), allowed);
+		}
+	}
+
+	public byte getOverlay(final int x, final int y) {
+		return withinWorld(x, y) ? overlay[index(x, y)] : 0;
+	}
+
+	byte getTraversalMask(final int index) {
+		return traversalMask[index];
+	}
+
+	void setTraversalMask(final int index, final byte value) {
+		traversalMask[index] = value;
+	}
+
+	short getDiagWallVal(final int index) {
+		return diagWallVal[index];
+	}
+
+	void setDiagWallVal(final int index, final short value) {
+		diagWallVal[index] = value;
+	}
+
+	byte getHorizontalWallVal(final int index) {
+		return horizontalWallVal[index];
+	}
+
+	void setHorizontalWallVal(final int index, final byte value) {
+		horizontalWallVal[index] = value;
+	}
+
+	byte getOverlay(final int index) {
+		return overlay[index];
+	}
+
+	void setOverlay(final int index, final byte value) {
+		overlay[index] = value;
+	}
+
+	byte getVerticalWallVal(final int index) {
+		return verticalWallVal[index];
+	}
+
+	void setVerticalWallVal(final int index, final byte value) {
+		verticalWallVal[index] = value;
+	}
+
+	byte getElevation(final int index) {
+		return elevation[index];
+	}
+
+	void setElevation(final int index, final byte value) {
+		elevation[index] = value;
+	}
+
+	boolean isProjectileAllowed(final int index) {
+		return (projectileAllowed[index >>> 6] & (1L << index)) != 0;
+	}
+
+	void setProjectileAllowed(final int index, final boolean allowed) {
+		if (allowed) {
+			projectileAllowed[index >>> 6] |= 1L << index;
+		} else {
+			projectileAllowed[index >>> 6] &= ~(1L << index);
+		}
+	}
+}
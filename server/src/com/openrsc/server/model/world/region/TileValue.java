@@ -1,34 +1,93 @@
 package com.openrsc.server.model.world.region;
 
-public class TileValue {
-	public byte traversalMask = 0;
-	public short diagWallVal = 0;
-	public byte horizontalWallVal = 0;
-	public byte overlay = 0;
-	public byte verticalWallVal = 0;
-	public byte elevation = 0;
-	public boolean projectileAllowed = false;
+/**
+ * A view of one tile in the TileStore. Reads and writes go straight to the store.
+ */
+public final class TileValue {
+	private final TileStore store;
+	private final int index;
+
+	TileValue(final TileStore store, final int x, final int y) {
+		this.store = store;
+		this.index = TileStore.index(x, y);
+	}
+
+	public byte getTraversalMask() {
+		return store.getTraversalMask(index);
+	}
+
+	public void setTraversalMask(final byte traversalMask) {
+		store.setTraversalMask(index, traversalMask);
+	}
+
+	public short getDiagWallVal() {
+		return store.getDiagWallVal(index);
+	}
+
+	public void setDiagWallVal(final short diagWallVal) {
+		store.setDiagWallVal(index, diagWallVal);
+	}
+
+	public byte getHorizontalWallVal() {
+		return store.getHorizontalWallVal(index);
+	}
+
+	public void setHorizontalWallVal(final byte horizontalWallVal) {
+		store.setHorizontalWallVal(index, horizontalWallVal);
+	}
+
+	public byte getOverlay() {
+		return store.getOverlay(index);
+	}
+
+	public void setOverlay(final byte overlay) {
+		store.setOverlay(index, overlay);
+	}
+
+	public byte getVerticalWallVal() {
+		return store.getVerticalWallVal(index);
+	}
+
+	public void setVerticalWallVal(final byte verticalWallVal) {
+		store.setVerticalWallVal(index, verticalWallVal);
+	}
+
+	public byte getElevation() {
+		return store.getElevation(index);
+	}
+
+	public void setElevation(final byte elevation) {
+		store.setElevation(index, elevation);
+	}
+
+	public boolean isProjectileAllowed() {
+		return store.isProjectileAllowed(index);
+	}
+
+	public void setProjectileAllowed(final boolean projectileAllowed) {
+		store.setProjectileAllowed(index, projectileAllowed);
+	}
 
 	@Override
 	public String toString() {
 		return "TileValue{" +
-			"traversalMask=" + traversalMask +
-			", diagWallVal=" + diagWallVal +
-			", horizontalWallVal=" + horizontalWallVal +
-			", overlay=" + overlay +
-			", verticalWallVal=" + verticalWallVal +
-			", elevation=" + elevation +
-			", projectileAllowed=" + projectileAllowed +
+			"traversalMask=" + getTraversalMask() +
+			", diagWallVal=" + getDiagWallVal() +
+			", horizontalWallVal=" + getHorizontalWallVal() +
+			", overlay=" + getOverlay() +
+			", verticalWallVal=" + getVerticalWallVal() +
+			", elevation=" + getElevation() +
+			", projectileAllowed=" + isProjectileAllowed() +
 			'}';
 	}
 
 	public boolean equals(final TileValue other) {
-		return 	this.traversalMask == other.traversalMask &&
-				this.diagWallVal == other.diagWallVal &&
-				this.horizontalWallVal == other.horizontalWallVal &&
-				this.overlay == other.overlay &&
-				this.verticalWallVal == other.verticalWallVal &&
-				this.elevation == other.elevation &&
-				this.projectileAllowed == other.projectileAllowed;
+		return 	this.getTraversalMask() == other.getTraversalMask() &&
+				this.getDiagWallVal() == other.getDiagWallVal() &&
+				this.getHorizontalWallVal() == other.getHorizontalWallVal() &&
+				this.getOverlay() == other.getOverlay() &&
+				this.getVerticalWallVal() == other.getVerticalWallVal() &&
+				this.getElevation() == other.getElevation() &&
+				this.isProjectileAllowed() == other.isProjectileAllowed();
 	}
 }
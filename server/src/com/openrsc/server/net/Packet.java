@@ -1,6 +1,7 @@
 package com.openrsc.server.net;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
 
 public class Packet {
 	/**
@@ -57,6 +58,16 @@ public class Packet {
 		return payload;
 	}
 
+	/**
+	 * Releases the payload once the packet has been handled or dropped.
+	 * Incoming payloads are slices of pooled network buffers, so every decoded packet must be released exactly once.
+	 */
+	public void release() {
+		if (payload.refCnt() > 0) {
+			ReferenceCountUtil.release(payload);
+		}
+	}
+
 	/**
 	 * reads the length.
 	 *
@@ -4,6 +4,8 @@ import com.openrsc.server.util.rsc.DataConversions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 public class PacketBuilder {
 
 	/**
@@ -20,6 +22,16 @@ public class PacketBuilder {
 		}
 	}
 
+	/**
+	 * The capacity of a payload whose opcode has not been built before.
+	 */
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * The size of the last payload built for each opcode, used to size the next one.
+	 */
+	private static final AtomicIntegerArray SIZE_HINTS = new AtomicIntegerArray(256);
+
 	/**
 	 * The opcode.
 	 */
@@ -28,7 +40,7 @@ public class PacketBuilder {
 	/**
 	 * The payload.
 	 */
-	private ByteBuf payload = Unpooled.buffer();
+	private final ByteBuf payload;
 
 	/**
 	 * The current bit position.
@@ -49,6 +61,15 @@ public class PacketBuilder {
 	 */
 	public PacketBuilder(int opcode) {
 		this.opcode = opcode;
+		this.payload = Unpooled.buffer(getSizeHint(opcode));
+	}
+
+	private static int getSizeHint(int opcode) {
+		if (opcode < 0 || opcode >= SIZE_HINTS.length()) {
+			return DEFAULT_CAPACITY;
+		}
+		int hint = SIZE_HINTS.get(opcode);
+		return hint > 0 ? hint : DEFAULT_CAPACITY;
 	}
 
 	/**
@@ -128,6 +149,9 @@ public class PacketBuilder {
 	 * @return The Packet object.
 	 */
 	public Packet toPacket() {
+		if (opcode >= 0 && opcode < SIZE_HINTS.length()) {
+			SIZE_HINTS.set(opcode, payload.writerIndex());
+		}
 		finalizeLength();
 		return new Packet(opcode, payload);
 	}
@@ -1,15 +1,52 @@
 package com.openrsc.server.net;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.openrsc.server.model.entity.player.Player;
+import io.netty.buffer.ByteBuf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.*;
-import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPOutputStream;
 
+/**
+ * Records a player's session as a gzipped pcap file.
+ *
+ * Packets are framed into pcap records in a small buffer as they are sent and received. Whenever the buffer fills, the
+ * pcap writer thread appends it to the session's file as one more gzip member, so a long session never holds more than
+ * one buffer of packets and no file is kept open in between. Once a file holds the configured size of records, the
+ * session carries on in the next numbered file, which starts with its own pcap header.
+ */
 public class PcapLogger {
+	/**
+	 * The asynchronous logger.
+	 */
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	/**
+	 * Records are handed to the writer thread once this many bytes are buffered.
+	 */
+	private static final int FLUSH_BYTES = 16 * 1024;
+
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(
+		new ThreadFactoryBuilder().setNameFormat("PcapWriterThread").setDaemon(true).build());
 
 	public String fname;
-	private LinkedList<ReplayPacket> m_packets = new LinkedList<ReplayPacket>();
+	private final long maxFileBytes;
+	private final ByteArrayOutputStream records = new ByteArrayOutputStream(FLUSH_BYTES + 1024);
+	private final DataOutputStream recordStream = new DataOutputStream(records);
+	private boolean finished = false;
+
+	/*
+	 * Only used on the writer thread.
+	 */
+	private File file;
+	private int filePart = 0;
+	private long fileBytes = 0;
+	private boolean failed = false;
 
 	private static final byte[] spoofedClientMAC = {(byte)0x00, (byte)0x00, (byte)0x00, (byte)0xCC, (byte)0xCC, (byte)0xCC};
 	private static final byte[] spoofedServerMAC = {(byte)0x00, (byte)0x00, (byte)0x00, (byte)0x55, (byte)0x55, (byte)0x55};
@@ -19,16 +56,39 @@ public class PcapLogger {
 
 
 	public PcapLogger(String filename) {
+		this(filename, 0);
+	}
+
+	/**
+	 * @param maxFileBytes The most bytes of records written to one file before moving on to the next, or 0 for no limit.
+	 */
+	public PcapLogger(String filename, long maxFileBytes) {
 		this.fname = filename;
+		this.maxFileBytes = maxFileBytes;
+	}
+
+	public synchronized void addPacket(Packet packet, boolean incoming) {
+		if (finished) {
+			return;
+		}
+		try {
+			writePCAPPacket(recordStream, packet, incoming, System.currentTimeMillis());
+		} catch (IOException e) {
+			LOGGER.catching(e);
+		}
+		if (records.size() >= FLUSH_BYTES) {
+			flush();
+		}
 	}
 
-	public void addPacket(Packet packet, boolean incoming) {
-		ReplayPacket p = new ReplayPacket();
-		p.incoming = incoming;
-		p.timestamp = System.currentTimeMillis();
-		p.opcode = packet.getID();
-		p.data = packet.getBuffer().array();
-		m_packets.add(p);
+	/**
+	 * Hands the buffered records to the writer thread. Called while holding this logger's lock, so the writer receives
+	 * them in order.
+	 */
+	private Future<?> flush() {
+		final byte[] pending = records.toByteArray();
+		records.reset();
+		return WRITER.submit(() -> append(pending));
 	}
 
 	private int getLengthSize(int size) {
@@ -46,29 +106,29 @@ public class PcapLogger {
 		}
 	}
 
-	private void writePCAPPacket(DataOutputStream pcap, ReplayPacket packet) throws IOException {
-		if (packet.opcode == VIRTUAL_OPCODE_NOP)
+	private void writePCAPPacket(DataOutputStream pcap, Packet packet, boolean incoming, long timestampMS) throws IOException {
+		if (packet.getID() == VIRTUAL_OPCODE_NOP)
 			return;
 
-		int opcode = packet.opcode;
+		// Only the readable bytes are copied, straight out of the packet's buffer.
+		final ByteBuf data = packet.getBuffer();
+		final int dataLength = data == null ? 0 : data.readableBytes();
+		int opcode = packet.getID();
 		int size = 1;
 		int lengthSize = 0;
 		if (opcode == VIRTUAL_OPCODE_CONNECT) {
-			if (!packet.incoming) {
+			if (!incoming) {
 				opcode = 0;
-				if (packet.data != null)
-					size += packet.data.length;
+				size += dataLength;
 				lengthSize = getLengthSize(size);
 			} else {
-				opcode = packet.data[0];
+				opcode = data.getByte(data.readerIndex());
 			}
 		} else {
-			if (packet.data != null)
-				size += packet.data.length;
+			size += dataLength;
 			lengthSize = getLengthSize(size);
 		}
 
-		long timestampMS = packet.timestamp;
 		int timestampSeconds = (int)((timestampMS) / 1000);
 		long timestampMicro = ((long)timestampMS * 1000) % 1000000;
 
@@ -78,7 +138,7 @@ public class PcapLogger {
 		pcap.writeInt(size + lengthSize + 19); // Original length
 
 		// Ethernet header
-		if (!packet.incoming) {
+		if (!incoming) {
 			pcap.write(spoofedServerMAC);
 			pcap.write(spoofedClientMAC);
 		} else {
@@ -88,50 +148,77 @@ public class PcapLogger {
 		pcap.writeShort(0x0);
 
 		// rscminus Header
-		pcap.writeByte(!packet.incoming ? 1 : 0); // Client
-		pcap.writeInt(packet.opcode);
+		pcap.writeByte(!incoming ? 1 : 0); // Client
+		pcap.writeInt(packet.getID());
 
 		if (lengthSize > 0)
 			writeLength(pcap, size);
 		pcap.writeByte(opcode);
 		if (size > 1)
-			pcap.write(packet.data);
+			data.getBytes(data.readerIndex(), pcap, dataLength);
 	}
 
+	/**
+	 * Writes out the rest of the session and waits until it is on disk. Packets are no longer recorded afterwards.
+	 */
 	public void exportPCAP(Player player) {
+		final Future<?> written;
+		synchronized (this) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			written = flush();
+		}
+		try {
+			written.get();
+		} catch (Exception e) {
+			LOGGER.catching(e);
+		}
+	}
+
+	/**
+	 * Appends records to the session's current file as a gzip member, starting a new file when the current one is full.
+	 */
+	private void append(byte[] pending) {
+		if (failed || pending.length == 0) {
+			return;
+		}
+		final boolean newFile = file == null || (maxFileBytes > 0 && fileBytes >= maxFileBytes);
+		if (newFile) {
+			file = nextFile();
+			fileBytes = 0;
+		}
+		try (DataOutputStream pcap = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file, !newFile))))) {
+			if (newFile) {
+				writeGlobalHeader(pcap);
+			}
+			pcap.write(pending);
+			fileBytes += pending.length;
+		} catch (IOException e) {
+			failed = true;
+			LOGGER.error("Stopped recording pcap " + file);
+			LOGGER.catching(e);
+		}
+	}
+
+	private File nextFile() {
 		// Create pcap directory if it doesn't already exist
 		File pcapDir = new File("logs/pcaps/");
 		if (pcapDir.isFile()) pcapDir.delete();
 		if (!pcapDir.exists()) pcapDir.mkdir();
-		
-		// Required files
-		File pcapFile = new File( pcapDir.getAbsolutePath() + "/" + fname + ".pcap.gz");
-		try {
-			DataOutputStream pcap = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(pcapFile))));
-
-			// Write global header
-			pcap.writeInt(0xa1b2c3d4); // Magic number
-			pcap.writeShort(2); // Version major
-			pcap.writeShort(4); // Version minor
-			pcap.writeInt(0); // Timezone correction (UTC)
-			pcap.writeInt(0); // Timestamp accuracy
-			pcap.writeInt(65535); // Packet snapshot length
-			pcap.writeInt(1); // Data link type (Ethernet)
-
-			for (ReplayPacket packet : m_packets) {
-				writePCAPPacket(pcap, packet);
-			}
 
-			pcap.close();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		filePart++;
+		return new File(pcapDir.getAbsolutePath() + "/" + fname + (filePart > 1 ? "." + filePart : "") + ".pcap.gz");
 	}
-}
 
-class ReplayPacket {
-	public long timestamp;
-	public int opcode;
-	public byte[] data;
-	public boolean incoming;
+	private void writeGlobalHeader(DataOutputStream pcap) throws IOException {
+		pcap.writeInt(0xa1b2c3d4); // Magic number
+		pcap.writeShort(2); // Version major
+		pcap.writeShort(4); // Version minor
+		pcap.writeInt(0); // Timezone correction (UTC)
+		pcap.writeInt(0); // Timestamp accuracy
+		pcap.writeInt(65535); // Packet snapshot length
+		pcap.writeInt(1); // Data link type (Ethernet)
+	}
 }
@@ -51,26 +51,32 @@ public class RSCConnectionHandler extends ChannelInboundHandlerAdapter implement
 				player = att.player.get();
 			}
 			if (player == null) {
-				if (packet.getID() == 19) {
-					if (!getServer().getPacketFilter().shouldAllowPacket(ctx.channel(), false)) {
-						ctx.channel().close();
-
-						return;
-					}
-
-					ActionSender.sendInitialServerConfigs(getServer(), channel);
-				} else {
-					if (packet.getLength() > 20 || (packet.getID() == 4 && packet.getLength() > 8)) {
-						loginHandler.processLogin(packet, channel, getServer());
+				try {
+					if (packet.getID() == 19) {
+						if (!getServer().getPacketFilter().shouldAllowPacket(ctx.channel(), false)) {
+							ctx.channel().close();
+
+							return;
+						}
+
+						ActionSender.sendInitialServerConfigs(getServer(), channel);
+					} else {
+						if (packet.getLength() > 20 || (packet.getID() == 4 && packet.getLength() > 8)) {
+							loginHandler.processLogin(packet, channel, getServer());
+						}
 					}
+				} finally {
+					packet.release();
 				}
 			} else {
 				if (!getServer().getPacketFilter().shouldAllowPacket(ctx.channel(), true)) {
+					packet.release();
 					ctx.channel().close();
 
 					return;
 				}
 
+				// The player's queue owns the packet from here and releases it once handled.
 				player.addToPacketQueue(packet);
 			}
 		}
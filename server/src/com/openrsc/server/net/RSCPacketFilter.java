@@ -3,67 +3,78 @@ package com.openrsc.server.net;
 import com.openrsc.server.Server;
 import com.openrsc.server.model.entity.player.Player;
 import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.net.InetSocketAddress;
 import java.text.DateFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
-
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limits connections, logins, password guesses and packets per host address, and keeps IP bans and admin hosts.
+ *
+ * Every check runs on Netty IO threads or the login workers. Rates are sliding window counters updated without locks,
+ * the packet rate of a channel is kept on the channel itself, and lookups are single hash map reads.
+ */
 public class RSCPacketFilter {
 	/**
 	 * The asynchronous Logger
 	 */
 	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * The packet rate and host address of a channel
+	 */
+	private static final AttributeKey<ChannelRate> CHANNEL_RATE = AttributeKey.valueOf("packetFilterRate");
+	private static final long SECOND_MILLIS = 1000;
+	private static final long PASSWORD_ATTEMPT_WINDOW_MILLIS = 5 * 60 * 1000;
 	/**
 	 * Holds a reference to the context Server
 	 */
 	private final Server server;
 	/**
-	 * Holds host address and it's connection attempt times
+	 * Holds host address and it's connection attempt rate
 	 */
-	private final HashMap<String, ArrayList<Long>> connectionAttempts;
+	private final ConcurrentHashMap<String, RateCounter> connectionAttempts;
 	/**
-	 * Holds host address and it's login attempt times
+	 * Holds host address and it's login attempt rate
 	 */
-	private final HashMap<String, ArrayList<Long>> loginAttempts;
+	private final ConcurrentHashMap<String, RateCounter> loginAttempts;
 	/**
-	 * Holds host address and it's login attempt times
+	 * Holds host address and it's open connections
 	 */
-	private final HashMap<String, ArrayList<Channel>> connections;
+	private final ConcurrentHashMap<String, Set<Channel>> connections;
 	/**
 	 * Holds host addresses that belong to admins
 	 */
-	private final ArrayList<String> adminHosts;
-	/**
-	 * Holds host address and it's packet send times
-	 */
-	private final HashMap<Channel, ArrayList<Long>> packets;
+	private final Set<String> adminHosts;
 
 	/**
 	 * Holds host address list that have been IP banned
 	 */
-	private final HashMap<String, Long> ipBans;
+	private final ConcurrentHashMap<String, Long> ipBans;
 	/**
 	 * Holds counts of logged in players per IP address
 	 */
-	private final HashMap<String, Integer> loggedInCount;
+	private final ConcurrentHashMap<String, Integer> loggedInCount;
 	/**
-	 * Holds host address and it's password guess attempt times
+	 * Holds host address and it's password guess attempt rate
 	 */
-	private final HashMap<String, ArrayList<Long>> passwordAttempts;
+	private final ConcurrentHashMap<String, AttemptLog> passwordAttempts;
 
 	public RSCPacketFilter(final Server server) {
 		this.server = server;
-		this.connectionAttempts = new HashMap<>();
-		this.loginAttempts = new HashMap<>();
-		this.connections = new HashMap<>();
-		this.adminHosts = new ArrayList<>();
-		this.packets = new HashMap<>();
-		this.ipBans = new HashMap<>();
-		this.loggedInCount = new HashMap<>();
-		this.passwordAttempts = new HashMap<>();
+		this.connectionAttempts = new ConcurrentHashMap<>();
+		this.loginAttempts = new ConcurrentHashMap<>();
+		this.connections = new ConcurrentHashMap<>();
+		this.adminHosts = ConcurrentHashMap.newKeySet();
+		this.ipBans = new ConcurrentHashMap<>();
+		this.loggedInCount = new ConcurrentHashMap<>();
+		this.passwordAttempts = new ConcurrentHashMap<>();
 	}
 
 	public void load() {
@@ -71,37 +82,13 @@ public class RSCPacketFilter {
 	}
 
 	public void unload() {
-		synchronized (connectionAttempts) {
-			connectionAttempts.clear();
-		}
-
-		synchronized (loginAttempts) {
-			loginAttempts.clear();
-		}
-
-		synchronized (connections) {
-			loginAttempts.clear();
-		}
-
-		synchronized (adminHosts) {
-			loginAttempts.clear();
-		}
-
-		synchronized (packets) {
-			loginAttempts.clear();
-		}
-
-		synchronized (ipBans) {
-			loginAttempts.clear();
-		}
-
-		synchronized (loggedInCount) {
-			loginAttempts.clear();
-		}
-
-		synchronized (passwordAttempts) {
-			loginAttempts.clear();
-		}
+		connectionAttempts.clear();
+		loginAttempts.clear();
+		connections.clear();
+		adminHosts.clear();
+		ipBans.clear();
+		loggedInCount.clear();
+		passwordAttempts.clear();
 	}
 
 	public void ipBanHost(final String hostAddress, final long until, String reason) {
@@ -116,15 +103,13 @@ public class RSCPacketFilter {
 			return;
 		}
 
-		synchronized(ipBans) {
-			String time = (until == -1) ? " permanently" : " until " + DateFormat.getInstance().format(until);
-			if (until != 0) {
-				LOGGER.info("IP Banned " + hostAddress + time + " for " + reason);
-			} else {
-				LOGGER.info("un-IP Banned " + hostAddress + time + " for " + reason);
-			}
-			ipBans.put(hostAddress, until);
+		String time = (until == -1) ? " permanently" : " until " + DateFormat.getInstance().format(until);
+		if (until != 0) {
+			LOGGER.info("IP Banned " + hostAddress + time + " for " + reason);
+		} else {
+			LOGGER.info("un-IP Banned " + hostAddress + time + " for " + reason);
 		}
+		ipBans.put(hostAddress, until);
 	}
 
 	public final boolean isHostIpBanned(final String hostAddress) {
@@ -132,33 +117,31 @@ public class RSCPacketFilter {
 			return false;
 		}
 
-		synchronized(ipBans) {
-			return ipBans.containsKey(hostAddress) && (ipBans.get(hostAddress) >= System.currentTimeMillis() || ipBans.get(hostAddress) == -1);
-		}
+		final Long until = ipBans.get(hostAddress);
+		return until != null && (until >= System.currentTimeMillis() || until == -1);
 	}
 
 	public final boolean shouldAllowPacket(final Channel connection, boolean doIpBans) {
-		final String hostAddress = ((InetSocketAddress) connection.remoteAddress()).getAddress().getHostAddress();
+		final ChannelRate rate = getChannelRate(connection);
+		final String hostAddress = rate.hostAddress;
 
-		addPacket(connection);
+		final int pps = rate.packets.record(System.currentTimeMillis());
 
 		if(doIpBans && isHostIpBanned(hostAddress)) {
 			//LOGGER.info("Packet Received from " + hostAddress + " is IP Banned until " + DateFormat.getInstance().format(ipBans.get(hostAddress)));
 			return false;
 		}
 
-		ConnectionAttachment att = connection.attr(RSCConnectionHandler.attachment).get();
-		Player player = null;
-		if (att != null) {
-			player = att.player.get();
-		}
-
-		final int pps = getServer().getPacketFilter().getPacketsPerSecond(connection);
-		final boolean allowPacket = isHostAdmin(hostAddress) || pps <= getServer().getConfig().MAX_PACKETS_PER_SECOND;
+		final boolean allowPacket = pps <= getServer().getConfig().MAX_PACKETS_PER_SECOND || isHostAdmin(hostAddress);
 
 		//LOGGER.info("Channel Read: " + hostAddress + ", Allowed: " + allowPacket + ", PPS: " + pps);
 
 		if(!allowPacket) {
+			ConnectionAttachment att = connection.attr(RSCConnectionHandler.attachment).get();
+			Player player = null;
+			if (att != null) {
+				player = att.player.get();
+			}
 			LOGGER.info(hostAddress + " (" + player + ") filtered for reaching the PPS limit: " + pps);
 			if(doIpBans) {
 				ipBanHost(hostAddress, System.currentTimeMillis() + getServer().getConfig().NETWORK_FLOOD_IP_BAN_MINUTES * 60 * 1000, "reaching the PPS limit");
@@ -171,7 +154,8 @@ public class RSCPacketFilter {
 	}
 
 	public final boolean shouldAllowConnection(final Channel channel, final String hostAddress, boolean doIpBans) {
-		addConnectionAttempt(hostAddress, channel);
+		addConnection(hostAddress, channel);
+		final int cps = getRateCounter(connectionAttempts, hostAddress, SECOND_MILLIS).record(System.currentTimeMillis());
 
 		if(doIpBans && isHostIpBanned(hostAddress)) {
 			//LOGGER.info("Connection Attempt from " + hostAddress + " is IP Banned until " + DateFormat.getInstance().format(ipBans.get(hostAddress)));
@@ -184,7 +168,6 @@ public class RSCPacketFilter {
 			player = att.player.get();
 		}
 
-		final int cps = getConnectionsPerSecond(hostAddress);
 		final int connectionCount = getConnectionCount(hostAddress);
 		final boolean allowConnection = isHostAdmin(hostAddress) || (
 			(connectionCount <= getServer().getConfig().MAX_CONNECTIONS_PER_IP) &&
@@ -206,14 +189,13 @@ public class RSCPacketFilter {
 	}
 
 	public final boolean shouldAllowLogin(final String hostAddress, boolean doIpBans) {
-		addLoginAttempt(hostAddress);
+		final int lps = getRateCounter(loginAttempts, hostAddress, SECOND_MILLIS).record(System.currentTimeMillis());
 
 		if(doIpBans && isHostIpBanned(hostAddress)) {
 			//LOGGER.info("Login Attempt from " + hostAddress + " is IP Banned until " + DateFormat.getInstance().format(ipBans.get(hostAddress)));
 			return false;
 		}
 
-		final int lps = getLoginsPerSecond(hostAddress);
 		final boolean allowConnection = isHostAdmin(hostAddress) || lps <= getServer().getConfig().MAX_LOGINS_PER_SECOND;
 
 		//LOGGER.info("Login, lps: " + lps + ", isHostIpBanned: " + isHostIpBanned(hostAddress) + ", isHostAdmin: " + isHostAdmin(hostAddress));
@@ -222,217 +204,121 @@ public class RSCPacketFilter {
 	}
 
 	public void addPasswordAttempt(final String hostAddress) {
-		synchronized (passwordAttempts) {
-			ArrayList<Long> attempts = passwordAttempts.get(hostAddress);
-			if (attempts == null) {
-				attempts = new ArrayList<Long>();
-			}
-			attempts.add(System.currentTimeMillis());
-			passwordAttempts.put(hostAddress, attempts);
+		AttemptLog attempts = passwordAttempts.get(hostAddress);
+		if (attempts == null) {
+			attempts = passwordAttempts.computeIfAbsent(hostAddress,
+				k -> new AttemptLog(getServer().getConfig().MAX_PASSWORD_GUESSES_PER_FIVE_MINUTES));
 		}
+		attempts.record(System.currentTimeMillis());
 	}
 
-	private void addPacket(final Channel connection) {
-		synchronized (packets) {
-			ArrayList<Long> packetTimes = packets.get(connection);
-			if (packetTimes == null) {
-				packetTimes = new ArrayList<Long>();
-			}
-			packetTimes.add(System.currentTimeMillis());
-			packets.put(connection, packetTimes);
-		}
+	private static RateCounter getRateCounter(final ConcurrentHashMap<String, RateCounter> counters, final String hostAddress, final long windowMillis) {
+		final RateCounter counter = counters.get(hostAddress);
+		return counter != null ? counter : counters.computeIfAbsent(hostAddress, k -> new RateCounter(windowMillis));
 	}
 
-	private void addConnectionAttempt(final String hostAddress, final Channel channel) {
-		addConnection(hostAddress, channel);
-
-		synchronized (connectionAttempts) {
-			ArrayList<Long> connectionTimes = connectionAttempts.get(hostAddress);
-			if (connectionTimes == null) {
-				connectionTimes = new ArrayList<Long>();
+	private ChannelRate getChannelRate(final Channel connection) {
+		final Attribute<ChannelRate> attribute = connection.attr(CHANNEL_RATE);
+		ChannelRate rate = attribute.get();
+		if (rate == null) {
+			rate = new ChannelRate(((InetSocketAddress) connection.remoteAddress()).getAddress().getHostAddress());
+			final ChannelRate existing = attribute.setIfAbsent(rate);
+			if (existing != null) {
+				rate = existing;
 			}
-			connectionTimes.add(System.currentTimeMillis());
-			connectionAttempts.put(hostAddress, connectionTimes);
 		}
+		return rate;
 	}
 
 	private void addConnection(final String hostAddress, final Channel channel) {
-		synchronized (connections) {
-			ArrayList<Channel> hostConnections = connections.get(hostAddress);
-			if (hostConnections == null) {
-				hostConnections = new ArrayList<Channel>();
-			}
-			hostConnections.add(channel);
-			connections.put(hostAddress, hostConnections);
-		}
+		connections.computeIfAbsent(hostAddress, k -> ConcurrentHashMap.newKeySet()).add(channel);
 	}
 
 	public void removeConnection(final String hostAddress, final Channel channel) {
-		synchronized (connections) {
-			ArrayList<Channel> hostConnections = connections.get(hostAddress);
-			if (hostConnections != null) {
-				hostConnections.remove(channel);
-				connections.put(hostAddress, hostConnections);
-			}
-		}
-	}
-
-	private void addLoginAttempt(final String hostAddress) {
-		synchronized (loginAttempts) {
-			ArrayList<Long> loginTimes = loginAttempts.get(hostAddress);
-			if (loginTimes == null) {
-				loginTimes = new ArrayList<Long>();
-			}
-			loginTimes.add(System.currentTimeMillis());
-			loginAttempts.put(hostAddress, loginTimes);
+		final Set<Channel> hostConnections = connections.get(hostAddress);
+		if (hostConnections != null) {
+			hostConnections.remove(channel);
 		}
 	}
 
 	public void addAdminHost(final String hostAddress) {
-		synchronized(adminHosts) {
-			adminHosts.add(hostAddress);
-		}
+		adminHosts.add(hostAddress);
 	}
 
 	public void removeLoggedInPlayer(final String hostAddress) {
-		synchronized(loggedInCount) {
-			if(loggedInCount.containsKey(hostAddress)) {
-				loggedInCount.put(hostAddress, loggedInCount.get(hostAddress) - 1);
-			}
-		}
+		loggedInCount.computeIfPresent(hostAddress, (k, count) -> count - 1);
 	}
 
 	public void addLoggedInPlayer(final String hostAddress) {
-		synchronized(loggedInCount) {
-			if(!loggedInCount.containsKey(hostAddress)) {
-				loggedInCount.put(hostAddress, 1);
-			} else {
-				loggedInCount.put(hostAddress, loggedInCount.get(hostAddress) + 1);
-			}
-		}
-	}
-
-	private final int getPacketsPerSecond(final Channel connection) {
-		final long now = System.currentTimeMillis();
-		int pps = 0;
-
-		synchronized (packets) {
-			if(packets.containsKey(connection)) {
-				ArrayList<Long> packetTimes = packets.get(connection);
-				ArrayList<Long> packetsToRemove = new ArrayList<Long>();
-
-				for (Long packetCreationTime : packetTimes) {
-					if (now - packetCreationTime < 1000) {
-						pps++;
-					} else {
-						packetsToRemove.add(packetCreationTime);
-					}
-				}
-				packetTimes.removeAll(packetsToRemove);
-			}
-		}
-		return pps;
-	}
-
-	private final int getConnectionsPerSecond(final String hostAddress) {
-		final long now = System.currentTimeMillis();
-		int cps = 0;
-
-		synchronized (connectionAttempts) {
-			if(connectionAttempts.containsKey(hostAddress)) {
-				ArrayList<Long> connectionTimes = connectionAttempts.get(hostAddress);
-				ArrayList<Long> connectionsToRemove = new ArrayList<Long>();
-
-				for (Long connectionCreationTime : connectionTimes) {
-					if (now - connectionCreationTime < 1000) {
-						cps++;
-					} else {
-						connectionsToRemove.add(connectionCreationTime);
-					}
-				}
-				connectionTimes.removeAll(connectionsToRemove);
-			}
-		}
-		return cps;
+		loggedInCount.merge(hostAddress, 1, Integer::sum);
 	}
 
 	public final int getPasswordAttemptsCount(final String hostAddress) {
-		final long now = System.currentTimeMillis();
-		int countAttempts = 0;
-
-		synchronized (passwordAttempts) {
-			if(passwordAttempts.containsKey(hostAddress)) {
-				ArrayList<Long> attempts = passwordAttempts.get(hostAddress);
-				ArrayList<Long> attemptsToRemove = new ArrayList<Long>();
-
-				for (Long connectionCreationTime : attempts) {
-					// 5 minutes
-					if (now - connectionCreationTime < 5 * 60 * 1000) {
-						countAttempts++;
-					} else {
-						attemptsToRemove.add(connectionCreationTime);
-					}
-				}
-				attempts.removeAll(attemptsToRemove);
-			}
-		}
-		return countAttempts;
+		final AttemptLog attempts = passwordAttempts.get(hostAddress);
+		return attempts == null ? 0 : attempts.count(System.currentTimeMillis());
 	}
 
 	private final int getConnectionCount(final String hostAddress) {
-		synchronized (connections) {
-			if(connections.containsKey(hostAddress)) {
-				ArrayList<Channel> hostConnections = connections.get(hostAddress);
-				return hostConnections.size();
-			} else {
-				return 0;
-			}
-		}
-	}
-
-	private final int getLoginsPerSecond(final String hostAddress) {
-		final long now = System.currentTimeMillis();
-		int lps = 0;
-
-		synchronized (loginAttempts) {
-			if(loginAttempts.containsKey(hostAddress)) {
-				ArrayList<Long> loginTimes = loginAttempts.get(hostAddress);
-				ArrayList<Long> loginsToRemove = new ArrayList<Long>();
-
-				for (Long loginTime : loginTimes) {
-					if (now - loginTime < 1000) {
-						lps++;
-					} else {
-						loginsToRemove.add(loginTime);
-					}
-				}
-				loginTimes.removeAll(loginsToRemove);
-			}
-		}
-		return lps;
+		final Set<Channel> hostConnections = connections.get(hostAddress);
+		return hostConnections == null ? 0 : hostConnections.size();
 	}
 
 	public final boolean isHostAdmin(final String hostAddress) {
-		synchronized(adminHosts) {
-			return adminHosts.contains(hostAddress);
-		}
+		return adminHosts.contains(hostAddress);
 	}
 
 	public final int getPlayersCount(final String hostAddress) {
-		synchronized(loggedInCount) {
-			if (loggedInCount.containsKey(hostAddress)) {
-				return loggedInCount.get(hostAddress);
-			} else {
-				return 0;
-			}
-		}
+		final Integer count = loggedInCount.get(hostAddress);
+		return count == null ? 0 : count;
 	}
 
-	public HashMap<String, Long> getIpBans() {
+	public Map<String, Long> getIpBans() {
 		return ipBans;
 	}
 
 	public final Server getServer() {
 		return server;
 	}
+
+	/**
+	 * The times of a host's latest password attempts, counted exactly rather than estimated like the other rates so
+	 * guesses cannot slip through at a window boundary. Only as many attempts as the limit are kept, since that is
+	 * enough to tell whether the limit is reached.
+	 */
+	private static final class AttemptLog {
+		private final long[] times;
+		private int next = 0;
+
+		private AttemptLog(final int limit) {
+			this.times = new long[Math.max(1, limit)];
+			Arrays.fill(times, Long.MIN_VALUE);
+		}
+
+		private synchronized void record(final long now) {
+			times[next] = now;
+			next = (next + 1) % times.length;
+		}
+
+		/**
+		 * @return The number of attempts within the window, up to the limit.
+		 */
+		private synchronized int count(final long now) {
+			int count = 0;
+			for (final long time : times) {
+				if (time != Long.MIN_VALUE && now - time < PASSWORD_ATTEMPT_WINDOW_MILLIS) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	private static final class ChannelRate {
+		private final String hostAddress;
+		private final RateCounter packets = new RateCounter(SECOND_MILLIS);
+
+		private ChannelRate(final String hostAddress) {
+			this.hostAddress = hostAddress;
+		}
+	}
 }
@@ -41,8 +41,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
                         if (buffer.readableBytes() >= length && length > 0) {
                             int opcode = (buffer.readByte()) & 0xFF;
                             length -= 1;
-                            ByteBuf data = Unpooled.buffer(length);
-                            buffer.readBytes(data, length);
+                            ByteBuf data = buffer.readRetainedSlice(length);
                             Packet packet = new Packet(opcode, data);
 							addPacketToIncoming(out, att, packet);
                         } else {
@@ -69,7 +68,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
                                 ISAACContainer isaacContainer = att.ISAAC.get();
                                 if (isaacContainer != null) {
                                     if (lengthLength == 1) {
-                                        ByteBuf bufferOrdered = Unpooled.buffer(length);
+                                        ByteBuf bufferOrdered = ctx.alloc().buffer(length, length);
                                         byte lastByte = buffer.readByte();
                                         buffer.readBytes(bufferOrdered, length - 1);
                                         bufferOrdered.writeByte(lastByte);
@@ -103,6 +102,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
 											}
 										}
 										// return without writing out any packet.
+										bufferOrdered.release();
                                         return;
 
                                     } else {
@@ -117,8 +117,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
                             }
                             length -= 1;
 
-                            ByteBuf data = Unpooled.buffer(length);
-                            buffer.readBytes(data, length);
+                            ByteBuf data = buffer.readRetainedSlice(length);
                             Packet packet = new Packet(opcode, data);
 							addPacketToIncoming(out, att, packet);
                             // Packet.printPacket(packet, "Incoming");
@@ -150,7 +149,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
 								ISAACContainer isaacContainer = att.ISAAC.get();
 								if (isaacContainer != null) {
 									if (lengthLength == 1) {
-										ByteBuf bufferOrdered = Unpooled.buffer(length);
+										ByteBuf bufferOrdered = ctx.alloc().buffer(length, length);
 										byte lastByte = buffer.readByte();
 										buffer.readBytes(bufferOrdered, length - 1);
 										bufferOrdered.writeByte(lastByte);
@@ -169,7 +168,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
 									}
 								} else {
 									if (lengthLength == 1) {
-										ByteBuf bufferOrdered = Unpooled.buffer(length);
+										ByteBuf bufferOrdered = ctx.alloc().buffer(length, length);
 										byte lastByte = buffer.readByte();
 										buffer.readBytes(bufferOrdered, length - 1);
 										bufferOrdered.writeByte(lastByte);
@@ -189,8 +188,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
 							}
 							length -= 1;
 
-							ByteBuf data = Unpooled.buffer(length);
-							buffer.readBytes(data, length);
+							ByteBuf data = buffer.readRetainedSlice(length);
 							Packet packet = new Packet(opcode, data);
 							addPacketToIncoming(out, att, packet);
 							//Packet.printPacket(packet, "Incoming");
@@ -215,8 +213,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
                                     if (buffer.readableBytes() >= loginLength && loginLength > 0) {
                                         int opcode = (buffer.readByte()) & 0xFF;
                                         loginLength -= 1;
-                                        ByteBuf data = Unpooled.buffer(loginLength);
-                                        buffer.readBytes(data, loginLength);
+                                        ByteBuf data = buffer.readRetainedSlice(loginLength);
                                         Packet packet = new Packet(opcode, data);
                                         // Packet.printPacket(packet, "Incoming");
                                         addPacketToIncoming(out, att, packet);
@@ -237,8 +234,7 @@ public final class RSCProtocolDecoder extends ByteToMessageDecoder implements At
     private void addPacketToIncoming(List<Object> out, ConnectionAttachment att, Packet packet) {
 		if (att.player != null && att.player.get() != null) {
 			if (att.player.get().getWorld().getServer().getConfig().WANT_PCAP_LOGGING) {
-				Packet copy = new Packet(packet.getID(), packet.getBuffer().copy());
-				att.pcapLogger.get().addPacket(copy, false); // outgoing from client's perspective
+				att.pcapLogger.get().addPacket(packet, false); // outgoing from client's perspective
 			}
 		}
 		out.add(packet);
@@ -1,7 +1,6 @@
 package com.openrsc.server.net;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
@@ -22,6 +21,16 @@ public final class RSCProtocolEncoder extends MessageToByteEncoder<Packet> imple
         }
     }
 
+	/**
+	 * Allocates the outbound buffer from the channel's pooled allocator at the exact size of the encoded packet,
+	 * so the header and payload are written into it once without growing.
+	 */
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Packet message, boolean preferDirect) {
+		int size = message.getBuffer().readableBytes() + (message.isRaw() ? 0 : 3); // up to 2 bytes of length and 1 of opcode
+		return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+	}
+
 	@Override
 	protected void encode(ChannelHandlerContext ctx, Packet message, ByteBuf outBuffer) throws Exception {
         final Channel channel = ctx.channel();
@@ -47,17 +56,16 @@ public final class RSCProtocolEncoder extends MessageToByteEncoder<Packet> imple
             if (isInauthenticPacket(message.getID()) || authenticClient == 0) {
                 // This is code only to support RSCL based clients which simplified the network protocol
                 int packetLength = message.getBuffer().readableBytes();
-                ByteBuf buffer = Unpooled.buffer(packetLength + 3);
 
-                buffer.writeShort(buffer.capacity());
-                buffer.writeByte(message.getID());
-
-                buffer.writeBytes(message.getBuffer());
-                outBuffer.writeBytes(buffer);
+                outBuffer.writeShort(packetLength + 3);
+                outBuffer.writeByte(message.getID());
+                outBuffer.writeBytes(message.getBuffer());
 
             } else {
                 // Authentic Packet Handling
-                int packetLength = message.getBuffer().readableBytes() + 1; // + 1 for opcode
+                ByteBuf payload = message.getBuffer();
+                int bufferLen = payload.readableBytes();
+                int packetLength = bufferLen + 1; // + 1 for opcode
 
 				/* debug info
 				if (message.getID() != 191 && message.getID() != 79 && message.getID() != 48) {
@@ -65,45 +73,31 @@ public final class RSCProtocolEncoder extends MessageToByteEncoder<Packet> imple
 				}
 				*/
 
-                ByteBuf buffer;
                 int encodedOpcode;
                 if (packetLength >= 160) {
-                    buffer = Unpooled.buffer(packetLength + 2); // + 2 to hold length
-                    buffer.writeByte((byte) (packetLength / 256 + 160));
-                    buffer.writeByte((byte) (packetLength & 0xFF));
+                    outBuffer.writeByte((byte) (packetLength / 256 + 160));
+                    outBuffer.writeByte((byte) (packetLength & 0xFF));
 
                     encodedOpcode = att.ISAAC.get().encodeOpcode(message.getID());
-                    buffer.writeByte(encodedOpcode);
+                    outBuffer.writeByte(encodedOpcode);
 
-                    buffer.writeBytes(message.getBuffer());
+                    outBuffer.writeBytes(payload);
 
                 } else {
-                    buffer = Unpooled.buffer(packetLength + 1); // + 1 to hold length
-                    buffer.writeByte((byte) packetLength);
-                    int bufferLen = message.getBuffer().readableBytes();
+                    outBuffer.writeByte((byte) packetLength);
 
                     if (packetLength != 1) {
                         // Strangely, the last byte of the Payload goes between length and encoded opcode
-						try {
-							buffer.writeByte(message.getBuffer().slice(bufferLen - 1, 1).readByte());
-						} catch (IndexOutOfBoundsException e) {
-							// This should probably never happen, but "Just In Case" it is good to handle it b/c otherwise it fails silently
-							System.out.println(String.format("Warning: index out of bounds on sending last byte of opcode %d", message.getID()));
-							System.out.println(e.toString());
-							if (message.getBuffer().hasArray()) {
-								byte[] bArr = message.getBuffer().array();
-								buffer.writeByte(bArr[bArr.length - 1]);
-							}
-						}
+                        outBuffer.writeByte(payload.getByte(payload.readerIndex() + bufferLen - 1));
 
                         encodedOpcode = att.ISAAC.get().encodeOpcode(message.getID());
-                        buffer.writeByte(encodedOpcode);
+                        outBuffer.writeByte(encodedOpcode);
 
-                        buffer.writeBytes(message.getBuffer().slice(0, bufferLen - 1));
+                        outBuffer.writeBytes(payload, payload.readerIndex(), bufferLen - 1);
                     } else {
                         // single opcode payload
                         encodedOpcode = att.ISAAC.get().encodeOpcode(message.getID());
-                        buffer.writeByte(encodedOpcode);
+                        outBuffer.writeByte(encodedOpcode);
                     }
                 }
 
@@ -111,11 +105,9 @@ public final class RSCProtocolEncoder extends MessageToByteEncoder<Packet> imple
                 /* debug info
                 if (message.getID() != 191 && message.getID() != 79 && message.getID() != 48) {
                     System.out.println(String.format("OPCODE CLEAR: %d; CODED: %d", message.getID(), encodedOpcode));
-                    Packet.printBuffer(buffer, "Outgoing");
+                    Packet.printBuffer(outBuffer, "Outgoing");
                 }
                 */
-
-                outBuffer.writeBytes(buffer);
             }
 		} else {
             outBuffer.writeBytes(message.getBuffer());
@@ -0,0 +1,73 @@
+package com.openrsc.server.net;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts events over a sliding window without locks or allocation.
+ *
+ * The window is estimated from two fixed windows: the count of the current window plus the part of the previous
+ * window's count that still overlaps the sliding window. Both counts and the current window's number are packed into
+ * one long, so recording is a single compare-and-set.
+ */
+final class RateCounter {
+	private static final int COUNT_BITS = 20;
+	private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+	private static final long WINDOW_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+	private final long windowMillis;
+	private final AtomicLong state = new AtomicLong();
+
+	RateCounter(final long windowMillis) {
+		this.windowMillis = windowMillis;
+	}
+
+	/**
+	 * Counts one event.
+	 *
+	 * @return The number of events within the window, including this one.
+	 */
+	int record(final long now) {
+		final long window = (now / windowMillis) & WINDOW_MASK;
+		while (true) {
+			final long current = state.get();
+			final long stateWindow = current >>> (2 * COUNT_BITS);
+			final long previousCount;
+			final long currentCount;
+			if (stateWindow == window) {
+				previousCount = (current >>> COUNT_BITS) & COUNT_MASK;
+				currentCount = Math.min(COUNT_MASK, (current & COUNT_MASK) + 1);
+			} else if (stateWindow == ((window - 1) & WINDOW_MASK)) {
+				previousCount = current & COUNT_MASK;
+				currentCount = 1;
+			} else {
+				previousCount = 0;
+				currentCount = 1;
+			}
+			final long next = (window << (2 * COUNT_BITS)) | (previousCount << COUNT_BITS) | currentCount;
+			if (state.compareAndSet(current, next)) {
+				return estimate(now, previousCount, currentCount);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of events within the window.
+	 */
+	int count(final long now) {
+		final long window = (now / windowMillis) & WINDOW_MASK;
+		final long current = state.get();
+		final long stateWindow = current >>> (2 * COUNT_BITS);
+		if (stateWindow == window) {
+			return estimate(now, (current >>> COUNT_BITS) & COUNT_MASK, current & COUNT_MASK);
+		}
+		if (stateWindow == ((window - 1) & WINDOW_MASK)) {
+			return estimate(now, current & COUNT_MASK, 0);
+		}
+		return 0;
+	}
+
+	private int estimate(final long now, final long previousCount, final long currentCount) {
+		final long remaining = windowMillis - now % windowMillis;
+		return (int) (currentCount + previousCount * remaining / windowMillis);
+	}
+}
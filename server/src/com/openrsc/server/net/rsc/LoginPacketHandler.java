@@ -51,7 +51,7 @@ public class LoginPacketHandler {
 			long startTime = System.currentTimeMillis();
 			String timeStamp = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss ").format(new Date());
 			String fname = timeStamp + loadedPlayer.getUsername();
-			attachment.pcapLogger.set(new PcapLogger(fname));
+			attachment.pcapLogger.set(new PcapLogger(fname, loadedPlayer.getWorld().getServer().getConfig().PCAP_MAX_FILE_MB * 1024L * 1024L));
 
 			com.openrsc.server.net.PacketBuilder s = new com.openrsc.server.net.PacketBuilder();
 			s.setID(VIRTUAL_OPCODE_SERVER_METADATA);
@@ -6,7 +6,6 @@ import com.openrsc.server.model.snapshot.Snapshot;
 import com.openrsc.server.net.Packet;
 import com.openrsc.server.net.rsc.PacketHandler;
 
-import java.util.Iterator;
 
 public final class ReportHandler implements PacketHandler {
 
@@ -30,9 +29,8 @@ public final class ReportHandler implements PacketHandler {
 			player.setSuspiciousPlayer(true, "report reason < 0 or reason > 14");
 		}
 		if (reason != 4 && reason != 6) {
-			Iterator<Snapshot> i = player.getWorld().getSnapshots().iterator();
-			if (i.hasNext()) {
-				Snapshot s = i.next();
+			Snapshot s = player.getWorld().getSnapshots().getLatest();
+			if (s != null) {
 				if (!s.getOwner().equalsIgnoreCase(playerName)) {
 					player.message("For that rule you can only report players who have spoken or traded recently.");
 					return;
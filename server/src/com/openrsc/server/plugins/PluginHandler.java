@@ -15,8 +15,6 @@ import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -36,16 +34,20 @@ public final class PluginHandler {
 
 	private final Server server;
 
-	private ThreadPoolExecutor executor;
+	private ExecutorService executor;
 	private final ThreadFactory threadFactory;
 
 	private URLClassLoader urlClassLoader;
-	private boolean reloading = true;
+	private volatile boolean reloading = true;
 	private ArrayList<Class<?>> loadedClassFiles;
 
 	private Object defaultHandler = null;
 	private List<Class<?>> knownInterfaces;
 	private Map<String, Set<Object>> plugins;
+	/**
+	 * Trigger name (without the "Trigger" suffix) to its resolved handlers. Replaced as a whole on load and unload.
+	 */
+	private volatile Map<String, TriggerDispatch> dispatchTable = Collections.emptyMap();
 
 	public PluginHandler (final Server server) {
 		this.server = server;
@@ -212,11 +214,52 @@ public final class PluginHandler {
 			}
 		}
 
+		buildDispatchTable();
+
 		LOGGER.info("Loaded {}", box(getServer().getWorld().getQuests().size()) + " Quests.");
 		LOGGER.info("Loaded {}", box(getServer().getWorld().getMiniGames().size()) + " MiniGames.");
 		LOGGER.info("Loaded total of {}", pluginInstances.size() + " plugin handlers.");
 	}
 
+	/**
+	 * Resolves the block and on methods of every registered plugin once, so that handlePlugin does not look them up per call.
+	 */
+	private void buildDispatchTable() throws ReflectiveOperationException {
+		final Map<String, TriggerDispatch> table = new HashMap<>();
+		for (final Class<?> interfce : knownInterfaces) {
+			final Set<Object> registered = plugins.get(interfce.getSimpleName());
+			if (registered == null) {
+				continue;
+			}
+			final List<Object> handlers = new ArrayList<>(registered);
+			handlers.remove(defaultHandler);
+			final Object defaultPlugin = interfce.isInstance(defaultHandler) ? defaultHandler : null;
+			final TriggerDispatch dispatch = TriggerDispatch.create(interfce, handlers, defaultPlugin);
+			table.put(dispatch.getName(), dispatch);
+		}
+		dispatchTable = Collections.unmodifiableMap(table);
+	}
+
+	/**
+	 * Plugins are run on virtual threads when configured and supported by the runtime, so that a paused script does not hold an OS thread.
+	 */
+	private ExecutorService newPluginExecutor() {
+		if ("virtual".equalsIgnoreCase(getServer().getConfig().PLUGIN_EXECUTOR)) {
+			try {
+				final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+				final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				builderClass.getMethod("name", String.class, long.class).invoke(builder, getServer().getName() + " : PluginThread-", 0L);
+				final ThreadFactory virtualThreadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+				final ExecutorService virtualExecutor = (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, virtualThreadFactory);
+				LOGGER.info("Running plugins on virtual threads");
+				return virtualExecutor;
+			} catch (final ReflectiveOperationException e) {
+				LOGGER.warn("Virtual threads are not supported by this Java runtime, running plugins on platform threads");
+			}
+		}
+		return Executors.newCachedThreadPool(threadFactory);
+	}
+
 	private List<Class<?>> loadInterfaces(final String thePackage) throws ClassNotFoundException {
 		final List<Class<?>> classList = new ArrayList<Class<?>>();
 		for (final Class<?> discovered : loadClasses(thePackage)) {
@@ -232,7 +275,7 @@ public final class PluginHandler {
 		reloading = false;
 
 		defaultHandler = null;
-		executor = (ThreadPoolExecutor) Executors.newCachedThreadPool(threadFactory);
+		executor = newPluginExecutor();
 
 		loadJar();
 		initPlugins();
@@ -256,6 +299,7 @@ public final class PluginHandler {
 		getServer().getWorld().getMiniGames().clear();
 		getServer().getWorld().getShops().clear();
 
+		dispatchTable = Collections.emptyMap();
 		knownInterfaces.clear();
 		plugins.clear();
 		loadedClassFiles.clear();
@@ -277,100 +321,72 @@ public final class PluginHandler {
 	}
 
 	public boolean handlePlugin(final Player owner, final World world, final String interfce, final Object[] data, final WalkToAction walkToAction) {
-		synchronized(plugins) {
-			if (reloading) {
-				for (Object o : data) {
-					if (o instanceof Player) {
-						((Player) o).message("Plugins are being updated, please wait.");
-					}
+		if (reloading) {
+			for (Object o : data) {
+				if (o instanceof Player) {
+					((Player) o).message("Plugins are being updated, please wait.");
 				}
-				return false;
 			}
-			boolean shouldBlockDefault = false;
+			return false;
+		}
+		boolean shouldBlockDefault = false;
 
-			if (plugins.containsKey(interfce + "Trigger")) {
-				for (final Object c : plugins.get(interfce + "Trigger")) {
-					try {
-						final Class<?>[] dataClasses = new Class<?>[data.length];
-						int i = 0;
-						for (final Object o : data) {
-							dataClasses[i++] = o.getClass();
-						}
-						final Method m = c.getClass().getMethod("block" + interfce, dataClasses);
-						final boolean shouldBlock = (Boolean) m.invoke(c, data);
-						if (shouldBlock) {
-							shouldBlockDefault = true;
-							invokePluginAction(owner, world, interfce, c, data, walkToAction);
-						}
-					} catch (final Exception e) {
-						LOGGER.catching(e);
-					}
-				}
-			}
+		final TriggerDispatch dispatch = dispatchTable.get(interfce);
+		if (dispatch == null) {
+			return false;
+		}
+		if (!dispatch.accepts(data)) {
+			LOGGER.warn("Arguments do not match " + interfce + "Trigger : " + Arrays.deepToString(data));
+			return false;
+		}
 
+		for (final TriggerDispatch.Handler handler : dispatch.getHandlers()) {
 			try {
-				if (!shouldBlockDefault) {
-					invokePluginAction(owner, world, interfce, defaultHandler, data, walkToAction);
+				if (handler.block(data)) {
+					shouldBlockDefault = true;
+					invokePluginAction(owner, world, interfce, handler, data, walkToAction);
 				}
-			} catch (final Exception e) {
+			} catch (final Throwable e) {
 				LOGGER.catching(e);
 			}
+		}
 
-			return shouldBlockDefault;
+		if (!shouldBlockDefault) {
+			if (dispatch.getDefaultHandler() != null) {
+				invokePluginAction(owner, world, interfce, dispatch.getDefaultHandler(), data, walkToAction);
+			} else {
+				// There is no action listener defined in Default plugin
+				LOGGER.info("No default handler for on" + interfce + " : " + Arrays.deepToString(data));
+			}
 		}
+
+		return shouldBlockDefault;
 	}
 
-	private void invokePluginAction(final Player owner, final World world, final String interfce, final Object cls, final Object[] data, final WalkToAction walkToAction) {
+	private void invokePluginAction(final Player owner, final World world, final String interfce, final TriggerDispatch.Handler handler, final Object[] data, final WalkToAction walkToAction) {
 		if (reloading) {
 			return;
 		}
-		if (plugins.containsKey(interfce + "Trigger")) {
-			try {
-				final Class<?>[] dataClasses = new Class<?>[data.length];
-				int i = 0;
-				for (final Object o : data) {
-					dataClasses[i++] = o.getClass();
-				}
-
+		final String pluginName = handler.getPluginName();
+		final PluginTask task = new PluginTask(world, owner, interfce, data) {
+			@Override
+			public int action() {
 				try {
-					final Method m = cls.getClass().getMethod("on" + interfce, dataClasses);
-					final String pluginName = cls.getClass().getSimpleName() + "." + m.getName();
-					final PluginTask task = new PluginTask(world, owner, interfce, data) {
-						@Override
-						public int action() {
-							try {
-								LOGGER.info("Tick " + getWorld().getServer().getCurrentTick() + " : " + pluginName + " : " + Arrays.deepToString(data));
-								m.invoke(cls, data);
-								return 1;
-							} catch (final InvocationTargetException ex) {
-								if (ex.getCause() instanceof PluginInterruptedException) {
-									// PluginTask.call() will do stop() after this which will correctly shut down the Plugin.
-									//LOGGER.info("Plugin Interrupted: " + ex.getMessage());
-									return 1;
-								} else {
-									LOGGER.catching(ex);
-									return 0;
-								}
-							} catch (final Exception ex) {
-								LOGGER.catching(ex);
-								return 0;
-							}
-						}
-					};
-					final PluginTickEvent e = new PluginTickEvent(world, owner, pluginName, walkToAction, task);
-
-					getServer().getGameEventHandler().add(e);
-				} catch (final NoSuchMethodException ex) {
-					LOGGER.info(ex.getMessage());
-					LOGGER.info(cls.getClass().getSimpleName() + ".on" + interfce + " : " + Arrays.deepToString(data));
-					// getClass().getMethod() failed because there is an executive listener, but NOT a corresponding action listener, OR
-					// there is no action listener defined in Default plugin
+					LOGGER.info("Tick " + getWorld().getServer().getCurrentTick() + " : " + pluginName + " : " + Arrays.deepToString(data));
+					handler.on(data);
+					return 1;
+				} catch (final PluginInterruptedException ex) {
+					// PluginTask.call() will do stop() after this which will correctly shut down the Plugin.
+					return 1;
+				} catch (final Throwable ex) {
+					LOGGER.catching(ex);
+					return 0;
 				}
-			} catch (final Exception e) {
-				System.err.println("Exception at plugin handling: ");
-				LOGGER.catching(e);
 			}
-		}
+		};
+		final PluginTickEvent e = new PluginTickEvent(world, owner, pluginName, walkToAction, task);
+
+		getServer().getGameEventHandler().add(e);
 	}
 
 	public Future<Integer> submitPluginTask(final PluginTask pluginTask) {
@@ -385,7 +401,7 @@ public final class PluginHandler {
 		return server;
 	}
 
-	private final ThreadPoolExecutor getExecutor() {
+	private final ExecutorService getExecutor() {
 		return executor;
 	}
 }
@@ -0,0 +1,114 @@
+package com.openrsc.server.plugins;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The plugins registered on one trigger interface, with their block and on methods resolved once when plugins are loaded.
+ *
+ * Each method is bound to its plugin instance and spread over the Object[] that handlePlugin receives,
+ * so dispatching a trigger does not need any reflective lookups.
+ */
+final class TriggerDispatch {
+	private static final MethodType BLOCK_TYPE = MethodType.methodType(boolean.class, Object[].class);
+	private static final MethodType ON_TYPE = MethodType.methodType(void.class, Object[].class);
+
+	private final String name;
+	private final Class<?>[] parameterTypes;
+	private final Handler[] handlers;
+	private final Handler defaultHandler;
+
+	private TriggerDispatch(final String name, final Class<?>[] parameterTypes, final Handler[] handlers, final Handler defaultHandler) {
+		this.name = name;
+		this.parameterTypes = parameterTypes;
+		this.handlers = handlers;
+		this.defaultHandler = defaultHandler;
+	}
+
+	/**
+	 * @param trigger The trigger interface, declaring a "block" and an "on" method named after it.
+	 * @param plugins The plugin instances implementing the trigger.
+	 * @param defaultPlugin The default handler, or null if it does not implement the trigger.
+	 */
+	static TriggerDispatch create(final Class<?> trigger, final Collection<Object> plugins, final Object defaultPlugin) throws ReflectiveOperationException {
+		final String name = trigger.getSimpleName().substring(0, trigger.getSimpleName().length() - "Trigger".length());
+		Method blockMethod = null;
+		Method onMethod = null;
+		for (final Method method : trigger.getMethods()) {
+			if (method.getName().equals("block" + name)) {
+				blockMethod = method;
+			} else if (method.getName().equals("on" + name)) {
+				onMethod = method;
+			}
+		}
+		if (blockMethod == null || onMethod == null) {
+			throw new NoSuchMethodException(trigger.getName() + " does not declare block" + name + " and on" + name);
+		}
+
+		final List<Handler> handlers = new ArrayList<>(plugins.size());
+		for (final Object plugin : plugins) {
+			handlers.add(new Handler(plugin, blockMethod, onMethod));
+		}
+		return new TriggerDispatch(name, onMethod.getParameterTypes(), handlers.toArray(new Handler[0]),
+			defaultPlugin == null ? null : new Handler(defaultPlugin, blockMethod, onMethod));
+	}
+
+	/**
+	 * @return true if the arguments can be passed to this trigger's methods.
+	 */
+	boolean accepts(final Object[] data) {
+		if (data.length != parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < data.length; i++) {
+			if (data[i] != null && !parameterTypes[i].isInstance(data[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	Handler[] getHandlers() {
+		return handlers;
+	}
+
+	Handler getDefaultHandler() {
+		return defaultHandler;
+	}
+
+	static final class Handler {
+		private final String pluginName;
+		private final MethodHandle block;
+		private final MethodHandle on;
+
+		private Handler(final Object plugin, final Method blockMethod, final Method onMethod) throws IllegalAccessException {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			this.pluginName = plugin.getClass().getSimpleName() + "." + onMethod.getName();
+			this.block = lookup.unreflect(blockMethod).bindTo(plugin)
+				.asSpreader(Object[].class, blockMethod.getParameterCount()).asType(BLOCK_TYPE);
+			this.on = lookup.unreflect(onMethod).bindTo(plugin)
+				.asSpreader(Object[].class, onMethod.getParameterCount()).asType(ON_TYPE);
+		}
+
+		boolean block(final Object[] data) throws Throwable {
+			return (boolean) block.invokeExact(data);
+		}
+
+		void on(final Object[] data) throws Throwable {
+			on.invokeExact(data);
+		}
+
+		String getPluginName() {
+			return pluginName;
+		}
+	}
+}
@@ -3,85 +3,133 @@ package com.openrsc.server.util;
 import com.openrsc.server.model.entity.Entity;
 
 import java.util.*;
-
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed capacity list of entities where each entity keeps its slot as its index for as long as it is in the list.
+ *
+ * Occupied slots are tracked in a bitset, so iterating walks the slots in index order without copying or locking.
+ * Adding and removing is synchronized, and iterators that run concurrently see each slot at most once.
+ * Freed slots are reused in the order they were freed, so an index is not handed out again straight after it was released.
+ */
 public final class EntityList<T extends Entity> extends AbstractCollection<T> {
 
 	private static final int DEFAULT_CAPACITY = 2000;
-	private final Set<Integer> indices = Collections
-		.synchronizedSet(new HashSet<>());
-	private int capacity;
-	private Object[] entities;
-	private int curIndex = 0;
+	private final int capacity;
+	private final AtomicReferenceArray<T> entities;
+	private final AtomicLongArray occupied;
+
+	/**
+	 * Free slots in a ring, taken from the head and returned to the tail.
+	 */
+	private final int[] freeSlots;
+	private int freeHead = 0;
+	private int freeCount;
+	private volatile int size = 0;
 
 	public EntityList() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public EntityList(final int capacity) {
-		this.entities = new Object[capacity];
 		this.capacity = capacity;
+		this.entities = new AtomicReferenceArray<>(capacity);
+		this.occupied = new AtomicLongArray((capacity + 63) >>> 6);
+		this.freeSlots = new int[capacity];
+		for (int i = 0; i < capacity; i++) {
+			freeSlots[i] = i;
+		}
+		this.freeCount = capacity;
 	}
 
-	public boolean add(final T entity) {
-		if (entities[curIndex] != null) {
-			increaseIndex();
-			add(entity);
-		} else {
-			entities[curIndex] = entity;
-			entity.setIndex(curIndex);
-			indices.add(curIndex);
-			increaseIndex();
+	/**
+	 * @return false if every slot is in use.
+	 */
+	public synchronized boolean add(final T entity) {
+		if (freeCount == 0) {
+			return false;
 		}
+		final int index = freeSlots[freeHead];
+		freeHead = (freeHead + 1) % capacity;
+		freeCount--;
+
+		entity.setIndex(index);
+		entities.set(index, entity);
+		setOccupied(index, true);
+		size++;
 		return true;
 	}
 
 	public boolean contains(final T entity) {
-		return indexOf(entity) > -1;
+		final int index = entity.getIndex();
+		return index >= 0 && index < capacity && entities.get(index) == entity;
 	}
 
 	public int count() {
-		return indices.size();
+		return size;
 	}
 
 	public int size() {
-		return indices.size();
+		return size;
 	}
 
-	@SuppressWarnings("unchecked")
 	public T get(final int index) {
-		return (T) entities[index];
+		return entities.get(index);
+	}
+
+	public Iterator<T> iterator() {
+		return new EntityListIterator<T>(this);
 	}
 
-	private void increaseIndex() {
-		curIndex++;
-		if (curIndex >= capacity) {
-			curIndex = 0;
+	public synchronized T remove(final int index) {
+		final T temp = entities.get(index);
+		if (temp != null) {
+			release(index);
 		}
+		return temp;
 	}
 
-	private int indexOf(final T entity) {
-		for (int index : indices) {
-			if (entities[index].equals(entity)) {
-				return index;
-			}
+	public synchronized void remove(final T entity) {
+		if (contains(entity)) {
+			release(entity.getIndex());
 		}
-		return -1;
 	}
 
-	public Iterator<T> iterator() {
-		return new EntityListIterator<T>(entities, indices, this);
+	private void release(final int index) {
+		// Clear the bit first so iterators stop offering the slot before it empties.
+		setOccupied(index, false);
+		entities.set(index, null);
+		freeSlots[(freeHead + freeCount) % capacity] = index;
+		freeCount++;
+		size--;
 	}
 
-	@SuppressWarnings("unchecked")
-	public T remove(final int index) {
-		Object temp = entities[index];
-		entities[index] = null;
-		indices.remove(index);
-		return (T) temp;
+	private void setOccupied(final int index, final boolean value) {
+		final int word = index >>> 6;
+		final long bit = 1L << index;
+		// Only called while holding the list lock, so a plain read-modify-write is enough.
+		final long bits = occupied.get(word);
+		occupied.set(word, value ? bits | bit : bits & ~bit);
 	}
 
-	public void remove(final T entity) {
-		entities[entity.getIndex()] = null;
-		indices.remove(entity.getIndex());
+	/**
+	 * @return The lowest occupied slot at or after the given index, or -1 if there is none.
+	 */
+	int nextOccupied(final int fromIndex) {
+		if (fromIndex >= capacity) {
+			return -1;
+		}
+		int word = fromIndex >>> 6;
+		long bits = occupied.get(word) & (-1L << fromIndex);
+		while (true) {
+			if (bits != 0) {
+				return (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+			if (++word >= occupied.length()) {
+				return -1;
+			}
+			bits = occupied.get(word);
+		}
 	}
 }
@@ -3,53 +3,59 @@ package com.openrsc.server.util;
 import com.openrsc.server.model.entity.Entity;
 
 import java.util.Iterator;
-import java.util.Set;
+import java.util.NoSuchElementException;
 
 public final class EntityListIterator<E extends Entity> implements Iterator<E> {
 
-	private int curIndex = 0;
+	private final EntityList<E> entityList;
 
-	private final Object[] entities;
+	private E last;
 
-	private EntityList<E> entityList;
+	private int nextIndex = -1;
 
-	private final int[] indicies;
+	private E next;
 
-	EntityListIterator(Object[] entities, Set<Integer> indicies, EntityList<E> entityList) {
-		this.entities = entities;
-		synchronized (indicies) {
-			this.indicies = new int[indicies.size()];
-			int i = 0;
-			for (int integ : indicies) {
-				this.indicies[i++] = integ;
-			}
+	EntityListIterator(final EntityList<E> entityList) {
+		this.entityList = entityList;
+		advance(0);
+	}
 
+	/**
+	 * Finds the next slot that still holds an entity, skipping any emptied since its bit was read.
+	 */
+	private void advance(final int fromIndex) {
+		int index = fromIndex;
+		while ((index = entityList.nextOccupied(index)) != -1) {
+			final E entity = entityList.get(index);
+			if (entity != null) {
+				nextIndex = index;
+				next = entity;
+				return;
+			}
+			index++;
 		}
-		this.entityList = entityList;
+		nextIndex = -1;
+		next = null;
 	}
 
 	public boolean hasNext() {
-		return indicies.length != curIndex;
+		return next != null;
 	}
 
-	@SuppressWarnings("unchecked")
 	public E next() {
-		synchronized (entities) {
-			synchronized (indicies) {
-				Object temp = entities[indicies[curIndex]];
-				curIndex++;
-				return (E) temp;
-			}
+		if (next == null) {
+			throw new NoSuchElementException();
 		}
+		final E temp = next;
+		last = temp;
+		advance(nextIndex + 1);
+		return temp;
 	}
 
 	public void remove() {
-		synchronized (entities) {
-			synchronized (indicies) {
-				if (curIndex >= 1) {
-					entityList.remove(indicies[curIndex - 1]);
-				}
-			}
+		if (last != null) {
+			entityList.remove(last);
+			last = null;
 		}
 	}
 
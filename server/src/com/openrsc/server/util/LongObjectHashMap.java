@@ -0,0 +1,172 @@
+package com.openrsc.server.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An open addressing hash map from primitive longs to objects, so that lookups on hot paths do not box their keys.
+ *
+ * Uses linear probing with backward shift deletion, so no tombstones are left behind. The map is not thread safe.
+ */
+public final class LongObjectHashMap<V> {
+	private static final int DEFAULT_CAPACITY = 64;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size = 0;
+	private int resizeAt;
+
+	public LongObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongObjectHashMap(final int expectedSize) {
+		allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR)));
+	}
+
+	private static int tableSizeFor(final int capacity) {
+		return Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private void allocate(final int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static int hash(final long key) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private int slotOf(final long key) {
+		int slot = hash(key) & mask;
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+		final int slot = slotOf(key);
+		return slot == -1 ? null : (V) values[slot];
+	}
+
+	public boolean containsKey(final long key) {
+		return slotOf(key) != -1;
+	}
+
+	/**
+	 * @return The previous value for the key, or null if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("LongObjectHashMap does not accept null values");
+		}
+		int slot = hash(key) & mask;
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > resizeAt) {
+			rehash(values.length << 1);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(final long key) {
+		final int slot = slotOf(key);
+		if (slot == -1) {
+			return null;
+		}
+		final V previous = (V) values[slot];
+		removeSlot(slot);
+		return previous;
+	}
+
+	/**
+	 * Removes the key only if it is currently mapped to the given value.
+	 */
+	public boolean remove(final long key, final Object value) {
+		final int slot = slotOf(key);
+		if (slot == -1 || values[slot] != value) {
+			return false;
+		}
+		removeSlot(slot);
+		return true;
+	}
+
+	private void removeSlot(int slot) {
+		size--;
+		// Shift following entries of the probe run back so that lookups never hit a gap.
+		int next = (slot + 1) & mask;
+		while (values[next] != null) {
+			final int ideal = hash(keys[next]) & mask;
+			if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[slot] = 0;
+		values[slot] = null;
+	}
+
+	private void rehash(final int capacity) {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int slot = hash(oldKeys[i]) & mask;
+				while (values[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Copies every value into the given collection.
+	 */
+	@SuppressWarnings("unchecked")
+	public void values(final Collection<? super V> out) {
+		for (final Object value : values) {
+			if (value != null) {
+				out.add((V) value);
+			}
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
@@ -65,21 +65,21 @@ public class PathfindingDebug {
 		private void drawBlocks(int x, int y, TileValue tile, Graphics g) {
 			x *= width;
 			y *= width;
-			if ((tile.traversalMask & (CollisionFlag.FULL_BLOCK_A | CollisionFlag.FULL_BLOCK_B | CollisionFlag.FULL_BLOCK_C)) != 0) {
+			if ((tile.getTraversalMask() & (CollisionFlag.FULL_BLOCK_A | CollisionFlag.FULL_BLOCK_B | CollisionFlag.FULL_BLOCK_C)) != 0) {
 				g.fillRect(x, y, width, width);
 				return;
 			}
 			g.setColor(Color.red);
-			if ((tile.traversalMask & CollisionFlag.EAST_BLOCKED) != 0) {
+			if ((tile.getTraversalMask() & CollisionFlag.EAST_BLOCKED) != 0) {
 				g.fillRect(x + width - 4, y + 1, 3, width);
 			}
-			if ((tile.traversalMask & CollisionFlag.WEST_BLOCKED) != 0) {
+			if ((tile.getTraversalMask() & CollisionFlag.WEST_BLOCKED) != 0) {
 				g.fillRect(x + 1, y + 1, 3, width);
 			}
-			if ((tile.traversalMask & CollisionFlag.NORTH_BLOCKED) != 0) {
+			if ((tile.getTraversalMask() & CollisionFlag.NORTH_BLOCKED) != 0) {
 				g.fillRect(x, y + 1, width, 3);
 			}
-			if ((tile.traversalMask & CollisionFlag.SOUTH_BLOCKED) != 0) {
+			if ((tile.getTraversalMask() & CollisionFlag.SOUTH_BLOCKED) != 0) {
 				g.fillRect(x, y + width - 4, width, 3);
 			}
 		}
@@ -0,0 +1,138 @@
+package com.openrsc.server.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A hierarchical timing wheel keyed on absolute ticks.
+ *
+ * Each level has 64 slots. Level 0 holds entries due within the current block of 64 ticks, level 1 those within the
+ * current block of 4096 ticks and so on. When the wheel advances into a new block the matching slot of the level
+ * above is cascaded down, so every entry is moved at most once per level and advancing only touches entries that
+ * are due. Entries further away than the top level are kept in an overflow list.
+ *
+ * The wheel is not thread safe.
+ */
+public final class TimingWheel<T> {
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	/**
+	 * Every level's slots, level after level.
+	 */
+	private final ArrayList<ArrayList<T>> slots = new ArrayList<>(LEVELS * SLOTS);
+	private final ArrayList<T> overflow = new ArrayList<>();
+	private final ArrayList<T> cascading = new ArrayList<>();
+	private final ToLongFunction<T> dueTick;
+	private final Predicate<T> isLive;
+
+	private long currentTick;
+	private int size = 0;
+
+	/**
+	 * @param dueTick Supplies the absolute tick an entry is due on.
+	 * @param isLive Entries failing this test are dropped instead of being cascaded to a lower level.
+	 * @param startTick The tick the wheel is currently on. Entries can only be due after this tick.
+	 */
+	public TimingWheel(final ToLongFunction<T> dueTick, final Predicate<T> isLive, final long startTick) {
+		this.dueTick = dueTick;
+		this.isLive = isLive;
+		this.currentTick = startTick;
+		for (int i = 0; i < LEVELS * SLOTS; i++) {
+			slots.add(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * Schedules an entry on the tick returned by the due tick function. Entries that are already due are placed on the next tick.
+	 */
+	public void schedule(final T entry) {
+		place(entry, currentTick + 1);
+		size++;
+	}
+
+	private void place(final T entry, final long earliestTick) {
+		final long due = Math.max(dueTick.applyAsLong(entry), earliestTick);
+		for (int level = 0; level < LEVELS; level++) {
+			final int shift = SLOT_BITS * (level + 1);
+			if ((due >>> shift) == (currentTick >>> shift)) {
+				slot(level, (int) ((due >>> (SLOT_BITS * level)) & SLOT_MASK)).add(entry);
+				return;
+			}
+		}
+		overflow.add(entry);
+	}
+
+	/**
+	 * Moves the wheel forward by one tick and collects every entry placed on that tick.
+	 *
+	 * @param out Receives the entries for the new tick. Entries may have been rescheduled since they were placed, so callers must check them.
+	 * @return The tick the wheel is now on.
+	 */
+	public long advance(final Collection<T> out) {
+		final long tick = ++currentTick;
+
+		// Cascade from the highest level that starts a new block down to level 1.
+		int topLevel = 0;
+		while (topLevel < LEVELS && ((tick >>> (SLOT_BITS * (topLevel + 1))) << (SLOT_BITS * (topLevel + 1))) == tick) {
+			topLevel++;
+		}
+		if (topLevel == LEVELS) {
+			cascade(overflow);
+		}
+		for (int level = Math.min(topLevel, LEVELS - 1); level >= 1; level--) {
+			cascade(slot(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)));
+		}
+
+		final ArrayList<T> due = slot(0, (int) (tick & SLOT_MASK));
+		size -= due.size();
+		out.addAll(due);
+		due.clear();
+		return tick;
+	}
+
+	private ArrayList<T> slot(final int level, final int slot) {
+		return slots.get(level * SLOTS + slot);
+	}
+
+	private void cascade(final ArrayList<T> from) {
+		if (from.isEmpty()) {
+			return;
+		}
+		cascading.addAll(from);
+		from.clear();
+		for (int i = 0; i < cascading.size(); i++) {
+			final T entry = cascading.get(i);
+			if (isLive.test(entry)) {
+				// Cascading happens on the tick being advanced to, which entries in this block may be due on.
+				place(entry, currentTick);
+			} else {
+				size--;
+			}
+		}
+		cascading.clear();
+	}
+
+	public void clear() {
+		for (final ArrayList<T> slot : slots) {
+			slot.clear();
+		}
+		overflow.clear();
+		size = 0;
+	}
+
+	public long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * @return The number of entries held by the wheel, including ones that have been rescheduled or are no longer live but have not been dropped yet.
+	 */
+	public int size() {
+		return size;
+	}
+}